@@ -0,0 +1,74 @@
+// Нагрузочный тест чтения задач: открытая модель (постоянная частота прибытия),
+// чтобы при насыщении росли задержки и отказы, а не падала частота запросов.
+//
+//   k6 run -e BASE_URL=http://localhost:8081 -e MODE=platform loadtest/tasks-read.js
+//   k6 run -e BASE_URL=http://localhost:8081 -e MODE=virtual  loadtest/tasks-read.js
+//   k6 run -e MODE=reactive -e READ_PATH=/api/rx/tasks loadtest/tasks-read.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const PEAK_RATE = parseInt(__ENV.PEAK_RATE || '2000');
+const SEED_TASKS = parseInt(__ENV.SEED_TASKS || '20');
+const READ_PATH = __ENV.READ_PATH || '/api/tasks';
+
+export const options = {
+  scenarios: {
+    burst: {
+      executor: 'ramping-arrival-rate',
+      startRate: 50,
+      timeUnit: '1s',
+      preAllocatedVUs: 500,
+      maxVUs: 5000,
+      stages: [
+        { target: PEAK_RATE / 4, duration: '30s' },
+        { target: PEAK_RATE, duration: '30s' },
+        { target: PEAK_RATE, duration: '1m' },
+        { target: 50, duration: '30s' },
+      ],
+    },
+  },
+  tags: { mode: __ENV.MODE || 'unknown' },
+  thresholds: {
+    http_req_failed: ['rate<0.05'],
+    http_req_duration: ['p(95)<1000'],
+  },
+};
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export function setup() {
+  const suffix = Date.now();
+  const credentials = {
+    login: `load${suffix}`,
+    email: `load${suffix}@example.com`,
+    password: 'loadtest-password',
+  };
+  http.post(`${BASE_URL}/api/auth/register`, JSON.stringify(credentials), { headers: JSON_HEADERS });
+  const login = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify(credentials), { headers: JSON_HEADERS });
+  const token = login.json('token');
+  const auth = { headers: { ...JSON_HEADERS, Authorization: `Bearer ${token}` } };
+
+  const userId = http.get(`${BASE_URL}/api/users/profile`, auth).json('id');
+  for (let i = 0; i < SEED_TASKS; i++) {
+    http.post(`${BASE_URL}/api/tasks`, JSON.stringify({
+      title: `Load task ${i}`,
+      description: 'Seeded by the load test',
+      status: 'TO_DO',
+      priority: 'MEDIUM',
+      deadline: '2030-01-01',
+      userId: userId,
+    }), auth);
+  }
+  return { token };
+}
+
+export default function (data) {
+  const res = http.get(`${BASE_URL}${READ_PATH}`, {
+    headers: { Authorization: `Bearer ${data.token}` },
+  });
+  check(res, {
+    'status is 200': (r) => r.status === 200,
+    'not shed (503)': (r) => r.status !== 503,
+  });
+}
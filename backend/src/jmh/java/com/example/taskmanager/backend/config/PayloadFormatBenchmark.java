@@ -0,0 +1,81 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.dto.TaskDto;
+import com.example.taskmanager.backend.mapper.ProtoMapper;
+import com.example.taskmanager.backend.proto.TaskList;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Кодирование и декодирование списка задач (как в ответе GET /api/tasks) в JSON, CBOR, Smile и Protobuf.
+ * Размер тела на задачу печатается при старте каждого прогона.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<List<TaskDto>> TASK_LIST = new TypeReference<>() {};
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    @Param({"100"})
+    public int taskCount;
+
+    private List<TaskDto> tasks;
+    private ObjectMapper mapper;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        json.registerModule(new JavaTimeModule());
+        json.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper = switch (format) {
+            case "json" -> json;
+            case "cbor" -> json.copyWith(new CBORFactory());
+            case "smile" -> json.copyWith(new SmileFactory());
+            default -> null;
+        };
+
+        String[] statuses = {"TO_DO", "IN_PROGRESS", "DONE"};
+        String[] priorities = {"LOW", "MEDIUM", "HIGH"};
+        tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new TaskDto((long) i + 1, "Task " + i, "Description of task number " + i,
+                    statuses[i % 3], priorities[i % 3], LocalDate.of(2024, 1, 1).plusDays(i), (long) (i % 10) + 1));
+        }
+
+        encoded = encode();
+        System.out.printf("%n%s: %d bytes for %d tasks, %.1f bytes/task%n",
+                format, encoded.length, taskCount, (double) encoded.length / taskCount);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        if (mapper == null) {
+            return ProtoMapper.toTaskList(tasks).toByteArray();
+        }
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<TaskDto> decode() throws Exception {
+        if (mapper == null) {
+            return ProtoMapper.fromProto(TaskList.parseFrom(encoded));
+        }
+        return mapper.readValue(encoded, TASK_LIST);
+    }
+
+}
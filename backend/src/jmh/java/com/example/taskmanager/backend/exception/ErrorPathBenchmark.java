@@ -0,0 +1,101 @@
+package com.example.taskmanager.backend.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность пути ошибки при потоке 404/401:
+ * исключение со стеком + ObjectMapper против исключения без стека + готового шаблона.
+ * Глубина стека имитирует вызов из сервиса через фильтры, прокси и контроллер.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class ErrorPathBenchmark {
+
+    private static final int STACK_DEPTH = 120;
+
+    private ObjectMapper objectMapper;
+
+    // Прежнее поведение: обычное RuntimeException с заполнением стека
+    static class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public void legacyNotFound(Blackhole blackhole) throws Exception {
+        try {
+            throwAtDepth(STACK_DEPTH, true);
+        } catch (LegacyNotFoundException ex) {
+            ErrorResponse error = new ErrorResponse(LocalDateTime.now(), 404, ex.getMessage(), null);
+            blackhole.consume(objectMapper.writeValueAsBytes(error));
+        }
+    }
+
+    @Benchmark
+    public void stacklessNotFound(Blackhole blackhole) {
+        try {
+            throwAtDepth(STACK_DEPTH, false);
+        } catch (TaskNotFoundException ex) {
+            blackhole.consume(ErrorResponses.render(404, ex.getMessage(), null));
+        }
+    }
+
+    @Benchmark
+    public void legacyUnauthorized(Blackhole blackhole) throws Exception {
+        try {
+            throwUnauthorizedAtDepth(STACK_DEPTH, true);
+        } catch (RuntimeException ex) {
+            ErrorResponse error = new ErrorResponse(LocalDateTime.now(), 401, ex.getMessage(), "uri=/api/tasks");
+            blackhole.consume(objectMapper.writeValueAsBytes(error));
+        }
+    }
+
+    @Benchmark
+    public void stacklessUnauthorized(Blackhole blackhole) {
+        try {
+            throwUnauthorizedAtDepth(STACK_DEPTH, false);
+        } catch (InvalidCredentialsException ex) {
+            blackhole.consume(ErrorResponses.render(401, ex.getMessage(), "uri=/api/tasks"));
+        }
+    }
+
+    private static void throwAtDepth(int depth, boolean legacy) {
+        if (depth > 0) {
+            throwAtDepth(depth - 1, legacy);
+            return;
+        }
+        if (legacy) {
+            throw new LegacyNotFoundException("Task not found");
+        }
+        throw new TaskNotFoundException("Task not found");
+    }
+
+    private static void throwUnauthorizedAtDepth(int depth, boolean legacy) {
+        if (depth > 0) {
+            throwUnauthorizedAtDepth(depth - 1, legacy);
+            return;
+        }
+        if (legacy) {
+            throw new LegacyNotFoundException("Invalid password");
+        }
+        throw new InvalidCredentialsException("Invalid password");
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.example.taskmanager.backend.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность логирования с нескольких потоков (как из потоков запросов):
+ * синхронная запись в файл, стандартный AsyncAppender Logback и {@link RingBufferAsyncAppender},
+ * с сэмплированием и без. Формат строки — тот же, что в application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class AsyncLoggingBenchmark {
+
+    @Param({"sync", "logback-async", "ring", "ring-sampled"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+    private File logFile;
+    private RingBufferAsyncAppender ring;
+    private long taskId;
+
+    @Setup
+    public void setUp() throws Exception {
+        logFile = Files.createTempFile("logging-benchmark", ".log").toFile();
+        context = new LoggerContext();
+        context.start();
+
+        if (mode.equals("ring-sampled")) {
+            SamplingTurboFilter sampling = new SamplingTurboFilter();
+            sampling.setRatePerSecond(1000);
+            sampling.setBurst(1000);
+            sampling.setContext(context);
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        logger = context.getLogger("com.example.taskmanager.backend.service.TaskServiceImpl");
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(appender(mode));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        if (ring != null) {
+            // Отброшенные при переполнении события тоже засчитываются в пропускную способность
+            System.out.printf("%n%s: %d events dropped%n", mode, ring.getDroppedCount());
+        }
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void logServiceCall() {
+        // Типичная пара строк из метода сервиса
+        long id = taskId++;
+        logger.debug("Fetching task with id: {}", id);
+        logger.info("Task {} updated by user {}", id, "user@example.com");
+    }
+
+    private Appender<ILoggingEvent> appender(String mode) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        // Синхронный режим пишет с flush на каждое событие, как FILE из Spring Boot
+        file.setImmediateFlush(mode.equals("sync"));
+        file.start();
+
+        switch (mode) {
+            case "sync" -> {
+                return file;
+            }
+            case "logback-async" -> {
+                AsyncAppender async = new AsyncAppender();
+                async.setContext(context);
+                async.setName("ASYNC");
+                async.setQueueSize(8192);
+                async.setDiscardingThreshold(0);
+                async.setNeverBlock(true);
+                async.addAppender(file);
+                async.start();
+                return async;
+            }
+            default -> {
+                ring = new RingBufferAsyncAppender();
+                ring.setContext(context);
+                ring.setName("RING");
+                ring.setCapacity(8192);
+                ring.addAppender(file);
+                ring.start();
+                return ring;
+            }
+        }
+    }
+
+}
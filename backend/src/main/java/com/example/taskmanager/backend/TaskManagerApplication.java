@@ -2,10 +2,18 @@ package com.example.taskmanager.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(
-		scanBasePackages = "com.example.taskmanager.backend" // Указываем пакет для сканирования
+		scanBasePackages = "com.example.taskmanager.backend", // Указываем пакет для сканирования
+		// R2DBC настраивается вручную в ReactiveDataConfig, чтобы не появился второй менеджер транзакций рядом с JPA
+		exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class}
 )
+@EnableScheduling
+@EnableAsync
 public class TaskManagerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,29 @@
+package com.example.taskmanager.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class AdaptiveConcurrencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdaptiveConcurrencyFilter> adaptiveConcurrencyFilter(
+            ConcurrencyLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        FilterRegistrationBean<AdaptiveConcurrencyFilter> registration = new FilterRegistrationBean<>(
+                new AdaptiveConcurrencyFilter(properties, limiter));
+        // После RateLimitFilter (быстрые 429 не должны попадать в замеры задержки), но до Spring Security
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 5);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.exception.ErrorResponses;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Сбрасывает нагрузку по группам маршрутов: запрос сверх адаптивного лимита группы или общей
+ * емкости сразу получает 503 с Retry-After, не занимая поток в очереди к базе.
+ * Запросы вне групп не ограничиваются.
+ */
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyFilter.class);
+
+    private final ConcurrencyLimitProperties properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AdaptiveConcurrencyFilter(ConcurrencyLimitProperties properties, AdaptiveConcurrencyLimiter limiter) {
+        this.properties = properties;
+        this.limiter = limiter;
+    }
+
+    // Операции пакета ограничиваются по отдельности, сам пакет места не занимает
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return BatchRequests.isBatch(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ConcurrencyLimitProperties.Group group = findGroup(request);
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(group.getName());
+        if (permit == null) {
+            // Под перегрузкой каждый отказ логировать дорого — только debug, счетчик в метриках
+            log.debug("Shedding {} {} (group {})", request.getMethod(), request.getRequestURI(), group.getName());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+            ErrorResponses.write(response, HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, retry later");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            permit.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private ConcurrencyLimitProperties.Group findGroup(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        for (ConcurrencyLimitProperties.Group group : properties.getGroups()) {
+            if (!group.getMethods().isEmpty() && !group.getMethods().contains(method)) {
+                continue;
+            }
+            for (String pattern : group.getPaths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.example.taskmanager.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Лимиты параллелизма по группам маршрутов, подстраиваемые по наблюдаемой задержке.
+ * <p>
+ * Лимит группы растет на sqrt(limit), пока задержка держится около базовой, и уменьшается
+ * пропорционально ее росту (градиент base/current, не ниже 0.5); 5xx и исключения уменьшают
+ * его мультипликативно. Поверх лимитов — общая емкость сервиса: каждая группа получает
+ * свои зарезервированные места, остальное делится между группами по мере запросов.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final Map<String, GroupLimit> groups = new LinkedHashMap<>();
+    private final int sharedCapacity;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double backoffRatio;
+    private final int longWindow;
+
+    // Места из общей части, занятые сверх резервов групп; guarded by this
+    private int sharedInUse;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        int reserved = 0;
+        for (ConcurrencyLimitProperties.Group group : properties.getGroups()) {
+            if (group.getMinLimit() < 1 || group.getMinLimit() > group.getMaxLimit()) {
+                throw new IllegalArgumentException("Invalid limit bounds for concurrency group " + group.getName());
+            }
+            groups.put(group.getName(), new GroupLimit(group, meterRegistry));
+            reserved += group.getReserved();
+        }
+        if (reserved > properties.getMaxConcurrentRequests()) {
+            throw new IllegalArgumentException("Reserved concurrency " + reserved
+                    + " exceeds max-concurrent-requests " + properties.getMaxConcurrentRequests());
+        }
+        this.sharedCapacity = properties.getMaxConcurrentRequests() - reserved;
+        this.smoothing = properties.getSmoothing();
+        this.rttTolerance = properties.getRttTolerance();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.longWindow = properties.getLongWindow();
+
+        Gauge.builder("http.server.requests.adaptive.shared.in.use", this, AdaptiveConcurrencyLimiter::sharedInUse)
+                .description("Requests holding shared (non-reserved) concurrency capacity")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return разрешение, которое нужно освободить после обработки запроса, или null, если запрос отбрасывается
+     */
+    public synchronized Permit tryAcquire(String groupName) {
+        GroupLimit group = groups.get(groupName);
+        if (group == null) {
+            throw new IllegalArgumentException("Unknown concurrency group: " + groupName);
+        }
+        if (group.inFlight >= group.limit()) {
+            group.shedByLimit.increment();
+            return null;
+        }
+        boolean shared = group.inFlight >= group.reserved;
+        if (shared && sharedInUse >= sharedCapacity) {
+            group.shedByCapacity.increment();
+            return null;
+        }
+        if (shared) {
+            sharedInUse++;
+        }
+        group.inFlight++;
+        return new Permit(group, group.inFlight);
+    }
+
+    public synchronized int limit(String groupName) {
+        return groups.get(groupName).limit();
+    }
+
+    synchronized int inFlight(String groupName) {
+        return groups.get(groupName).inFlight;
+    }
+
+    synchronized int sharedInUse() {
+        return sharedInUse;
+    }
+
+    private synchronized void release(Permit permit, long rttNanos, boolean dropped) {
+        GroupLimit group = permit.group;
+        if (group.inFlight > group.reserved) {
+            sharedInUse--;
+        }
+        group.inFlight--;
+        group.onSample(rttNanos, permit.inFlightAtStart, dropped);
+    }
+
+    public final class Permit {
+
+        private final GroupLimit group;
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(GroupLimit group, int inFlightAtStart) {
+            this.group = group;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * @param dropped запрос завершился 5xx или исключением — признак перегрузки
+         */
+        public void release(long rttNanos, boolean dropped) {
+            if (released) {
+                return;
+            }
+            released = true;
+            AdaptiveConcurrencyLimiter.this.release(this, rttNanos, dropped);
+        }
+
+    }
+
+    private final class GroupLimit {
+
+        private final int minLimit;
+        private final int maxLimit;
+        private final int reserved;
+        private final Counter shedByLimit;
+        private final Counter shedByCapacity;
+
+        private double estimatedLimit;
+        private double shortRtt;
+        private double longRtt;
+        private int inFlight;
+
+        private GroupLimit(ConcurrencyLimitProperties.Group group, MeterRegistry meterRegistry) {
+            this.minLimit = group.getMinLimit();
+            this.maxLimit = group.getMaxLimit();
+            this.reserved = group.getReserved();
+            this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, group.getInitialLimit()));
+
+            Gauge.builder("http.server.requests.adaptive.limit", this, GroupLimit::currentLimit)
+                    .description("Current adaptive concurrency limit of the route group")
+                    .tag("group", group.getName())
+                    .register(meterRegistry);
+            Gauge.builder("http.server.requests.adaptive.in.flight", this, GroupLimit::currentInFlight)
+                    .description("Requests of the route group currently being processed")
+                    .tag("group", group.getName())
+                    .register(meterRegistry);
+            this.shedByLimit = shedCounter(meterRegistry, group.getName(), "limit");
+            this.shedByCapacity = shedCounter(meterRegistry, group.getName(), "capacity");
+        }
+
+        private int limit() {
+            return (int) estimatedLimit;
+        }
+
+        private void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+            if (dropped) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+                return;
+            }
+            if (rttNanos <= 0) {
+                return;
+            }
+
+            shortRtt = shortRtt == 0 ? rttNanos : shortRtt + (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) / longWindow;
+            // Задержка заметно и надолго снизилась — базовая догоняет ее быстрее обычного окна
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+
+            // Группа далека от лимита: такая нагрузка ничего не говорит о том, выдержит ли сервис больше
+            if (inFlightAtStart < estimatedLimit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                    estimatedLimit * (1 - smoothing) + target * smoothing));
+        }
+
+        private double currentLimit() {
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                return estimatedLimit;
+            }
+        }
+
+        private double currentInFlight() {
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                return inFlight;
+            }
+        }
+
+    }
+
+    private static Counter shedCounter(MeterRegistry meterRegistry, String group, String reason) {
+        return Counter.builder("http.server.requests.adaptive.shed")
+                .description("Requests rejected with 503 by adaptive concurrency limiting")
+                .tag("group", group)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+}
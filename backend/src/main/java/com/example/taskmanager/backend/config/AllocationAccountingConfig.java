@@ -0,0 +1,32 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.timing.AllocationAccountingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class AllocationAccountingConfig {
+
+    @Bean
+    public FilterRegistrationBean<AllocationAccountingFilter> allocationAccountingFilter(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.allocation-accounting.enabled:true}") boolean enabled,
+            @Value("${app.allocation-accounting.header:false}") boolean header,
+            @Value("${app.allocation-accounting.excluded-paths:/api/stream/**,/api/rx/**}") List<String> excludedPaths) {
+        FilterRegistrationBean<AllocationAccountingFilter> registration = new FilterRegistrationBean<>(
+                new AllocationAccountingFilter(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), header, excludedPaths));
+        // Снаружи ограничителей и Spring Security: в замер входит вся обработка запроса в его потоке
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 19);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
+}
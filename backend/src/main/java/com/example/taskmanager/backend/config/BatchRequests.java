@@ -0,0 +1,21 @@
+package com.example.taskmanager.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Запрос POST /api/batch не занимает мест ограничителей конкурентности: каждая его операция проходит
+ * их сама (BatchDispatcher). Место, удерживаемое пакетом, могло бы оказаться тем, которого ждут
+ * его же операции, и несколько пакетов заняли бы весь лимит.
+ */
+final class BatchRequests {
+
+    static final String PATH = "/api/batch";
+
+    private BatchRequests() {
+    }
+
+    static boolean isBatch(HttpServletRequest request) {
+        return PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.example.taskmanager.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Отсек для одного класса трафика: не больше {@code maxConcurrent} запросов в обработке и не больше
+ * {@code maxWaiting} в ожидании. Так класс занимает не больше maxConcurrent + maxWaiting потоков Tomcat,
+ * что бы ни происходило с его запросами.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter rejected;
+
+    public Bulkhead(TrafficClass trafficClass, BulkheadProperties.Partition partition, MeterRegistry meterRegistry) {
+        this.maxConcurrent = partition.getMaxConcurrent();
+        this.maxWaiting = partition.getMaxWaiting();
+        this.maxWaitMs = partition.getMaxWaitMs();
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Requests of the traffic class currently being processed")
+                .tag("class", trafficClass.id())
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.waiting", waiting, AtomicInteger::get)
+                .description("Requests of the traffic class waiting for a place")
+                .tag("class", trafficClass.id())
+                .register(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.rejected")
+                .description("Requests rejected because the traffic class bulkhead was full")
+                .tag("class", trafficClass.id())
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if (!acquired) {
+            rejected.increment();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.example.taskmanager.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bulkhead-изоляция классов трафика (user-read, user-write, admin, auth): у каждого класса
+ * свой лимит одновременных запросов с очередью и свой пул соединений Hikari.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties({BulkheadProperties.class, DataSourceProperties.class})
+public class BulkheadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkheadConfig.class);
+
+    private final BulkheadProperties properties;
+
+    public BulkheadConfig(BulkheadProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Map<TrafficClass, Bulkhead> bulkheads = new EnumMap<>(TrafficClass.class);
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            bulkheads.put(trafficClass, new Bulkhead(trafficClass, properties.partition(trafficClass), registry));
+        }
+
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(
+                new BulkheadFilter(properties, bulkheads));
+        // После адаптивного ограничения параллелизма, до Spring Security, которая уже ходит в базу
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 4);
+        return registration;
+    }
+
+    // Заменяет DataSource из автоконфигурации: те же spring.datasource.*, но отдельный пул на класс трафика
+    @Bean
+    @Primary
+    public BulkheadRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        Map<TrafficClass, HikariDataSource> partitions = new EnumMap<>(TrafficClass.class);
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            pool.setPoolName("taskmanager-" + trafficClass.id());
+            pool.setMaximumPoolSize(properties.partition(trafficClass).getPoolSize());
+            if (registry != null) {
+                // Метрики hikaricp.* с тегом pool для каждого пула
+                pool.setMetricRegistry(registry);
+            }
+            partitions.put(trafficClass, pool);
+        }
+
+        BulkheadRoutingDataSource dataSource = new BulkheadRoutingDataSource(partitions, properties.getDefaultClass());
+        log.info("Partitioned connection pools by traffic class: {} connections in total",
+                dataSource.getMaximumPoolSize());
+        return dataSource;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.exception.ErrorResponses;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Определяет класс трафика запроса, пропускает его через bulkhead класса и на время обработки
+ * делает класс текущим — по нему {@link BulkheadRoutingDataSource} выбирает пул соединений.
+ * Стоит до Spring Security: загрузка пользователя по JWT тоже идет через пул своего класса.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final BulkheadProperties properties;
+    private final Map<TrafficClass, Bulkhead> bulkheads;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public BulkheadFilter(BulkheadProperties properties, Map<TrafficClass, Bulkhead> bulkheads) {
+        this.properties = properties;
+        this.bulkheads = bulkheads;
+    }
+
+    // Операции пакета ограничиваются по отдельности, сам пакет места не занимает
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return BatchRequests.isBatch(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TrafficClass trafficClass = classify(request);
+        Bulkhead bulkhead = bulkheads.get(trafficClass);
+        if (!bulkhead.tryAcquire()) {
+            log.warn("Bulkhead {} is full, rejecting {} {}", trafficClass.id(), request.getMethod(),
+                    request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+            ErrorResponses.write(response, HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, retry later");
+            return;
+        }
+
+        TrafficClass previous = TrafficClass.current();
+        TrafficClass.setCurrent(trafficClass);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TrafficClass.setCurrent(previous);
+            bulkhead.release();
+        }
+    }
+
+    TrafficClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (matches(properties.getAuthPaths(), path)) {
+            return TrafficClass.AUTH;
+        }
+        if (matches(properties.getAdminPaths(), path)) {
+            return TrafficClass.ADMIN;
+        }
+        return READ_METHODS.contains(request.getMethod()) ? TrafficClass.USER_READ : TrafficClass.USER_WRITE;
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.example.taskmanager.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Настройки bulkhead-изоляции классов трафика: лимит одновременных запросов, очередь ожидания
+ * и размер отдельного пула соединений для каждого класса.
+ */
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    // Ant-шаблоны путей административного и аутентификационного трафика; остальное делится на чтение и запись по методу
+    private List<String> adminPaths = new ArrayList<>(List.of("/api/admin/**"));
+
+    private List<String> authPaths = new ArrayList<>(List.of("/api/auth/**"));
+
+    // Чей пул соединений используют потоки вне HTTP-запроса: @Scheduled, пулы пакетов и обновления кеша
+    private TrafficClass defaultClass = TrafficClass.USER_WRITE;
+
+    private long retryAfterSeconds = 1;
+
+    private Map<TrafficClass, Partition> partitions = new EnumMap<>(TrafficClass.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getAdminPaths() {
+        return adminPaths;
+    }
+
+    public void setAdminPaths(List<String> adminPaths) {
+        this.adminPaths = adminPaths;
+    }
+
+    public List<String> getAuthPaths() {
+        return authPaths;
+    }
+
+    public void setAuthPaths(List<String> authPaths) {
+        this.authPaths = authPaths;
+    }
+
+    public TrafficClass getDefaultClass() {
+        return defaultClass;
+    }
+
+    public void setDefaultClass(TrafficClass defaultClass) {
+        this.defaultClass = defaultClass;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Map<TrafficClass, Partition> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(Map<TrafficClass, Partition> partitions) {
+        this.partitions = partitions;
+    }
+
+    // Класс без явных настроек получает значения по умолчанию
+    public Partition partition(TrafficClass trafficClass) {
+        return partitions.computeIfAbsent(trafficClass, key -> new Partition());
+    }
+
+    public static class Partition {
+
+        // Одновременно обрабатываемые запросы класса
+        private int maxConcurrent = 50;
+
+        // Сколько запросов может ждать места; остальные сразу получают 503
+        private int maxWaiting = 25;
+
+        private long maxWaitMs = 1000;
+
+        // Размер отдельного пула соединений Hikari
+        private int poolSize = 5;
+
+        public Partition() {}
+
+        public Partition(int maxConcurrent, int maxWaiting, long maxWaitMs, int poolSize) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaiting = maxWaiting;
+            this.maxWaitMs = maxWaitMs;
+            this.poolSize = poolSize;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxWaiting() {
+            return maxWaiting;
+        }
+
+        public void setMaxWaiting(int maxWaiting) {
+            this.maxWaiting = maxWaiting;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+    }
+
+}
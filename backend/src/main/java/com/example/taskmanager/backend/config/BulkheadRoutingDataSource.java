@@ -0,0 +1,46 @@
+package com.example.taskmanager.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Выбирает пул соединений по классу трафика текущего потока: долгий административный запрос
+ * исчерпывает только пул admin, а не соединения пользовательских запросов.
+ */
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final Map<TrafficClass, HikariDataSource> partitions;
+    private final TrafficClass defaultClass;
+
+    public BulkheadRoutingDataSource(Map<TrafficClass, HikariDataSource> partitions, TrafficClass defaultClass) {
+        this.partitions = partitions;
+        this.defaultClass = defaultClass;
+        setTargetDataSources(new HashMap<>(partitions));
+        setDefaultTargetDataSource(partitions.get(defaultClass));
+    }
+
+    public Map<TrafficClass, HikariDataSource> getPartitions() {
+        return partitions;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        TrafficClass current = TrafficClass.current();
+        return current == null ? defaultClass : current;
+    }
+
+    @Override
+    public void close() {
+        partitions.values().forEach(HikariDataSource::close);
+    }
+
+    // Суммарный размер пулов — для расчета лимитов, завязанных на число соединений
+    public int getMaximumPoolSize() {
+        return partitions.values().stream().mapToInt(HikariDataSource::getMaximumPoolSize).sum();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.exception.ErrorResponses;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничивает число одновременно обрабатываемых запросов, чтобы тысячи виртуальных потоков
+ * не выстраивались в очередь к Hikari. Запросы сверх лимита ждут не дольше таймаута,
+ * после чего получают 503 с Retry-After.
+ */
+public class ConnectionPoolLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolLimitFilter.class);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final long retryAfterSeconds;
+    private final Counter rejectedCounter;
+
+    public ConnectionPoolLimitFilter(int maxConcurrentRequests, long acquireTimeoutMs, long retryAfterSeconds,
+                                     MeterRegistry meterRegistry) {
+        // Честная очередь: при перегрузке первыми обслуживаются те, кто ждет дольше
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("http.server.requests.concurrency.waiting", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.concurrency.active", permits,
+                        p -> maxConcurrentRequests - p.availablePermits())
+                .description("Requests currently holding a concurrency permit")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("http.server.requests.concurrency.rejected")
+                .description("Requests rejected because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    // Операции пакета ограничиваются по отдельности, сам пакет места не занимает
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return BatchRequests.isBatch(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.warn("Concurrency limit reached, rejecting {} {}", request.getMethod(), request.getRequestURI());
+            rejectedCounter.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            ErrorResponses.write(response, HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, retry later");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.exception.ErrorResponses;
+import com.example.taskmanager.backend.service.IdempotencyService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Поддержка заголовка Idempotency-Key для создающих POST-запросов: повтор с тем же ключом и тем же
+ * телом получает сохраненный ответ без повторного выполнения, а одновременный повтор ждет первый запрос.
+ * Стоит после Spring Security, поэтому ключи привязаны к аутентифицированному пользователю.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final List<String> paths;
+    private final Counter replayed;
+    private final Counter conflicts;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, List<String> paths, MeterRegistry meterRegistry) {
+        this.idempotencyService = idempotencyService;
+        this.paths = paths;
+        this.replayed = Counter.builder("http.server.requests.idempotent.replayed")
+                .description("Requests answered with a stored response for their Idempotency-Key")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("http.server.requests.idempotent.conflicts")
+                .description("Requests rejected because their Idempotency-Key was in progress or reused")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY) == null
+                || !paths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            ErrorResponses.write(response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        IdempotencyService.Decision decision = idempotencyService.begin(scope(), key, hash(cachedRequest));
+
+        if (decision instanceof IdempotencyService.Replay replay) {
+            replayed.increment();
+            writeStored(response, replay.response());
+        } else if (decision instanceof IdempotencyService.Mismatch) {
+            conflicts.increment();
+            ErrorResponses.write(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request");
+        } else if (decision instanceof IdempotencyService.InProgress) {
+            conflicts.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            ErrorResponses.write(response, HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still in progress");
+        } else if (decision instanceof IdempotencyService.Proceed proceed) {
+            execute(cachedRequest, response, chain, proceed);
+        }
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain chain,
+                         IdempotencyService.Proceed proceed) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, responseWrapper);
+        } catch (ServletException | IOException | RuntimeException ex) {
+            idempotencyService.abandon(proceed);
+            throw ex;
+        }
+
+        int status = responseWrapper.getStatus();
+        if (status < 500) {
+            idempotencyService.complete(proceed, new IdempotencyService.StoredResponse(
+                    status, responseWrapper.getContentType(), responseWrapper.getContentAsByteArray()));
+        } else {
+            log.debug("Not storing {} response for Idempotency-Key", status);
+            idempotencyService.abandon(proceed);
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private static void writeStored(HttpServletResponse response, IdempotencyService.StoredResponse stored)
+            throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String scope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    // Метод, путь с query-строкой и тело: тот же ключ с другим запросом отклоняется
+    private static String hash(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(request.body());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+}
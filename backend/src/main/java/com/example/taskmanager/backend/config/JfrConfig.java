@@ -0,0 +1,21 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.jfr.JfrEventsAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * События JFR для сервисов задач и комментариев и репозиториев. JWT и хеширование паролей
+ * пишут события напрямую. Пока запись не идет, события не сохраняются.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.jfr", name = "events-enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean
+    public JfrEventsAspect jfrEventsAspect() {
+        return new JfrEventsAspect();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.taskmanager.backend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Таймеры методов сервисов: классы с {@code @Timed} пишут метрику service.calls с тегами class, method и exception.
+ * Гистограммы и экспорт в Prometheus настраиваются свойствами management.*.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.example.taskmanager.backend.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Неблокирующий доступ к базе для API чтения {@code /api/rx/**}.
+ * <p>
+ * Пул R2DBC создается вручную и только при {@code app.reactive.enabled=true}: автоконфигурация R2DBC
+ * отключена, чтобы реактивный менеджер транзакций не конфликтовал с JPA.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveDataConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveDataConfig.class);
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool r2dbcConnectionFactory(
+            @Value("${app.reactive.r2dbc.url}") String url,
+            @Value("${app.reactive.r2dbc.username:${spring.datasource.username}}") String username,
+            @Value("${app.reactive.r2dbc.password:${spring.datasource.password}}") String password,
+            @Value("${app.reactive.r2dbc.pool.initial-size:2}") int initialSize,
+            @Value("${app.reactive.r2dbc.pool.max-size:10}") int maxSize,
+            @Value("${app.reactive.r2dbc.pool.max-acquire-time-ms:2000}") long maxAcquireTimeMs) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url)
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+
+        log.info("Creating R2DBC connection pool for {} (max size {})", url, maxSize);
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                // Ожидание соединения ограничено, чтобы перегрузка превращалась в ошибку, а не в бесконечную очередь
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMs))
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionPool r2dbcConnectionFactory) {
+        return DatabaseClient.create(r2dbcConnectionFactory);
+    }
+
+}
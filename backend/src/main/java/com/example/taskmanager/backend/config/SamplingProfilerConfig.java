@@ -0,0 +1,25 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.service.SamplingProfilerService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SamplingProfilerConfig {
+
+    @Bean
+    public FilterRegistrationBean<SamplingProfilerFilter> samplingProfilerFilter(
+            SamplingProfilerService profiler,
+            @Value("${app.profiler.enabled:true}") boolean enabled) {
+        FilterRegistrationBean<SamplingProfilerFilter> registration = new FilterRegistrationBean<>(
+                new SamplingProfilerFilter(profiler));
+        // Самый внешний фильтр: в профиль попадают Spring Security, ограничители и замеры
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 21);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.service.SamplingProfilerService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Отмечает поток запроса для {@link SamplingProfilerService} на время обработки.
+ * Пока профилировщик не запущен, фильтр ничего не делает.
+ */
+public class SamplingProfilerFilter extends OncePerRequestFilter {
+
+    private final SamplingProfilerService profiler;
+
+    public SamplingProfilerFilter(SamplingProfilerService profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!profiler.track()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Асинхронный запрос освобождает поток здесь; продолжение в другом пуле не семплируется
+            profiler.untrack();
+        }
+    }
+
+}
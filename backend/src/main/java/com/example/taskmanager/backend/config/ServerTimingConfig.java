@@ -0,0 +1,52 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.timing.ServerTimingFilter;
+import com.example.taskmanager.backend.timing.TimedJacksonHttpMessageConverter;
+import com.example.taskmanager.backend.timing.TimingAspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Разбивка времени запроса по слоям (opt-in): заголовок Server-Timing и строка трассировки в логе.
+ * Когда выключено, не регистрируется ничего, а замеры в коде сводятся к чтению ThreadLocal.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Bean
+    public TimingAspect timingAspect() {
+        return new TimingAspect();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${app.server-timing.header:true}") boolean header,
+            @Value("${app.server-timing.log:false}") boolean logEnabled,
+            @Value("${app.server-timing.log-threshold-ms:0}") long logThresholdMs,
+            @Value("${app.server-timing.excluded-paths:/api/stream/**,/api/rx/**}") List<String> excludedPaths) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingFilter(header, logEnabled, logThresholdMs, excludedPaths));
+        // Самый внешний фильтр: total включает ограничители и Spring Security
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 20);
+        return registration;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter instanceof MappingJackson2HttpMessageConverter jackson
+                && !(converter instanceof TimedJacksonHttpMessageConverter)
+                ? new TimedJacksonHttpMessageConverter(jackson.getObjectMapper())
+                : converter);
+    }
+
+}
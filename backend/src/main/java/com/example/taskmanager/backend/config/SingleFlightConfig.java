@@ -0,0 +1,26 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.json.SharedJsonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class SingleFlightConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public SingleFlightConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Первым в списке: берет только SharedJsonList, остальное уходит стандартным конвертерам
+        converters.add(0, new SharedJsonHttpMessageConverter(objectMapper));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanager.backend.config;
+
+import com.example.taskmanager.backend.jdbc.SlowQueryContextAspect;
+import com.example.taskmanager.backend.jdbc.SlowQueryDataSource;
+import com.example.taskmanager.backend.jdbc.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Журнал медленных запросов: DataSource оборачивается замером выполнения, аспект отмечает,
+ * из какого сервиса и репозитория пришел запрос. Последние записи — GET /api/admin/slow-queries.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean
+    public SlowQueryLog slowQueryLog(@Value("${app.slow-query.buffer-size:100}") int bufferSize,
+                                     @Value("${app.slow-query.explain:true}") boolean explain,
+                                     ObjectProvider<DataSource> dataSource,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SlowQueryLog(bufferSize, explain, dataSource, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    public SlowQueryContextAspect slowQueryContextAspect() {
+        return new SlowQueryContextAspect();
+    }
+
+    // static: постпроцессор создается раньше остальных бинов конфигурации
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(Environment environment,
+                                                                     ObjectProvider<SlowQueryLog> slowQueryLog) {
+        long thresholdMs = environment.getProperty("app.slow-query.threshold-ms", Long.class, 200L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource(dataSource, slowQueryLog.getObject(), thresholdMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.taskmanager.backend.config;
+
+/**
+ * Класс трафика, для которого выделен свой bulkhead: лимит одновременных запросов и свой пул соединений.
+ */
+public enum TrafficClass {
+
+    USER_READ("user-read"),
+    USER_WRITE("user-write"),
+    ADMIN("admin"),
+    AUTH("auth");
+
+    private static final ThreadLocal<TrafficClass> CURRENT = new ThreadLocal<>();
+
+    private final String id;
+
+    TrafficClass(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    // Класс запроса, который обрабатывается в текущем потоке; null вне запроса (фоновые задачи, пулы)
+    public static TrafficClass current() {
+        return CURRENT.get();
+    }
+
+    static void setCurrent(TrafficClass trafficClass) {
+        if (trafficClass == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(trafficClass);
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.example.taskmanager.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+
+/**
+ * Режим виртуальных потоков: запросы Tomcat и задачи {@code @Async} выполняются на виртуальных потоках.
+ * <p>
+ * Включается свойством {@code app.threads.virtual.enabled=true}. Поскольку пул потоков Tomcat
+ * больше не ограничивает параллелизм, число одновременных запросов ограничивается
+ * {@link ConnectionPoolLimitFilter} исходя из размера пула соединений Hikari.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Serving HTTP requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+
+    // Подменяет пул Spring Boot для @Async и асинхронных MVC-ответов
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-vt-", 0).factory()));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConnectionPoolLimitFilter> connectionPoolLimitFilter(
+            DataSource dataSource,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.threads.virtual.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${app.threads.virtual.requests-per-connection:2}") int requestsPerConnection,
+            @Value("${app.threads.virtual.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            @Value("${app.threads.virtual.retry-after-seconds:1}") long retryAfterSeconds) {
+
+        // По умолчанию лимит считается от размера пула: больше запросов всё равно будут ждать соединение
+        int limit = maxConcurrentRequests > 0
+                ? maxConcurrentRequests
+                : poolSize(dataSource) * Math.max(1, requestsPerConnection);
+        log.info("Limiting concurrent requests to {} on virtual threads", limit);
+
+        FilterRegistrationBean<ConnectionPoolLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConnectionPoolLimitFilter(limit, acquireTimeoutMs, retryAfterSeconds,
+                        meterRegistry.getIfAvailable(SimpleMeterRegistry::new)));
+        // После RateLimitFilter, но до Spring Security, которая уже ходит в базу за пользователем
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 5);
+        return registration;
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        // DataSource может быть обернут (журнал медленных запросов)
+        BulkheadRoutingDataSource partitioned = unwrap(dataSource, BulkheadRoutingDataSource.class);
+        if (partitioned != null) {
+            return partitioned.getMaximumPoolSize();
+        }
+        HikariDataSource hikari = unwrap(dataSource, HikariDataSource.class);
+        if (hikari != null) {
+            return hikari.getMaximumPoolSize();
+        }
+        // Значение maximumPoolSize по умолчанию у Hikari
+        return 10;
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.service.JfrRecordingService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/profiling/jfr")
+public class AdminJfrController {
+
+    private final JfrRecordingService jfrRecordingService;
+
+    public AdminJfrController(JfrRecordingService jfrRecordingService) {
+        this.jfrRecordingService = jfrRecordingService;
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start(@RequestParam(defaultValue = "profile") String settings,
+                                                     @RequestParam(defaultValue = "0") long durationSeconds) {
+        return ResponseEntity.ok(jfrRecordingService.start(settings, durationSeconds));
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(jfrRecordingService.status());
+    }
+
+    // Останавливает запись и отдает .jfr; временный файл удаляется после отправки или если ответ не собрался
+    @PostMapping("/stop")
+    public ResponseEntity<StreamingResponseBody> stop() throws IOException {
+        Path file = jfrRecordingService.stop();
+        try {
+            StreamingResponseBody body = output -> {
+                try {
+                    Files.copy(file, output);
+                } finally {
+                    jfrRecordingService.delete(file);
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(Files.size(file))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                    .body(body);
+        } catch (IOException | RuntimeException ex) {
+            jfrRecordingService.delete(file);
+            throw ex;
+        }
+    }
+
+}
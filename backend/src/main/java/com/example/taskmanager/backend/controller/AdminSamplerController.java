@@ -0,0 +1,48 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.service.SamplingProfilerService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/profiling/sampler")
+public class AdminSamplerController {
+
+    private final SamplingProfilerService samplingProfilerService;
+
+    public AdminSamplerController(SamplingProfilerService samplingProfilerService) {
+        this.samplingProfilerService = samplingProfilerService;
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start(@RequestParam(defaultValue = "20") long intervalMs,
+                                                     @RequestParam(defaultValue = "60") long durationSeconds) {
+        return ResponseEntity.ok(samplingProfilerService.start(intervalMs, durationSeconds));
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(samplingProfilerService.status());
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<Map<String, Object>> stop() {
+        return ResponseEntity.ok(samplingProfilerService.stop());
+    }
+
+    // Folded stacks для flamegraph.pl или speedscope; доступно и во время сессии
+    @GetMapping("/folded")
+    public ResponseEntity<String> folded() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("profile.folded").build().toString())
+                .body(samplingProfilerService.folded());
+    }
+
+}
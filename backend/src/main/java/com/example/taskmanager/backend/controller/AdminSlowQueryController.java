@@ -0,0 +1,30 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.dto.SlowQueryDto;
+import com.example.taskmanager.backend.jdbc.SlowQueryLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+public class AdminSlowQueryController {
+
+    // Журнала нет, если app.slow-query.enabled=false
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public AdminSlowQueryController(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SlowQueryDto>> getSlowQueries() {
+        SlowQueryLog log = slowQueryLog.getIfAvailable();
+        return ResponseEntity.ok(log == null ? List.of() : log.recent());
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.service.TokenRevocationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/tokens")
+public class AdminTokenController {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    public AdminTokenController(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @PostMapping("/{tokenId}/revoke")
+    public ResponseEntity<Void> revokeToken(@PathVariable String tokenId) {
+        tokenRevocationService.revokeById(tokenId);
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -2,7 +2,10 @@ package com.example.taskmanager.backend.controller;
 
 import com.example.taskmanager.backend.dto.AuthRequestDto;
 import com.example.taskmanager.backend.dto.AuthResponseDto;
+import com.example.taskmanager.backend.exception.InvalidTokenException;
 import com.example.taskmanager.backend.service.AuthService;
+import com.example.taskmanager.backend.service.TokenRevocationService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,9 +16,11 @@ import jakarta.validation.Valid;
 public class AuthController {
 
     private final AuthService authService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, TokenRevocationService tokenRevocationService) {
         this.authService = authService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @PostMapping("/register")
@@ -36,4 +41,13 @@ public class AuthController {
         return ResponseEntity.ok(new AuthResponseDto(token));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            throw new InvalidTokenException("Missing or invalid Authorization header");
+        }
+        tokenRevocationService.revoke(authorizationHeader.substring(7));
+        return ResponseEntity.noContent().build();
+    }
+
 }
@@ -0,0 +1,35 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.dto.BatchRequestDto;
+import com.example.taskmanager.backend.dto.BatchResponseDto;
+import com.example.taskmanager.backend.service.BatchService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private final BatchService batchService;
+    private final BatchDispatcher batchDispatcher;
+
+    public BatchController(BatchService batchService, BatchDispatcher batchDispatcher) {
+        this.batchService = batchService;
+        this.batchDispatcher = batchDispatcher;
+    }
+
+    // Статус каждой операции — в ее результате; сам пакет всегда 200, если запрос корректен
+    @PostMapping
+    public ResponseEntity<BatchResponseDto> execute(@Valid @RequestBody BatchRequestDto request,
+                                                    HttpServletRequest httpRequest,
+                                                    HttpServletResponse httpResponse,
+                                                    Authentication authentication) {
+        return ResponseEntity.ok(batchService.execute(request,
+                batchDispatcher.forRequest(httpRequest, httpResponse, authentication)));
+    }
+
+}
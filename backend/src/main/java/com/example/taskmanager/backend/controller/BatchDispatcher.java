@@ -0,0 +1,227 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.config.AdaptiveConcurrencyFilter;
+import com.example.taskmanager.backend.config.BulkheadFilter;
+import com.example.taskmanager.backend.config.ConnectionPoolLimitFilter;
+import com.example.taskmanager.backend.config.IdempotencyFilter;
+import com.example.taskmanager.backend.dto.BatchOperationDto;
+import com.example.taskmanager.backend.dto.BatchResultDto;
+import com.example.taskmanager.backend.exception.ErrorResponses;
+import com.example.taskmanager.backend.security.RateLimitFilter;
+import com.example.taskmanager.backend.service.BatchDeadline;
+import com.example.taskmanager.backend.service.BatchService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.filter.CompositeFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Выполняет операцию пакета через DispatcherServlet. Пользователь уже аутентифицирован запросом
+ * /api/batch, а правила доступа к URL проверяются для каждой операции через
+ * {@link WebInvocationPrivilegeEvaluator}, поэтому цепочка Spring Security не повторяется.
+ * <p>
+ * Фильтры политик (лимит частоты, ограничители конкурентности, bulkhead, Idempotency-Key) применяются
+ * к каждой операции как к отдельному запросу: пакет из 20 записей расходует 20 токенов и 20 мест,
+ * а не одно. Сам запрос /api/batch мест ограничителей не занимает, иначе пакеты держали бы места,
+ * которых ждут их же операции. Измерительные фильтры не повторяются — их работа уже учтена в запросе пакета.
+ * <p>
+ * Пишущая операция параллельного пакета выполняется в своей транзакции, которая открывается после фильтров
+ * (соединение не держится в очереди ограничителей) и коммитится, только если срок пакета не истек
+ * ({@link BatchDeadline}). Опоздавшая операция откатывается и возвращает 504.
+ */
+@Component
+public class BatchDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchDispatcher.class);
+
+    // Заголовки исходного запроса, которые не относятся к операциям пакета
+    private static final List<String> SKIPPED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING,
+            HttpHeaders.IF_MATCH, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.IF_UNMODIFIED_SINCE,
+            IdempotencyFilter.IDEMPOTENCY_KEY);
+
+    // Фильтры, через которые проходит каждая операция; порядок берется из их регистрации
+    private static final Set<Class<? extends Filter>> OPERATION_FILTERS = Set.of(
+            RateLimitFilter.class, AdaptiveConcurrencyFilter.class, ConnectionPoolLimitFilter.class,
+            BulkheadFilter.class, IdempotencyFilter.class);
+
+    private final ObjectProvider<DispatcherServlet> dispatcherServlet;
+    private final ObjectProvider<WebInvocationPrivilegeEvaluator> privilegeEvaluator;
+    private final ObjectProvider<FilterRegistrationBean<?>> filterRegistrations;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile CompositeFilter operationFilters;
+
+    public BatchDispatcher(ObjectProvider<DispatcherServlet> dispatcherServlet,
+                           ObjectProvider<WebInvocationPrivilegeEvaluator> privilegeEvaluator,
+                           ObjectProvider<FilterRegistrationBean<?>> filterRegistrations,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.privilegeEvaluator = privilegeEvaluator;
+        this.filterRegistrations = filterRegistrations;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Данные исходного запроса, которые нужны операциям; снимаются один раз в потоке запроса
+    record Origin(String baseUrl, String contextPath, String scheme, String serverName, int serverPort,
+                  boolean secure, String remoteAddr, Locale locale, HttpHeaders headers,
+                  Authentication authentication) {}
+
+    public Function<BatchOperationDto, BatchResultDto> forRequest(HttpServletRequest request, HttpServletResponse response,
+                                                                  Authentication authentication) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (SKIPPED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.put(name, Collections.list(request.getHeaders(name)));
+            }
+        }
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+
+        String requestUrl = request.getRequestURL().toString();
+        Origin origin = new Origin(
+                requestUrl.substring(0, requestUrl.length() - request.getRequestURI().length()),
+                request.getContextPath(),
+                request.getScheme(),
+                request.getServerName(),
+                request.getServerPort(),
+                request.isSecure(),
+                request.getRemoteAddr(),
+                request.getLocale(),
+                HttpHeaders.readOnlyHttpHeaders(headers),
+                authentication);
+        return operation -> dispatch(request, response, origin, operation);
+    }
+
+    BatchResultDto dispatch(HttpServletRequest request, HttpServletResponse response, Origin origin,
+                            BatchOperationDto operation) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(operation.getPath()).build();
+        String path = uri.getPath();
+
+        WebInvocationPrivilegeEvaluator evaluator = privilegeEvaluator.getIfAvailable();
+        if (evaluator != null
+                && !evaluator.isAllowed(origin.contextPath(), path, operation.getMethod(), origin.authentication())) {
+            log.warn("Batch operation {} denied: {} {}", operation.getId(), operation.getMethod(), path);
+            return BatchService.error(operation.getId(), HttpStatus.FORBIDDEN, "Access Denied");
+        }
+
+        byte[] body;
+        try {
+            body = operation.getBody() == null || operation.getBody().isNull()
+                    ? new byte[0]
+                    : objectMapper.writeValueAsBytes(operation.getBody());
+        } catch (JsonProcessingException ex) {
+            return BatchService.error(operation.getId(), HttpStatus.BAD_REQUEST, "Invalid operation body");
+        }
+
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        uri.getQueryParams().forEach((name, values) -> values.forEach(value -> queryParams.add(
+                UriUtils.decode(name, StandardCharsets.UTF_8),
+                value == null ? null : UriUtils.decode(value, StandardCharsets.UTF_8))));
+
+        BatchSubRequest subRequest = new BatchSubRequest(request, origin, operation.getMethod(), path,
+                uri.getQuery(), queryParams, body, operation.getIdempotencyKey());
+        BatchSubResponse subResponse = new BatchSubResponse(response);
+        DispatcherServlet servlet = dispatcherServlet.getObject();
+        try {
+            operationFilters().doFilter(subRequest, subResponse, (req, res) -> service(servlet, req, res));
+        } catch (Exception ex) {
+            log.error("Batch operation {} failed: {} {}", operation.getId(), operation.getMethod(), path, ex);
+            return BatchService.error(operation.getId(), HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+        }
+        return toResult(operation.getId(), subResponse);
+    }
+
+    private void service(DispatcherServlet servlet, ServletRequest request, ServletResponse response)
+            throws ServletException, IOException {
+        // Чтения ничего не коммитят; атомарный пакет уже выполняется в своей транзакции
+        if (!BatchDeadline.isBound() || HttpMethod.GET.matches(((HttpServletRequest) request).getMethod())) {
+            servlet.service(request, response);
+            return;
+        }
+
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                servlet.service(request, response);
+                if (httpResponse.getStatus() >= 400) {
+                    status.setRollbackOnly();
+                } else if (!BatchDeadline.tryCommit()) {
+                    // Клиенту уже ответили 504: изменения не применяются, ответ операции заменяется
+                    status.setRollbackOnly();
+                    httpResponse.reset();
+                    ErrorResponses.write(httpResponse, HttpStatus.GATEWAY_TIMEOUT, BatchService.TIMED_OUT_MESSAGE);
+                }
+            } catch (ServletException | IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    // Фильтры зарегистрированы один раз при старте; выключенные политики не попадают в цепочку
+    private CompositeFilter operationFilters() {
+        CompositeFilter filters = operationFilters;
+        if (filters == null) {
+            filters = new CompositeFilter();
+            filters.setFilters(filterRegistrations.orderedStream()
+                    .filter(FilterRegistrationBean::isEnabled)
+                    .map(FilterRegistrationBean::getFilter)
+                    .filter(filter -> OPERATION_FILTERS.contains(filter.getClass()))
+                    .toList());
+            operationFilters = filters;
+        }
+        return filters;
+    }
+
+    private BatchResultDto toResult(String id, BatchSubResponse subResponse) {
+        byte[] body = subResponse.body();
+        if (body.length == 0) {
+            return new BatchResultDto(id, subResponse.status(), null);
+        }
+        String text = new String(body, subResponse.charset());
+        if (subResponse.isJson()) {
+            return new BatchResultDto(id, subResponse.status(), text);
+        }
+        try {
+            // Не-JSON тело передается строкой
+            return new BatchResultDto(id, subResponse.status(), objectMapper.writeValueAsString(text));
+        } catch (JsonProcessingException ex) {
+            return BatchService.error(id, HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+        }
+    }
+
+}
@@ -0,0 +1,277 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.exception.ErrorResponses;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ответ одной операции пакета: статус, заголовки и тело копятся в памяти и не попадают в исходный ответ.
+ */
+class BatchSubResponse extends HttpServletResponseWrapper {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream(1024);
+    private final ServletOutputStream outputStream = new ServletOutputStream() {
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking writes are not supported in batch operations");
+        }
+
+        @Override
+        public void write(int b) {
+            content.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            content.write(b, off, len);
+        }
+    };
+
+    private int status = HttpServletResponse.SC_OK;
+    private String errorMessage;
+    private String contentType;
+    private String characterEncoding = StandardCharsets.UTF_8.name();
+    private PrintWriter writer;
+
+    BatchSubResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    int status() {
+        return status;
+    }
+
+    boolean isJson() {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+                || (mediaType.getSubtype() != null && mediaType.getSubtype().endsWith("+json"));
+    }
+
+    Charset charset() {
+        return Charset.forName(characterEncoding);
+    }
+
+    // Тело ответа; для sendError без тела — стандартный JSON ошибки, как у GlobalExceptionHandler
+    byte[] body() {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (content.size() == 0 && status >= 400 && errorMessage != null) {
+            contentType = MediaType.APPLICATION_JSON_VALUE;
+            return ErrorResponses.render(status, errorMessage, null);
+        }
+        return content.toByteArray();
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        this.status = sc;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int sc, String msg) {
+        this.status = sc;
+        this.errorMessage = msg;
+    }
+
+    @Override
+    public void sendError(int sc) {
+        HttpStatus httpStatus = HttpStatus.resolve(sc);
+        sendError(sc, httpStatus == null ? "Error" : httpStatus.getReasonPhrase());
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        this.status = HttpServletResponse.SC_FOUND;
+        headers.set(HttpHeaders.LOCATION, location);
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else {
+            headers.set(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else {
+            headers.add(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        headers.set(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        headers.add(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        headers.setDate(name, date);
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        headers.setDate(name, date);
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) ? contentType : headers.getFirst(name);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return values == null ? List.of() : values;
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return headers.keySet();
+    }
+
+    @Override
+    public void setContentType(String type) {
+        this.contentType = type;
+        if (type != null) {
+            MediaType mediaType = MediaType.parseMediaType(type);
+            if (mediaType.getCharset() != null) {
+                this.characterEncoding = mediaType.getCharset().name();
+            }
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        if (charset != null) {
+            this.characterEncoding = charset;
+        }
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        // Длина определяется по накопленному телу
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        // Длина определяется по накопленному телу
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(content, charset()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        status = HttpServletResponse.SC_OK;
+        errorMessage = null;
+        contentType = null;
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+        content.reset();
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        // Буфер в памяти не ограничен
+    }
+
+    @Override
+    public int getBufferSize() {
+        return content.size();
+    }
+
+    @Override
+    public void setLocale(Locale locale) {
+        // Локаль ответа операции не используется
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        // API без сессий и cookie
+    }
+
+}
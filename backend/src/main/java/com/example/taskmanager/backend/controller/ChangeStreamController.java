@@ -0,0 +1,28 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.service.ChangeFeedService;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stream")
+public class ChangeStreamController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeStreamController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    // Лента изменений задач и комментариев, доступных пользователю (администратор видит все)
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(Authentication authentication,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        return changeFeedService.subscribe(authentication.getName(), admin, lastEventId);
+    }
+
+}
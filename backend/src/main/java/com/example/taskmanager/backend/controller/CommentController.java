@@ -4,11 +4,13 @@ import com.example.taskmanager.backend.dto.CommentDto;
 import com.example.taskmanager.backend.dto.CommentRequestDto;
 import com.example.taskmanager.backend.service.CommentService;
 import com.example.taskmanager.backend.validation.CommentValidation;
+import com.example.taskmanager.backend.validation.FieldsValidation;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -37,6 +39,12 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
+    // Комментарии задачи только с запрошенными полями: ?fields=id,content,createdAt
+    @GetMapping(value = "/task/{taskId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getCommentsByTaskId(@PathVariable Long taskId, @RequestParam String fields) {
+        return ResponseEntity.ok(commentService.getCommentsByTaskId(taskId, FieldsValidation.parse(fields)));
+    }
+
     // Обновить комментарий
     @PutMapping("/{commentId}")
     public ResponseEntity<CommentDto> updateComment(
@@ -0,0 +1,73 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.dto.CommentDto;
+import com.example.taskmanager.backend.dto.TaskDto;
+import com.example.taskmanager.backend.dto.UserProfileDto;
+import com.example.taskmanager.backend.service.ReactiveCommentService;
+import com.example.taskmanager.backend.service.ReactiveTaskService;
+import com.example.taskmanager.backend.service.ReactiveUserService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Неблокирующее API чтения: те же ответы, что у /api/tasks, /api/comments и /api/users/profile,
+ * но поток Tomcat освобождается на время запроса к базе через R2DBC.
+ */
+@RestController
+@RequestMapping("/api/rx")
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveReadController {
+
+    private final ReactiveTaskService taskService;
+    private final ReactiveCommentService commentService;
+    private final ReactiveUserService userService;
+
+    public ReactiveReadController(ReactiveTaskService taskService, ReactiveCommentService commentService,
+                                  ReactiveUserService userService) {
+        this.taskService = taskService;
+        this.commentService = commentService;
+        this.userService = userService;
+    }
+
+    @GetMapping("/tasks")
+    public Flux<TaskDto> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    @GetMapping("/tasks/filter/status")
+    public Flux<TaskDto> filterByStatus(@RequestParam String status) {
+        return taskService.filterByStatus(status);
+    }
+
+    @GetMapping("/tasks/filter/priority")
+    public Flux<TaskDto> filterByPriority(@RequestParam String priority) {
+        return taskService.filterByPriority(priority);
+    }
+
+    @GetMapping("/tasks/filter/deadline")
+    public Flux<TaskDto> filterByDeadline(@RequestParam LocalDate deadline) {
+        return taskService.findByDeadlineBefore(deadline);
+    }
+
+    @GetMapping("/tasks/search")
+    public Flux<TaskDto> searchTasks(@RequestParam String query) {
+        return taskService.searchTasks(query);
+    }
+
+    @GetMapping("/comments/task/{taskId}")
+    public Flux<CommentDto> getCommentsByTaskId(@PathVariable Long taskId) {
+        return commentService.getCommentsByTaskId(taskId);
+    }
+
+    // Имя пользователя берется на потоке запроса: SecurityContext не доступен внутри реактивной цепочки
+    @GetMapping("/users/profile")
+    public Mono<UserProfileDto> getProfile(Authentication authentication) {
+        return userService.getUserProfile(authentication.getName());
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.dto.SyncResponseDto;
+import com.example.taskmanager.backend.service.SyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    // since=0 — первая полная загрузка; дальше клиент передает watermark из предыдущего ответа.
+    // 410 Gone — since старше срока хранения удалений, нужна полная загрузка заново
+    @GetMapping
+    public ResponseEntity<SyncResponseDto> sync(@RequestParam(defaultValue = "0") long since,
+                                                Authentication authentication) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since cannot be negative");
+        }
+        return ResponseEntity.ok(syncService.changesSince(authentication.getName(), since));
+    }
+
+}
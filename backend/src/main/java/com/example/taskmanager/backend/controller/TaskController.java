@@ -3,6 +3,7 @@ package com.example.taskmanager.backend.controller;
 import com.example.taskmanager.backend.dto.TaskDto;
 import com.example.taskmanager.backend.dto.TaskRequestDto;
 import com.example.taskmanager.backend.service.TaskService;
+import com.example.taskmanager.backend.validation.FieldsValidation;
 import com.example.taskmanager.backend.validation.TaskValidation;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -75,4 +77,33 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    // Sparse fieldsets: ?fields=id,title,status — из базы читаются и в ответ попадают только эти поля
+
+    @GetMapping(value = "/filter/status", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> filterByStatus(@RequestParam String status, @RequestParam String fields) {
+        TaskValidation.validateStatus(status);
+        return ResponseEntity.ok(taskService.filterByStatus(status, FieldsValidation.parse(fields)));
+    }
+
+    @GetMapping(value = "/filter/priority", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> filterByPriority(@RequestParam String priority, @RequestParam String fields) {
+        TaskValidation.validatePriority(priority);
+        return ResponseEntity.ok(taskService.filterByPriority(priority, FieldsValidation.parse(fields)));
+    }
+
+    @GetMapping(value = "/filter/deadline", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> filterByDeadline(@RequestParam LocalDate deadline, @RequestParam String fields) {
+        return ResponseEntity.ok(taskService.findByDeadlineBefore(deadline, FieldsValidation.parse(fields)));
+    }
+
+    @GetMapping(value = "/search", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> searchTasks(@RequestParam String query, @RequestParam String fields) {
+        return ResponseEntity.ok(taskService.searchTasks(query, FieldsValidation.parse(fields)));
+    }
+
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllTasks(@RequestParam String fields) {
+        return ResponseEntity.ok(taskService.getAllTasks(FieldsValidation.parse(fields)));
+    }
+
 }
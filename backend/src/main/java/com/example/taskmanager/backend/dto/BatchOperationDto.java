@@ -0,0 +1,87 @@
+package com.example.taskmanager.backend.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchOperationDto {
+
+    // Если не задан, используется порядковый номер операции
+    private String id;
+
+    @NotBlank(message = "method cannot be empty")
+    private String method;
+
+    // Путь с query-строкой, например /api/tasks?fields=id,title
+    @NotBlank(message = "path cannot be empty")
+    private String path;
+
+    private JsonNode body;
+
+    // Id операций выше по списку, которые должны завершиться успешно до этой
+    private List<String> dependsOn = new ArrayList<>();
+
+    // Idempotency-Key операции; заголовок самого запроса /api/batch в операции не передается
+    private String idempotencyKey;
+
+    public BatchOperationDto() {}
+
+    public BatchOperationDto(String id, String method, String path, JsonNode body, List<String> dependsOn) {
+        this.id = id;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+        this.dependsOn = dependsOn;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public JsonNode getBody() {
+        return body;
+    }
+
+    public void setBody(JsonNode body) {
+        this.body = body;
+    }
+
+    public List<String> getDependsOn() {
+        return dependsOn;
+    }
+
+    public void setDependsOn(List<String> dependsOn) {
+        this.dependsOn = dependsOn;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+}
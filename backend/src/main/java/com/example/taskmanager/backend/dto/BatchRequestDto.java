@@ -0,0 +1,40 @@
+package com.example.taskmanager.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+// Несколько запросов к API за один round trip; atomic — все изменения в одной транзакции
+public class BatchRequestDto {
+
+    @NotEmpty(message = "operations cannot be empty")
+    @Valid
+    private List<BatchOperationDto> operations;
+
+    private boolean atomic;
+
+    public BatchRequestDto() {}
+
+    public BatchRequestDto(List<BatchOperationDto> operations, boolean atomic) {
+        this.operations = operations;
+        this.atomic = atomic;
+    }
+
+    public List<BatchOperationDto> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BatchOperationDto> operations) {
+        this.operations = operations;
+    }
+
+    public boolean isAtomic() {
+        return atomic;
+    }
+
+    public void setAtomic(boolean atomic) {
+        this.atomic = atomic;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.example.taskmanager.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Результаты в порядке операций запроса; committed заполняется только для atomic-пакета
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResponseDto {
+
+    private Boolean committed;
+    private List<BatchResultDto> results;
+
+    public BatchResponseDto() {}
+
+    public BatchResponseDto(Boolean committed, List<BatchResultDto> results) {
+        this.committed = committed;
+        this.results = results;
+    }
+
+    public Boolean getCommitted() {
+        return committed;
+    }
+
+    public void setCommitted(Boolean committed) {
+        this.committed = committed;
+    }
+
+    public List<BatchResultDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchResultDto> results) {
+        this.results = results;
+    }
+
+}
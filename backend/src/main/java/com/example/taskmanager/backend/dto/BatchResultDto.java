@@ -0,0 +1,46 @@
+package com.example.taskmanager.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+public class BatchResultDto {
+
+    private String id;
+    private int status;
+
+    // Тело ответа операции в виде готового JSON, без повторного разбора
+    @JsonRawValue
+    private String body;
+
+    public BatchResultDto() {}
+
+    public BatchResultDto(String id, int status, String body) {
+        this.id = id;
+        this.status = status;
+        this.body = body;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanager.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Компактное событие ленты изменений: клиент по нему перечитывает только затронутую задачу или комментарии
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEventDto {
+
+    private String entity;
+    private String action;
+    private Long taskId;
+    private Long commentId;
+
+    public ChangeEventDto() {}
+
+    public ChangeEventDto(String entity, String action, Long taskId, Long commentId) {
+        this.entity = entity;
+        this.action = action;
+        this.taskId = taskId;
+        this.commentId = commentId;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(Long commentId) {
+        this.commentId = commentId;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.example.taskmanager.backend.dto;
+
+public class SharedTaskDto {
+
+    private Long id;
+    private Long taskId;
+    private Long sharedWithUserId;
+
+    public SharedTaskDto() {}
+
+    public SharedTaskDto(Long id, Long taskId, Long sharedWithUserId) {
+        this.id = id;
+        this.taskId = taskId;
+        this.sharedWithUserId = sharedWithUserId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getSharedWithUserId() {
+        return sharedWithUserId;
+    }
+
+    public void setSharedWithUserId(Long sharedWithUserId) {
+        this.sharedWithUserId = sharedWithUserId;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.example.taskmanager.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Медленный запрос для /api/admin/slow-queries; значения строковых параметров скрыты
+public class SlowQueryDto {
+
+    private LocalDateTime executedAt;
+    private double durationMs;
+    private String sql;
+    private String parameters;
+    private String service;
+    private String repository;
+    // План PostgreSQL (EXPLAIN); null, пока не снят или на другой СУБД
+    private String plan;
+
+    public SlowQueryDto() {}
+
+    public SlowQueryDto(LocalDateTime executedAt, double durationMs, String sql, String parameters,
+                        String service, String repository, String plan) {
+        this.executedAt = executedAt;
+        this.durationMs = durationMs;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.service = service;
+        this.repository = repository;
+        this.plan = plan;
+    }
+
+    public LocalDateTime getExecutedAt() {
+        return executedAt;
+    }
+
+    public void setExecutedAt(LocalDateTime executedAt) {
+        this.executedAt = executedAt;
+    }
+
+    public double getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(double durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(String parameters) {
+        this.parameters = parameters;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public void setService(String service) {
+        this.service = service;
+    }
+
+    public String getRepository() {
+        return repository;
+    }
+
+    public void setRepository(String repository) {
+        this.repository = repository;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public void setPlan(String plan) {
+        this.plan = plan;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.example.taskmanager.backend.dto;
+
+import java.util.List;
+
+// Изменения с момента since; watermark передается клиентом в следующий запрос
+public class SyncResponseDto {
+
+    private long watermark;
+    private List<TaskDto> tasks;
+    private List<CommentDto> comments;
+    private List<SharedTaskDto> shares;
+    private List<TombstoneDto> deleted;
+
+    public SyncResponseDto() {}
+
+    public SyncResponseDto(long watermark, List<TaskDto> tasks, List<CommentDto> comments, List<SharedTaskDto> shares, List<TombstoneDto> deleted) {
+        this.watermark = watermark;
+        this.tasks = tasks;
+        this.comments = comments;
+        this.shares = shares;
+        this.deleted = deleted;
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(long watermark) {
+        this.watermark = watermark;
+    }
+
+    public List<TaskDto> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskDto> tasks) {
+        this.tasks = tasks;
+    }
+
+    public List<CommentDto> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<CommentDto> comments) {
+        this.comments = comments;
+    }
+
+    public List<SharedTaskDto> getShares() {
+        return shares;
+    }
+
+    public void setShares(List<SharedTaskDto> shares) {
+        this.shares = shares;
+    }
+
+    public List<TombstoneDto> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<TombstoneDto> deleted) {
+        this.deleted = deleted;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.example.taskmanager.backend.dto;
+
+// Удаленная запись: клиент убирает ее из локальной копии
+public class TombstoneDto {
+
+    private String entity;
+    private Long id;
+
+    public TombstoneDto() {}
+
+    public TombstoneDto(String entity, Long id) {
+        this.entity = entity;
+        this.id = id;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+}
@@ -3,7 +3,9 @@ package com.example.taskmanager.backend.exception;
 public class BusinessException extends RuntimeException {
 
     public BusinessException(String message) {
-        super(message);
+        // Исключения предметной области — это обычный поток управления (404/401),
+        // поэтому стек вызовов не заполняется: он дорогой и в ответе не нужен
+        super(message, null, false, false);
     }
 
 }
@@ -1,6 +1,6 @@
 package com.example.taskmanager.backend.exception;
 
-public class CommentNotFoundException extends RuntimeException {
+public class CommentNotFoundException extends BusinessException {
 
     public CommentNotFoundException(String message) {
         super(message);
@@ -0,0 +1,120 @@
+package com.example.taskmanager.backend.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Готовые JSON-тела {@link ErrorResponse} для частых ошибок (404/401/403).
+ * <p>
+ * Для каждой пары статус/сообщение один раз сериализуется шаблон, а на каждый ответ
+ * подставляются только время и details — без ObjectMapper и без создания ErrorResponse.
+ */
+public final class ErrorResponses {
+
+    private static final int MAX_TEMPLATES = 256;
+
+    private static final byte[] PREFIX = "{\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DETAILS_NULL = "null".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "}".getBytes(StandardCharsets.UTF_8);
+
+    private static final Map<TemplateKey, byte[]> TEMPLATES = new ConcurrentHashMap<>();
+
+    // Время форматируется не чаще раза в миллисекунду
+    private static volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(Long.MIN_VALUE, new byte[0]);
+
+    private ErrorResponses() {}
+
+    public static ResponseEntity<byte[]> toResponseEntity(HttpStatus status, String message, String details) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(render(status.value(), message, details));
+    }
+
+    public static void write(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        byte[] body = render(status.value(), message, null);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    public static byte[] render(int status, String message, String details) {
+        byte[] timestamp = timestamp();
+        byte[] middle = template(status, message);
+        byte[] detailsJson = details == null ? DETAILS_NULL : quote(details);
+
+        byte[] body = new byte[PREFIX.length + timestamp.length + middle.length + detailsJson.length + SUFFIX.length];
+        int offset = 0;
+        System.arraycopy(PREFIX, 0, body, offset, PREFIX.length);
+        offset += PREFIX.length;
+        System.arraycopy(timestamp, 0, body, offset, timestamp.length);
+        offset += timestamp.length;
+        System.arraycopy(middle, 0, body, offset, middle.length);
+        offset += middle.length;
+        System.arraycopy(detailsJson, 0, body, offset, detailsJson.length);
+        offset += detailsJson.length;
+        System.arraycopy(SUFFIX, 0, body, offset, SUFFIX.length);
+        return body;
+    }
+
+    // ","status":404,"message":"Task not found","details":
+    private static byte[] template(int status, String message) {
+        TemplateKey key = new TemplateKey(status, message);
+        byte[] template = TEMPLATES.get(key);
+        if (template != null) {
+            return template;
+        }
+        template = buildTemplate(status, message);
+        // Сообщения с пользовательскими данными не должны раздувать кеш
+        if (TEMPLATES.size() < MAX_TEMPLATES) {
+            TEMPLATES.putIfAbsent(key, template);
+        }
+        return template;
+    }
+
+    private static byte[] buildTemplate(int status, String message) {
+        String messageJson = message == null
+                ? "null"
+                : "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(message)) + "\"";
+        return ("\",\"status\":" + status + ",\"message\":" + messageJson + ",\"details\":")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] quote(String value) {
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        byte[] quoted = new byte[escaped.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    private static byte[] timestamp() {
+        long now = System.currentTimeMillis();
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached.millis == now) {
+            return cached.formatted;
+        }
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+        byte[] formatted = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime).getBytes(StandardCharsets.UTF_8);
+        cachedTimestamp = new CachedTimestamp(now, formatted);
+        return formatted;
+    }
+
+    private record TemplateKey(int status, String message) {}
+
+    private record CachedTimestamp(long millis, byte[] formatted) {}
+
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanager.backend.exception;
+
+// Изменения после since уже частично удалены из хранилища: клиенту нужна полная загрузка (since=0)
+public class FullResyncRequiredException extends BusinessException {
+
+    public FullResyncRequiredException(String message) {
+        super(message);
+    }
+
+}
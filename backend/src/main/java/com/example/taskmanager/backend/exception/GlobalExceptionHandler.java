@@ -4,6 +4,7 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -25,15 +26,9 @@ public class GlobalExceptionHandler {
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
     @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex, WebRequest request) {
+    public ResponseEntity<byte[]> handleBusinessException(BusinessException ex, WebRequest request) {
         logger.error("Business exception occurred: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.BAD_REQUEST.value(),
-                ex.getMessage(),
-                request.getDescription(false)
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ErrorResponses.toResponseEntity(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getDescription(false));
     }
 
     @ExceptionHandler(TechnicalException.class)
@@ -50,51 +45,27 @@ public class GlobalExceptionHandler {
 
 
     @ExceptionHandler(CommentNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleCommentNotFoundException(CommentNotFoundException ex) {
+    public ResponseEntity<byte[]> handleCommentNotFoundException(CommentNotFoundException ex) {
         logger.error("Comment not found occurred: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                ex.getMessage(),
-                null
-        );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return ErrorResponses.toResponseEntity(HttpStatus.NOT_FOUND, ex.getMessage(), null);
     }
 
     @ExceptionHandler(TaskNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleTaskNotFoundException(TaskNotFoundException ex) {
+    public ResponseEntity<byte[]> handleTaskNotFoundException(TaskNotFoundException ex) {
         logger.error("Task not found occurred: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                ex.getMessage(),
-                null
-        );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return ErrorResponses.toResponseEntity(HttpStatus.NOT_FOUND, ex.getMessage(), null);
     }
 
     @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleUserNotFoundException(UserNotFoundException ex) {
+    public ResponseEntity<byte[]> handleUserNotFoundException(UserNotFoundException ex) {
         logger.error("User not found occurred: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                ex.getMessage(),
-                null
-        );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return ErrorResponses.toResponseEntity(HttpStatus.NOT_FOUND, ex.getMessage(), null);
     }
 
     @ExceptionHandler(InvalidTokenException.class)
-    public ResponseEntity<ErrorResponse> handleInvalidTokenException(InvalidTokenException ex, WebRequest request) {
+    public ResponseEntity<byte[]> handleInvalidTokenException(InvalidTokenException ex, WebRequest request) {
         logger.error("Invalid token exception occurred: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.UNAUTHORIZED.value(),
-                ex.getMessage(),
-                request.getDescription(false)
-        );
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        return ErrorResponses.toResponseEntity(HttpStatus.UNAUTHORIZED, ex.getMessage(), request.getDescription(false));
     }
 
     @ExceptionHandler(EntityNotFoundException.class)
@@ -154,39 +125,21 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(BadCredentialsException.class)
-    public ResponseEntity<ErrorResponse> handleBadCredentialsException(BadCredentialsException ex) {
+    public ResponseEntity<byte[]> handleBadCredentialsException(BadCredentialsException ex) {
         logger.error("Bad credential exception occurred: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.UNAUTHORIZED.value(),
-                "Unauthorized: " + ex.getMessage(),
-                null
-        );
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        return ErrorResponses.toResponseEntity(HttpStatus.UNAUTHORIZED, "Unauthorized: " + ex.getMessage(), null);
     }
 
     @ExceptionHandler(AuthenticationException.class)
-    public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException ex, WebRequest request) {
+    public ResponseEntity<byte[]> handleAuthenticationException(AuthenticationException ex, WebRequest request) {
         logger.error("Authentication exception occurred: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.UNAUTHORIZED.value(),
-                "Authentication failed: " + ex.getMessage(),
-                request.getDescription(false)
-        );
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        return ErrorResponses.toResponseEntity(HttpStatus.UNAUTHORIZED, "Authentication failed: " + ex.getMessage(), request.getDescription(false));
     }
 
     @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex) {
+    public ResponseEntity<byte[]> handleAccessDeniedException(AccessDeniedException ex) {
         logger.error("Access denied exception occurred: {}", ex.getMessage(), ex);
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.FORBIDDEN.value(),
-                "Access Denied: " + ex.getMessage(),
-                null
-        );
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        return ErrorResponses.toResponseEntity(HttpStatus.FORBIDDEN, "Access Denied: " + ex.getMessage(), null);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
@@ -226,39 +179,41 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(LockedException.class)
-    public ResponseEntity<ErrorResponse> handleLockedException(LockedException ex) {
+    public ResponseEntity<byte[]> handleLockedException(LockedException ex) {
         logger.error("Locked exception occurred: {}", ex.getMessage(), ex);
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.FORBIDDEN.value(),
-                "Access Denied: " + ex.getMessage(),
-                null
-        );
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        return ErrorResponses.toResponseEntity(HttpStatus.FORBIDDEN, "Access Denied: " + ex.getMessage(), null);
     }
 
     @ExceptionHandler(UserAlreadyExistsException.class)
-    public ResponseEntity<ErrorResponse> handleUserAlreadyExistsException(UserAlreadyExistsException ex) {
+    public ResponseEntity<byte[]> handleUserAlreadyExistsException(UserAlreadyExistsException ex) {
         logger.error("User already exists exception occurred: {}", ex.getMessage(), ex);
-        ErrorResponse error = new ErrorResponse(
-                LocalDateTime.now(),
-                HttpStatus.CONFLICT.value(),
-                ex.getMessage(),
-                null
-        );
-        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        return ErrorResponses.toResponseEntity(HttpStatus.CONFLICT, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(FullResyncRequiredException.class)
+    public ResponseEntity<byte[]> handleFullResyncRequiredException(FullResyncRequiredException ex) {
+        logger.info("Full resync required: {}", ex.getMessage());
+        return ErrorResponses.toResponseEntity(HttpStatus.GONE, ex.getMessage(), null);
     }
 
     @ExceptionHandler(InvalidCredentialsException.class)
-    public ResponseEntity<ErrorResponse> handleInvalidCredentialsException(InvalidCredentialsException ex) {
+    public ResponseEntity<byte[]> handleInvalidCredentialsException(InvalidCredentialsException ex) {
         logger.error("InvalidCredentials exception occurred: {}", ex.getMessage(), ex);
+        return ErrorResponses.toResponseEntity(HttpStatus.UNAUTHORIZED, ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        logger.warn("Service unavailable: {}", ex.getMessage());
         ErrorResponse error = new ErrorResponse(
                 LocalDateTime.now(),
-                HttpStatus.UNAUTHORIZED.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
                 ex.getMessage(),
                 null
         );
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
     }
 
     @ExceptionHandler(RuntimeException.class)
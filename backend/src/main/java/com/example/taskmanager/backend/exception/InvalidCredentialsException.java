@@ -1,6 +1,6 @@
 package com.example.taskmanager.backend.exception;
 
-public class InvalidCredentialsException extends RuntimeException {
+public class InvalidCredentialsException extends BusinessException {
 
     public InvalidCredentialsException(String message) {
         super(message);
@@ -1,6 +1,6 @@
 package com.example.taskmanager.backend.exception;
 
-public class InvalidTokenException extends RuntimeException {
+public class InvalidTokenException extends BusinessException {
 
     public InvalidTokenException(String message) {
         super(message);
@@ -1,6 +1,6 @@
 package com.example.taskmanager.backend.exception;
 
-public class TaskNotFoundException extends RuntimeException {
+public class TaskNotFoundException extends BusinessException {
 
     public TaskNotFoundException(String message) {
         super(message);
@@ -1,6 +1,6 @@
 package com.example.taskmanager.backend.exception;
 
-public class UserAlreadyExistsException extends RuntimeException {
+public class UserAlreadyExistsException extends BusinessException {
 
     public UserAlreadyExistsException(String message) {
         super(message);
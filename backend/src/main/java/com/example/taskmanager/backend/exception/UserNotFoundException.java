@@ -1,6 +1,6 @@
 package com.example.taskmanager.backend.exception;
 
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends BusinessException {
 
     public UserNotFoundException(String message) {
         super(message);
@@ -0,0 +1,48 @@
+package com.example.taskmanager.backend.jdbc;
+
+/**
+ * Откуда выполняется запрос: внешний метод сервиса и внешний вызов репозитория в текущем потоке.
+ * Заполняется {@link SlowQueryContextAspect}; вне сервисов и репозиториев оба значения null.
+ */
+public final class SlowQueryContext {
+
+    private static final ThreadLocal<String> SERVICE = new ThreadLocal<>();
+    private static final ThreadLocal<String> REPOSITORY = new ThreadLocal<>();
+
+    private SlowQueryContext() {
+    }
+
+    public static String service() {
+        return SERVICE.get();
+    }
+
+    public static String repository() {
+        return REPOSITORY.get();
+    }
+
+    // Возвращают true, если вызов внешний и значение нужно снять в exit
+    static boolean enterService(String method) {
+        return enter(SERVICE, method);
+    }
+
+    static void exitService() {
+        SERVICE.remove();
+    }
+
+    static boolean enterRepository(String method) {
+        return enter(REPOSITORY, method);
+    }
+
+    static void exitRepository() {
+        REPOSITORY.remove();
+    }
+
+    private static boolean enter(ThreadLocal<String> holder, String method) {
+        if (holder.get() != null) {
+            return false;
+        }
+        holder.set(method);
+        return true;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.example.taskmanager.backend.jdbc;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Запоминает внешний метод сервиса и вызов репозитория задач, комментариев, пользователей
+ * и общих задач — по ним {@link SlowQueryDataSource} решает, проверять ли запрос, и подписывает его в логе.
+ */
+@Aspect
+public class SlowQueryContextAspect {
+
+    private static final String REPOSITORY_PACKAGE = "com.example.taskmanager.backend.repository";
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean outermost = SlowQueryContext.enterService(serviceName(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (outermost) {
+                SlowQueryContext.exitService();
+            }
+        }
+    }
+
+    @Around("target(com.example.taskmanager.backend.repository.TaskRepository)"
+            + " || target(com.example.taskmanager.backend.repository.CommentRepository)"
+            + " || target(com.example.taskmanager.backend.repository.UserRepository)"
+            + " || target(com.example.taskmanager.backend.repository.SharedTaskRepository)")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean outermost = SlowQueryContext.enterRepository(repositoryName(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (outermost) {
+                SlowQueryContext.exitRepository();
+            }
+        }
+    }
+
+    private static String serviceName(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getTarget().getClass().getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+
+    // У репозиториев Spring Data target — прокси: имя берем у интерфейса репозитория приложения
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        Class<?> type = joinPoint.getSignature().getDeclaringType();
+        for (Class<?> candidate : joinPoint.getTarget().getClass().getInterfaces()) {
+            if (candidate.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                type = candidate;
+                break;
+            }
+        }
+        return type.getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+
+}
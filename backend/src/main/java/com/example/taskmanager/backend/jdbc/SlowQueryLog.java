@@ -0,0 +1,191 @@
+package com.example.taskmanager.backend.jdbc;
+
+import com.example.taskmanager.backend.dto.SlowQueryDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Последние медленные запросы (кольцевой буфер) с планами выполнения.
+ * <p>
+ * В лог и буфер параметры попадают без значений строк и двоичных данных. Исходные значения нужны
+ * только для EXPLAIN: на PostgreSQL план снимается в отдельном потоке тем же запросом с теми же параметрами
+ * (без ANALYZE — запрос не выполняется повторно), после чего значения отбрасываются.
+ */
+public class SlowQueryLog implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final int MAX_SQL_LENGTH = 4000;
+
+    private final int capacity;
+    private final Deque<SlowQuery> recent;
+    private final ObjectProvider<DataSource> dataSource;
+    private final ThreadPoolExecutor explainer;
+    private final Counter slowQueries;
+
+    // null — СУБД еще не определена
+    private volatile Boolean postgres;
+
+    public SlowQueryLog(int capacity, boolean explain, ObjectProvider<DataSource> dataSource, MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.recent = new ArrayDeque<>(capacity);
+        this.dataSource = dataSource;
+        this.explainer = explain ? new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }) : null;
+        if (explainer != null) {
+            explainer.allowCoreThreadTimeOut(true);
+        }
+        this.slowQueries = Counter.builder("db.queries.slow")
+                .description("Statements slower than the slow query threshold")
+                .register(meterRegistry);
+    }
+
+    private static final class SlowQuery {
+
+        private final LocalDateTime executedAt = LocalDateTime.now();
+        private final String sql;
+        private final String parameters;
+        private final double durationMs;
+        private final String service;
+        private final String repository;
+        private volatile String plan;
+
+        private SlowQuery(String sql, String parameters, double durationMs, String service, String repository) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.durationMs = durationMs;
+            this.service = service;
+            this.repository = repository;
+        }
+
+    }
+
+    void record(String sql, Map<Integer, Object> parameters, long elapsedNanos, String service, String repository) {
+        if (sql == null) {
+            return;
+        }
+        String text = sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+        SlowQuery query = new SlowQuery(text, redact(parameters), elapsedNanos / 1_000_000.0, service, repository);
+        synchronized (recent) {
+            if (recent.size() == capacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(query);
+        }
+        slowQueries.increment();
+        log.warn("Slow query {} ms from {} via {}: {} parameters {}",
+                String.format(Locale.ROOT, "%.1f", query.durationMs), service, repository, text, query.parameters);
+
+        if (explainer != null && !Boolean.FALSE.equals(postgres) && isExplainable(sql)) {
+            try {
+                explainer.execute(() -> explain(query, sql, parameters));
+            } catch (RejectedExecutionException ex) {
+                // Очередь планов заполнена: запрос остается в буфере без плана
+            }
+        }
+    }
+
+    public List<SlowQueryDto> recent() {
+        List<SlowQueryDto> result = new ArrayList<>(capacity);
+        synchronized (recent) {
+            // Новые первыми
+            recent.descendingIterator().forEachRemaining(query -> result.add(new SlowQueryDto(
+                    query.executedAt, query.durationMs, query.sql, query.parameters,
+                    query.service, query.repository, query.plan)));
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        if (explainer != null) {
+            explainer.shutdownNow();
+        }
+    }
+
+    private void explain(SlowQuery query, String sql, Map<Integer, Object> parameters) {
+        try (Connection connection = dataSource.getObject().getConnection()) {
+            if (postgres == null) {
+                postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            }
+            if (!postgres) {
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                    statement.setObject(parameter.getKey(), parameter.getValue());
+                }
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                query.plan = plan.toString();
+                log.warn("Plan for slow query from {}:\n{}", query.service, query.plan);
+            }
+        } catch (SQLException | RuntimeException ex) {
+            log.debug("Could not explain slow query: {}", ex.getMessage());
+        }
+    }
+
+    private static boolean isExplainable(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith("select") || statement.startsWith("update")
+                || statement.startsWith("delete") || statement.startsWith("insert")
+                || statement.startsWith("with");
+    }
+
+    // Числа, флаги и даты показываются как есть, строки и двоичные данные — только типом и длиной
+    static String redact(Map<Integer, Object> parameters) {
+        StringJoiner result = new StringJoiner(", ", "[", "]");
+        parameters.forEach((index, value) -> result.add(index + ":" + redact(value)));
+        return result.toString();
+    }
+
+    private static String redact(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Temporal
+                || value instanceof Date || value instanceof Enum<?>) {
+            return String.valueOf(value);
+        }
+        if (value instanceof CharSequence text) {
+            return "<redacted " + text.length() + " chars>";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<redacted " + bytes.length + " bytes>";
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.example.taskmanager.backend.jfr;
+
+import com.example.taskmanager.backend.dto.CommentDto;
+import com.example.taskmanager.backend.dto.TaskDto;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * События JFR для CRUD задач и комментариев в сервисах и для вызовов репозиториев Spring Data.
+ * Поля заполняются только для событий, которые пишет запущенная запись.
+ */
+@Aspect
+public class JfrEventsAspect {
+
+    @Around("execution(* com.example.taskmanager.backend.service.TaskServiceImpl.*(..))")
+    public Object taskService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return serviceCall(joinPoint, "task");
+    }
+
+    @Around("execution(* com.example.taskmanager.backend.service.CommentServiceImpl.*(..))")
+    public Object commentService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return serviceCall(joinPoint, "comment");
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        Object result = null;
+        boolean success = false;
+        try {
+            result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repositoryName(joinPoint);
+                event.method = joinPoint.getSignature().getName();
+                event.resultSize = size(result);
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    private static Object serviceCall(ProceedingJoinPoint joinPoint, String entity) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        event.begin();
+        Object result = null;
+        boolean success = false;
+        try {
+            result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.service = joinPoint.getTarget().getClass().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.entity = entity;
+                event.entityId = entityId(joinPoint.getArgs(), result);
+                event.resultSize = size(result);
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    // Первый аргумент-id (taskId, commentId) или id созданной/обновленной записи
+    private static long entityId(Object[] args, Object result) {
+        for (Object arg : args) {
+            if (arg instanceof Long id) {
+                return id;
+            }
+        }
+        if (result instanceof TaskDto task && task.getId() != null) {
+            return task.getId();
+        }
+        if (result instanceof CommentDto comment && comment.getId() != null) {
+            return comment.getId();
+        }
+        return 0;
+    }
+
+    private static int size(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    // У репозиториев Spring Data target — прокси: имя берем у интерфейса репозитория приложения
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> candidate : joinPoint.getTarget().getClass().getInterfaces()) {
+            if (candidate.getPackageName().startsWith("com.example.taskmanager")) {
+                return candidate.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+}
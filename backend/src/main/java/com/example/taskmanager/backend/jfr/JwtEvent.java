@@ -0,0 +1,41 @@
+package com.example.taskmanager.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.taskmanager.Jwt")
+@Label("JWT")
+@Description("JWT signing and parsing with signature verification")
+@Category({"Task Manager", "Security"})
+@StackTrace(false)
+public class JwtEvent extends Event {
+
+    // sign или parse
+    @Label("Operation")
+    String operation;
+
+    // valid, expired или invalid
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Token Length")
+    int tokenLength;
+
+    public JwtEvent(String operation) {
+        this.operation = operation;
+    }
+
+    public void finish(String outcome, String token) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.tokenLength = token == null ? 0 : token.length();
+            commit();
+        }
+    }
+
+}
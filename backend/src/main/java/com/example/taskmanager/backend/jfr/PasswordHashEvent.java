@@ -0,0 +1,54 @@
+package com.example.taskmanager.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.taskmanager.PasswordHash")
+@Label("Password Hash")
+@Description("Password hashing and verification in AuthService")
+@Category({"Task Manager", "Security"})
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    // encode, matches или rehash
+    @Label("Operation")
+    String operation;
+
+    // Стоимость BCrypt из хеша; -1 для других форматов
+    @Label("Cost")
+    int cost;
+
+    @Label("Matched")
+    boolean matched;
+
+    public PasswordHashEvent(String operation) {
+        this.operation = operation;
+    }
+
+    public void finish(String hash, boolean matched) {
+        end();
+        if (shouldCommit()) {
+            this.cost = bcryptCost(hash);
+            this.matched = matched;
+            commit();
+        }
+    }
+
+    // Формат BCrypt: [{id}]$2a$10$..., стоимость — две цифры после второго $
+    static int bcryptCost(String hash) {
+        if (hash != null && hash.startsWith("{")) {
+            hash = hash.substring(hash.indexOf('}') + 1);
+        }
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return -1;
+        }
+        char tens = hash.charAt(4);
+        char units = hash.charAt(5);
+        return Character.isDigit(tens) && Character.isDigit(units) ? (tens - '0') * 10 + (units - '0') : -1;
+    }
+
+}
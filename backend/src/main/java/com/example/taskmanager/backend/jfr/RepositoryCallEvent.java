@@ -0,0 +1,30 @@
+package com.example.taskmanager.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.taskmanager.RepositoryCall")
+@Label("Repository Call")
+@Description("Spring Data repository invocation")
+@Category({"Task Manager", "Repository"})
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    // Размер результата-коллекции, 1 для одиночного значения, 0 для пустого
+    @Label("Result Size")
+    int resultSize;
+
+    @Label("Success")
+    boolean success;
+
+}
@@ -0,0 +1,36 @@
+package com.example.taskmanager.backend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.taskmanager.ServiceCall")
+@Label("Service Call")
+@Description("Task and comment CRUD in the service layer")
+@Category({"Task Manager", "Service"})
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Entity")
+    String entity;
+
+    // 0, если id нет ни в аргументах, ни в результате
+    @Label("Entity Id")
+    long entityId;
+
+    @Label("Result Size")
+    int resultSize;
+
+    @Label("Success")
+    boolean success;
+
+}
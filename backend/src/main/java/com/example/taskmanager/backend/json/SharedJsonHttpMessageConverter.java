@@ -0,0 +1,54 @@
+package com.example.taskmanager.backend.json;
+
+import com.example.taskmanager.backend.timing.RequestTimings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Пишет {@link SharedJsonList} готовыми байтами JSON. Остальные значения и форматы
+ * обрабатывают стандартные конвертеры.
+ */
+public class SharedJsonHttpMessageConverter extends AbstractHttpMessageConverter<SharedJsonList<?>> {
+
+    private final ObjectMapper objectMapper;
+
+    public SharedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SharedJsonList.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SharedJsonList<?> readInternal(Class<? extends SharedJsonList<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Shared JSON lists are write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(SharedJsonList<?> list, MediaType contentType) throws IOException {
+        // Первый вызов строит JSON: замер попадает в serialization
+        try (RequestTimings.Span ignored = RequestTimings.start("serialization")) {
+            return (long) list.toJson(objectMapper).length;
+        }
+    }
+
+    @Override
+    protected void writeInternal(SharedJsonList<?> list, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(list.toJson(objectMapper));
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.example.taskmanager.backend.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Неизменяемый список-результат, который отдается сразу нескольким запросам.
+ * JSON строится один раз и переиспользуется всеми ответами ({@link SharedJsonHttpMessageConverter}).
+ */
+public final class SharedJsonList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> elements;
+    private byte[] json;
+
+    public SharedJsonList(List<E> elements) {
+        this.elements = List.copyOf(elements);
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    // Первый ответ сериализует, остальные ждут и получают те же байты
+    public synchronized byte[] toJson(ObjectMapper objectMapper) throws JsonProcessingException {
+        if (json == null) {
+            json = objectMapper.writeValueAsBytes(elements);
+        }
+        return json;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.example.taskmanager.backend.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Метрики асинхронного конвейера логирования (профиль async-logging): заполненность буфера,
+ * отброшенные при переполнении и отсеянные сэмплированием события. Без профиля ничего не регистрирует.
+ */
+@Component
+public class LoggingPipelineMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)
+                .iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof RingBufferAsyncAppender async) {
+                Gauge.builder("logging.async.queue.size", async, RingBufferAsyncAppender::getQueueSize)
+                        .description("Log events waiting in the ring buffer")
+                        .tag("appender", async.getName())
+                        .register(registry);
+                FunctionCounter.builder("logging.async.dropped", async, RingBufferAsyncAppender::getDroppedCount)
+                        .description("Log events dropped because the ring buffer was full")
+                        .tag("appender", async.getName())
+                        .register(registry);
+            }
+        }
+
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter sampling) {
+                FunctionCounter.builder("logging.sampled.out", sampling, SamplingTurboFilter::getSampledOutCount)
+                        .description("Log events discarded by per-logger rate sampling")
+                        .register(registry);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.example.taskmanager.backend.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ограниченная очередь без блокировок для многих писателей и одного читателя (кольцевой буфер
+ * с последовательностями в ячейках). {@link #offer} никогда не ждет: при заполненном буфере возвращает false.
+ */
+public class MpscRingBuffer<E> {
+
+    private final Object[] slots;
+    // Номер позиции, для которой ячейка свободна (pos) или заполнена (pos + 1)
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Пишет только читатель; volatile — чтобы size() видели другие потоки
+    private volatile long head;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E element) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long difference = sequences.get(index) - pos;
+            if (difference == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index] = element;
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (difference < 0) {
+                // Ячейку еще не освободил читатель: буфер полон
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    // Только из потока-читателя
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long pos = head;
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) {
+            return null;
+        }
+        E element = (E) slots[index];
+        slots[index] = null;
+        sequences.set(index, pos + slots.length);
+        head = pos + 1;
+        return element;
+    }
+
+    public int size() {
+        return (int) Math.max(0, Math.min(slots.length, tail.get() - head));
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+}
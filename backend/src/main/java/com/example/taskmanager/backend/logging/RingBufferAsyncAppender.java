@@ -0,0 +1,201 @@
+package com.example.taskmanager.backend.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Асинхронный appender на {@link MpscRingBuffer}: поток запроса только кладет событие в буфер
+ * и никогда не ждет — ни блокировки, ни места в очереди. При заполненном буфере событие
+ * отбрасывается и учитывается в {@link #getDroppedCount()}. Запись в вложенные appender'ы
+ * выполняет один фоновый поток.
+ * <p>
+ * Вложенные appender'ы могут писать без flush на каждое событие ({@code immediateFlush=false}):
+ * фоновый поток сбрасывает их вывод, как только опустошил буфер. Без событий поток спит,
+ * пока его не разбудит следующее событие.
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    // Страховка от пропущенного сигнала; в остальное время простаивающий поток будит append
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private int capacity = 8192;
+    private long shutdownTimeoutMs = 1000;
+    private boolean includeCallerData;
+
+    private MpscRingBuffer<ILoggingEvent> buffer;
+    private Thread worker;
+    private volatile boolean running;
+    private volatile boolean idle;
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setShutdownTimeoutMs(long shutdownTimeoutMs) {
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    // Место вызова (класс и строка) дорого вычислять; по умолчанию не собирается
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getQueueSize() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to async appender [" + getName() + "]");
+            return;
+        }
+        buffer = new MpscRingBuffer<>(capacity);
+        running = true;
+        worker = new Thread(this::drainLoop, "logback-ring-" + getName());
+        worker.setDaemon(true);
+        worker.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Async appender [" + getName() + "] did not flush within " + shutdownTimeoutMs + " ms");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Сообщение, MDC и имя потока фиксируются сейчас: дальше событие обрабатывается в другом потоке
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+        } else if (idle) {
+            idle = false;
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void drainLoop() {
+        long reportedDrops = 0;
+        while (running) {
+            if (drain()) {
+                // Буфер пуст: записанное уходит на диск сейчас, а не когда заполнится буфер потока вывода
+                flush();
+            } else {
+                idle = true;
+                // Событие, добавленное до установки флага, не будит поток — проверяем еще раз перед сном
+                if (buffer.size() == 0 && running) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                idle = false;
+            }
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                addWarn("Async appender [" + getName() + "] dropped " + (drops - reportedDrops) + " events, buffer full");
+                reportedDrops = drops;
+            }
+        }
+        // Дописываем то, что осталось в буфере на момент остановки
+        drain();
+        flush();
+    }
+
+    private boolean drain() {
+        boolean drained = false;
+        ILoggingEvent event;
+        while ((event = buffer.poll()) != null) {
+            appenders.appendLoopOnAppenders(event);
+            drained = true;
+        }
+        return drained;
+    }
+
+    // Вывод пишет только этот поток (включая ротацию файла), поэтому flush не пересекается с записью
+    private void flush() {
+        Iterator<Appender<ILoggingEvent>> iterator = appenders.iteratorForAppenders();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof OutputStreamAppender<ILoggingEvent> appender
+                    && !appender.isImmediateFlush() && appender.getOutputStream() != null) {
+                try {
+                    appender.getOutputStream().flush();
+                } catch (IOException ex) {
+                    addWarn("Async appender [" + getName() + "] failed to flush [" + appender.getName() + "]", ex);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+
+}
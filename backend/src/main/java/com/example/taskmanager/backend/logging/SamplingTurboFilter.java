@@ -0,0 +1,103 @@
+package com.example.taskmanager.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ограничивает частоту событий каждого логгера: не больше {@code ratePerSecond} в секунду
+ * со всплеском до {@code burst}. Лишние события отбрасываются до форматирования сообщения.
+ * События уровня выше {@code maxSampledLevel} (по умолчанию WARN и ERROR) не сэмплируются никогда.
+ * <p>
+ * Лимит считается алгоритмом GCRA: на логгер одно AtomicLong с теоретическим временем
+ * следующего события, обновление — один CAS, без блокировок.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, AtomicLong> theoreticalArrival = new ConcurrentHashMap<>();
+    private final AtomicLong sampledOut = new AtomicLong();
+    private final LongSupplier clock;
+
+    private Level maxSampledLevel = Level.INFO;
+    private double ratePerSecond = 100;
+    private int burst = 200;
+
+    private long emissionIntervalNanos;
+    private long toleranceNanos;
+
+    public SamplingTurboFilter() {
+        this(System::nanoTime);
+    }
+
+    SamplingTurboFilter(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public void setMaxSampledLevel(String level) {
+        this.maxSampledLevel = Level.toLevel(level, Level.INFO);
+    }
+
+    public void setRatePerSecond(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.get();
+    }
+
+    @Override
+    public void start() {
+        if (ratePerSecond <= 0 || burst < 1) {
+            addError("ratePerSecond must be positive and burst at least 1");
+            return;
+        }
+        emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        toleranceNanos = emissionIntervalNanos * (burst - 1);
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format == null — проверка isDebugEnabled() и т.п., а не событие: лимит не расходуется
+        if (!isStarted() || format == null || level.toInt() > maxSampledLevel.toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        // Событие, которое логгер все равно отбросит по уровню, тоже не расходует лимит
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (tryAcquire(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    private boolean tryAcquire(String loggerName) {
+        AtomicLong arrival = theoreticalArrival.computeIfAbsent(loggerName, name -> new AtomicLong(Long.MIN_VALUE));
+        long now = clock.getAsLong();
+        while (true) {
+            long current = arrival.get();
+            long tat = current == Long.MIN_VALUE ? now : Math.max(current, now);
+            if (tat - now > toleranceNanos) {
+                return false;
+            }
+            if (arrival.compareAndSet(current, tat + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+}
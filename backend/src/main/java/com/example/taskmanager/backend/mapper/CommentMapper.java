@@ -2,8 +2,11 @@ package com.example.taskmanager.backend.mapper;
 
 import com.example.taskmanager.backend.dto.CommentDto;
 import com.example.taskmanager.backend.model.Comment;
+import io.r2dbc.spi.Readable;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
 @Component
 public class CommentMapper {
 
@@ -18,4 +21,16 @@ public class CommentMapper {
         );
     }
 
+    // Строка R2DBC-запроса комментариев, соединенных с users (колонка login)
+    public static CommentDto fromRow(Readable row) {
+        return new CommentDto(
+                row.get("id", Long.class),
+                row.get("task_id", Long.class),
+                row.get("user_id", Long.class),
+                row.get("login", String.class),
+                row.get("content", String.class),
+                row.get("created_at", LocalDateTime.class)
+        );
+    }
+
 }
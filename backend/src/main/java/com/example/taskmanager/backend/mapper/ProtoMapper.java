@@ -0,0 +1,198 @@
+package com.example.taskmanager.backend.mapper;
+
+import com.example.taskmanager.backend.dto.CommentDto;
+import com.example.taskmanager.backend.dto.TaskDto;
+import com.example.taskmanager.backend.dto.UserDto;
+import com.example.taskmanager.backend.dto.UserProfileDto;
+import com.example.taskmanager.backend.proto.Comment;
+import com.example.taskmanager.backend.proto.CommentList;
+import com.example.taskmanager.backend.proto.Task;
+import com.example.taskmanager.backend.proto.TaskList;
+import com.example.taskmanager.backend.proto.TaskPriority;
+import com.example.taskmanager.backend.proto.TaskStatus;
+import com.example.taskmanager.backend.proto.User;
+import com.example.taskmanager.backend.proto.UserList;
+import com.example.taskmanager.backend.proto.UserProfile;
+import com.google.protobuf.Message;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Преобразование DTO в сообщения из taskmanager.proto и обратно.
+ * <p>
+ * В proto3 у строк нет null, поэтому отсутствующие строки передаются пустыми,
+ * а отсутствующие даты — неустановленными optional-полями.
+ */
+public final class ProtoMapper {
+
+    private ProtoMapper() {}
+
+    public static boolean supports(Class<?> dtoClass) {
+        return dtoClass == TaskDto.class || dtoClass == CommentDto.class
+                || dtoClass == UserDto.class || dtoClass == UserProfileDto.class;
+    }
+
+    public static boolean supportsListOf(Class<?> elementType) {
+        return elementType == TaskDto.class || elementType == CommentDto.class || elementType == UserDto.class;
+    }
+
+    /**
+     * Сообщение для одиночного DTO либо список-обертка (TaskList, CommentList, UserList)
+     * для списка DTO с известным типом элементов.
+     */
+    public static Message toMessage(Object value, Class<?> elementType) {
+        if (value instanceof List<?> list) {
+            if (elementType == TaskDto.class) {
+                return toTaskList(cast(list));
+            }
+            if (elementType == CommentDto.class) {
+                return toCommentList(cast(list));
+            }
+            if (elementType == UserDto.class) {
+                return toUserList(cast(list));
+            }
+        } else if (value instanceof TaskDto task) {
+            return toProto(task);
+        } else if (value instanceof CommentDto comment) {
+            return toProto(comment);
+        } else if (value instanceof UserDto user) {
+            return toProto(user);
+        } else if (value instanceof UserProfileDto profile) {
+            return toProto(profile);
+        }
+        throw new IllegalArgumentException("No protobuf mapping for " + value.getClass().getName());
+    }
+
+    public static Task toProto(TaskDto dto) {
+        Task.Builder builder = Task.newBuilder()
+                .setId(orZero(dto.getId()))
+                .setTitle(orEmpty(dto.getTitle()))
+                .setDescription(orEmpty(dto.getDescription()))
+                .setUserId(orZero(dto.getUserId()));
+        if (dto.getStatus() != null) {
+            builder.setStatus(TaskStatus.valueOf(dto.getStatus()));
+        }
+        if (dto.getPriority() != null) {
+            builder.setPriority(TaskPriority.valueOf(dto.getPriority()));
+        }
+        if (dto.getDeadline() != null) {
+            builder.setDeadlineEpochDay(dto.getDeadline().toEpochDay());
+        }
+        return builder.build();
+    }
+
+    public static TaskDto fromProto(Task task) {
+        return new TaskDto(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus() == TaskStatus.TASK_STATUS_UNSPECIFIED ? null : task.getStatus().name(),
+                task.getPriority() == TaskPriority.TASK_PRIORITY_UNSPECIFIED ? null : task.getPriority().name(),
+                task.hasDeadlineEpochDay() ? LocalDate.ofEpochDay(task.getDeadlineEpochDay()) : null,
+                task.getUserId()
+        );
+    }
+
+    public static TaskList toTaskList(List<TaskDto> tasks) {
+        TaskList.Builder builder = TaskList.newBuilder();
+        for (TaskDto task : tasks) {
+            builder.addTasks(toProto(task));
+        }
+        return builder.build();
+    }
+
+    public static List<TaskDto> fromProto(TaskList taskList) {
+        List<TaskDto> tasks = new ArrayList<>(taskList.getTasksCount());
+        for (Task task : taskList.getTasksList()) {
+            tasks.add(fromProto(task));
+        }
+        return tasks;
+    }
+
+    public static Comment toProto(CommentDto dto) {
+        Comment.Builder builder = Comment.newBuilder()
+                .setId(orZero(dto.getId()))
+                .setTaskId(orZero(dto.getTaskId()))
+                .setUserId(orZero(dto.getUserId()))
+                .setUsername(orEmpty(dto.getUsername()))
+                .setContent(orEmpty(dto.getContent()));
+        if (dto.getCreatedAt() != null) {
+            // LocalDateTime без зоны: передаем "как есть", трактуя его как UTC
+            builder.setCreatedAtEpochMillis(dto.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        return builder.build();
+    }
+
+    public static CommentDto fromProto(Comment comment) {
+        return new CommentDto(
+                comment.getId(),
+                comment.getTaskId(),
+                comment.getUserId(),
+                comment.getUsername(),
+                comment.getContent(),
+                comment.hasCreatedAtEpochMillis()
+                        ? LocalDateTime.ofInstant(Instant.ofEpochMilli(comment.getCreatedAtEpochMillis()), ZoneOffset.UTC)
+                        : null
+        );
+    }
+
+    public static CommentList toCommentList(List<CommentDto> comments) {
+        CommentList.Builder builder = CommentList.newBuilder();
+        for (CommentDto comment : comments) {
+            builder.addComments(toProto(comment));
+        }
+        return builder.build();
+    }
+
+    public static User toProto(UserDto dto) {
+        return User.newBuilder()
+                .setId(orZero(dto.getId()))
+                .setLogin(orEmpty(dto.getLogin()))
+                .setEmail(orEmpty(dto.getEmail()))
+                .setRole(orEmpty(dto.getRole()))
+                .build();
+    }
+
+    public static UserList toUserList(List<UserDto> users) {
+        UserList.Builder builder = UserList.newBuilder();
+        for (UserDto user : users) {
+            builder.addUsers(toProto(user));
+        }
+        return builder.build();
+    }
+
+    public static UserProfile toProto(UserProfileDto dto) {
+        UserProfile.Builder builder = UserProfile.newBuilder()
+                .setId(orZero(dto.getId()))
+                .setLogin(orEmpty(dto.getLogin()))
+                .setEmail(orEmpty(dto.getEmail()))
+                .setFirstName(orEmpty(dto.getFirstName()))
+                .setLastName(orEmpty(dto.getLastName()))
+                .setRole(orEmpty(dto.getRole()));
+        if (dto.getTasks() != null) {
+            for (TaskDto task : dto.getTasks()) {
+                builder.addTasks(toProto(task));
+            }
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> cast(List<?> list) {
+        return (List<T>) list;
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+}
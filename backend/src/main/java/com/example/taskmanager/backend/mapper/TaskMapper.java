@@ -8,7 +8,9 @@ import com.example.taskmanager.backend.model.TaskPriority;
 import com.example.taskmanager.backend.model.TaskStatus;
 import com.example.taskmanager.backend.model.User;
 import com.example.taskmanager.backend.repository.UserRepository;
+import io.r2dbc.spi.Readable;
 
+import java.time.LocalDate;
 import java.util.Optional;
 
 public class TaskMapper {
@@ -43,4 +45,17 @@ public class TaskMapper {
         return taskDto;
     }
 
+    // Строка R2DBC-запроса с колонками id, title, description, status, priority, deadline, user_id
+    public static TaskDto fromRow(Readable row) {
+        return new TaskDto(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("status", String.class),
+                row.get("priority", String.class),
+                row.get("deadline", LocalDate.class),
+                row.get("user_id", Long.class)
+        );
+    }
+
 }
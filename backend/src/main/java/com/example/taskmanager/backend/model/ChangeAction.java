@@ -0,0 +1,10 @@
+package com.example.taskmanager.backend.model;
+
+public enum ChangeAction {
+
+    CREATED,
+    UPDATED,
+    DELETED,
+    SHARED
+
+}
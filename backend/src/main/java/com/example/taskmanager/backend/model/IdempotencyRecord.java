@@ -0,0 +1,49 @@
+package com.example.taskmanager.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Ответ на запрос с заголовком Idempotency-Key; повтор с тем же ключом получает его без повторного выполнения
+@Data
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_scope_key", columnNames = {"scope", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Пользователь, отправивший запрос: ключи разных пользователей не пересекаются
+    @Column(nullable = false)
+    private String scope;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    // SHA-256 метода, пути и тела: тот же ключ с другим запросом — ошибка клиента
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // null, пока первый запрос выполняется
+    private Integer responseStatus;
+
+    private String responseContentType;
+
+    @Column(length = 1048576)
+    private byte[] responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public boolean isCompleted() {
+        return responseStatus != null;
+    }
+
+}
@@ -5,7 +5,9 @@ import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "shared_tasks")
+@Table(name = "shared_tasks", indexes = {
+        @Index(name = "idx_shared_tasks_change_seq", columnList = "change_seq")
+})
 public class SharedTask {
 
     @Id
@@ -20,4 +22,8 @@ public class SharedTask {
     @JoinColumn(name = "shared_with_user_id", nullable = false)
     private User sharedWithUser;
 
+    // Номер последнего изменения для дельта-синхронизации (/api/sync)
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
 }
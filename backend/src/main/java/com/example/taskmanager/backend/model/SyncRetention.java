@@ -0,0 +1,26 @@
+package com.example.taskmanager.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Нижняя граница дельта-синхронизации: tombstone-записи с change_seq не выше purgedUpTo уже удалены
+@Data
+@Entity
+@Table(name = "sync_retention")
+public class SyncRetention {
+
+    // Единственная строка
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "purged_up_to", nullable = false)
+    private Long purgedUpTo;
+
+    @Column(nullable = false)
+    private LocalDateTime purgedAt;
+
+}
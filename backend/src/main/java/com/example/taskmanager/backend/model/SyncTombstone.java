@@ -0,0 +1,44 @@
+package com.example.taskmanager.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Отметка об удалении для дельта-синхронизации: по строке на каждого пользователя, видевшего запись
+@Data
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_sync_tombstones_user_seq", columnList = "user_id, change_seq"),
+        @Index(name = "idx_sync_tombstones_seq", columnList = "change_seq"),
+        @Index(name = "idx_sync_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    // task или comment
+    @Column(nullable = false)
+    private String entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Записи старше app.sync.tombstone-ttl-days удаляет TombstoneRetentionService
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        deletedAt = LocalDateTime.now();
+    }
+
+}
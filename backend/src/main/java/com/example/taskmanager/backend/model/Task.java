@@ -7,7 +7,9 @@ import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_change_seq", columnList = "change_seq")
+})
 public class Task {
 
     @Id
@@ -35,4 +37,8 @@ public class Task {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Номер последнего изменения для дельта-синхронизации (/api/sync)
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
 }
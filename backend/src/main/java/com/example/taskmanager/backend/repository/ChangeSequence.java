@@ -0,0 +1,148 @@
+package com.example.taskmanager.backend.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * Общая монотонная последовательность изменений задач, комментариев и доступов (sequence change_seq).
+ * <p>
+ * Номер берется внутри пишущей транзакции, поэтому транзакция с меньшим номером может закоммититься
+ * позже транзакции с большим — в том числе на другом экземпляре. {@link #stableCeiling()} возвращает
+ * границу, до которой все номера уже закоммичены или откатились: синхронизация не отдает изменения выше нее
+ * и клиент не перепрыгивает через незавершенную запись.
+ * <p>
+ * Граница берется из базы: каждый экземпляр раз в mark-interval-ms записывает в change_seq_marks
+ * очередной номер и время. Номера ниже отметки старше stable-lag-ms выданы раньше нее, а пишущая
+ * транзакция не живет дольше своего таймаута, поэтому все они уже завершены. Отсюда требование:
+ * stable-lag-ms больше самого длинного таймаута пишущей транзакции плюс расхождение часов экземпляров.
+ * Синхронизация видит изменения с задержкой не больше stable-lag-ms + mark-interval-ms.
+ */
+@Repository
+public class ChangeSequence {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeSequence.class);
+
+    private static final String SEQUENCE_NAME = "change_seq";
+    private static final List<String> TABLES = List.of("tasks", "comments", "shared_tasks");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+    private final long stableLagMs;
+    private final LongSupplier clock;
+
+    // Номера, выданные незавершенным транзакциям этого экземпляра; guarded by this, без обращений к базе под блокировкой
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+
+    @Autowired
+    public ChangeSequence(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                          @Value("${app.sync.stable-lag-ms:40000}") long stableLagMs,
+                          @Value("${spring.transaction.default-timeout:30s}") Duration transactionTimeout,
+                          @Value("${app.batch.timeout-ms:30000}") long batchTimeoutMs) {
+        this(jdbcTemplate,
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect().getSequenceSupport(),
+                stableLagMs, System::currentTimeMillis);
+
+        // Атомарный пакет держит одну транзакцию до app.batch.timeout-ms; остальные ограничены таймаутом по умолчанию
+        long longestTransactionMs = Math.max(transactionTimeout.toMillis(), batchTimeoutMs);
+        if (stableLagMs <= longestTransactionMs) {
+            throw new IllegalStateException("app.sync.stable-lag-ms (" + stableLagMs
+                    + ") must be greater than the longest write transaction timeout (" + longestTransactionMs + " ms)");
+        }
+    }
+
+    // Синтаксис nextval зависит от СУБД (PostgreSQL в работе, H2 в тестах)
+    ChangeSequence(JdbcTemplate jdbcTemplate, SequenceSupport sequenceSupport, long stableLagMs, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = sequenceSupport.getSequenceNextValString(SEQUENCE_NAME);
+        this.stableLagMs = stableLagMs;
+        this.clock = clock;
+
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE_NAME);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS change_seq_marks (seq BIGINT PRIMARY KEY, marked_at_ms BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_change_seq_marks_marked_at ON change_seq_marks (marked_at_ms)");
+        backfill(sequenceSupport.getSelectSequenceNextValString(SEQUENCE_NAME));
+        mark();
+    }
+
+    // Записи, созданные до появления change_seq, получают номер один раз при первом запуске
+    private void backfill(String nextValueExpression) {
+        for (String table : TABLES) {
+            int updated = jdbcTemplate.update(
+                    "UPDATE " + table + " SET change_seq = " + nextValueExpression + " WHERE change_seq IS NULL");
+            if (updated > 0) {
+                log.info("Assigned change sequence numbers to {} existing rows in {}", updated, table);
+            }
+        }
+    }
+
+    /**
+     * Следующий номер изменения. Вызывается внутри транзакции, которая сохраняет запись.
+     */
+    public long next() {
+        long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        synchronized (this) {
+            inFlight.add(value);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(value);
+                }
+            });
+        } else {
+            release(value);
+        }
+        return value;
+    }
+
+    /**
+     * Наибольший номер, все изменения до которого уже видны читателям на любом экземпляре.
+     */
+    public long stableCeiling() {
+        Long marked = jdbcTemplate.queryForObject(
+                "SELECT MAX(seq) FROM change_seq_marks WHERE marked_at_ms <= ?", Long.class, clock.getAsLong() - stableLagMs);
+        long ceiling = marked == null ? 0 : marked - 1;
+        // Собственная транзакция, которая почему-то живет дольше таймаута, тоже не пропускается
+        synchronized (this) {
+            return inFlight.isEmpty() ? ceiling : Math.min(ceiling, inFlight.first() - 1);
+        }
+    }
+
+    /**
+     * Отметка: все номера ниже записанного выданы раньше ее времени. Номер берется до часов,
+     * поэтому время отметки не раньше выдачи любого меньшего номера.
+     */
+    @Scheduled(fixedDelayString = "${app.sync.mark-interval-ms:1000}", initialDelayString = "${app.sync.mark-interval-ms:1000}")
+    public void mark() {
+        long seq = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        long now = clock.getAsLong();
+        jdbcTemplate.update("INSERT INTO change_seq_marks (seq, marked_at_ms) VALUES (?, ?)", seq, now);
+
+        // Старые отметки не нужны, но самая новая из тех, что старше задержки, остается границей
+        jdbcTemplate.update("DELETE FROM change_seq_marks WHERE marked_at_ms < ? AND seq < "
+                + "(SELECT MAX(seq) FROM change_seq_marks WHERE marked_at_ms < ?)", now - stableLagMs, now - stableLagMs);
+    }
+
+    private synchronized void release(long value) {
+        inFlight.remove(value);
+    }
+
+}
@@ -1,20 +1,45 @@
 package com.example.taskmanager.backend.repository;
 
 import com.example.taskmanager.backend.model.Comment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
 
-    // Найти все комментарии для конкретной задачи
+    // Найти все комментарии для конкретной задачи (с задачей, ее владельцем и авторами — одним запросом)
+    @EntityGraph(attributePaths = {"task", "task.user", "user"})
     List<Comment> findByTaskId(Long taskId);
 
     // Удалить комментарий по ID
     void deleteById(Long commentId);
 
+    // Удалить комментарий одним DELETE, без загрузки сущности с задачей и пользователями
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id = :commentId")
+    int deleteByIdWithoutLoading(@Param("commentId") Long commentId);
+
     // Найти комментарий по ID
     Optional<Comment> findById(Long commentId);
 
+    // Id задачи комментария (нужен до удаления, чтобы определить получателей события)
+    @Query("SELECT c.task.id FROM Comment c WHERE c.id = :commentId")
+    Optional<Long> findTaskIdById(@Param("commentId") Long commentId);
+
+    // Дельта-синхронизация: комментарии к задачам, доступным пользователю, измененные в диапазоне (since, upTo]
+    @Query("SELECT c FROM Comment c JOIN FETCH c.task t JOIN FETCH t.user JOIN FETCH c.user WHERE c.changeSeq > :since AND c.changeSeq <= :upTo " +
+            "AND (t.user.id = :userId OR EXISTS (SELECT s.id FROM SharedTask s WHERE s.task = t AND s.sharedWithUser.id = :userId)) " +
+            "ORDER BY c.changeSeq")
+    List<Comment> findVisibleChangedBetween(@Param("userId") Long userId, @Param("since") Long since, @Param("upTo") Long upTo);
+
+    // Все комментарии задач, которые только что стали доступны пользователю
+    @Query("SELECT c FROM Comment c JOIN FETCH c.task t JOIN FETCH t.user JOIN FETCH c.user WHERE t.id IN :taskIds ORDER BY c.id")
+    List<Comment> findByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
 }
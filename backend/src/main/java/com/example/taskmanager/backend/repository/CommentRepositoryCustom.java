@@ -0,0 +1,15 @@
+package com.example.taskmanager.backend.repository;
+
+import com.example.taskmanager.backend.model.Comment;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CommentRepositoryCustom {
+
+    // Только запрошенные свойства CommentDto (id, taskId, userId, username, content, createdAt)
+    List<Map<String, Object>> findFields(Collection<String> fields, Specification<Comment> filter);
+
+}
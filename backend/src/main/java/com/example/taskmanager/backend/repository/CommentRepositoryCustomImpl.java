@@ -0,0 +1,31 @@
+package com.example.taskmanager.backend.repository;
+
+import com.example.taskmanager.backend.model.Comment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    private static final FieldProjection<Comment> PROJECTION = FieldProjection.of(Comment.class)
+            .column("id", root -> root.get("id"))
+            .column("taskId", root -> root.get("task").get("id"))
+            .column("userId", root -> root.get("user").get("id"))
+            // Соединение с users только если запрошено имя пользователя
+            .column("username", root -> root.get("user").get("login"))
+            .column("content", root -> root.get("content"))
+            .column("createdAt", root -> root.get("createdAt"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(Collection<String> fields, Specification<Comment> filter) {
+        return PROJECTION.fetch(entityManager, fields, filter);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.example.taskmanager.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Выборка части колонок сущности (sparse fieldsets): в SELECT попадают только запрошенные свойства DTO,
+ * результат — по одной упорядоченной Map на строку с ключами-именами свойств.
+ */
+public class FieldProjection<T> {
+
+    private final Class<T> entityClass;
+    private final Map<String, Function<Root<T>, Path<?>>> columns = new LinkedHashMap<>();
+
+    private FieldProjection(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    public static <T> FieldProjection<T> of(Class<T> entityClass) {
+        return new FieldProjection<>(entityClass);
+    }
+
+    public FieldProjection<T> column(String property, Function<Root<T>, Path<?>> path) {
+        columns.put(property, path);
+        return this;
+    }
+
+    public List<Map<String, Object>> fetch(EntityManager entityManager, Collection<String> fields, Specification<T> filter) {
+        for (String field : fields) {
+            if (!columns.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(columns.get(field).apply(root).alias(field));
+        }
+        query.multiselect(selections);
+        if (filter != null) {
+            query.where(filter.toPredicate(root, query, cb));
+        }
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String field : fields) {
+                Object value = row.get(field);
+                // Перечисления отдаются строкой, как в DTO
+                values.put(field, value instanceof Enum<?> e ? e.name() : value);
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
+}
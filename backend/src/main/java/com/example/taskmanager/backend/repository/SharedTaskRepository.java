@@ -2,10 +2,21 @@ package com.example.taskmanager.backend.repository;
 
 import com.example.taskmanager.backend.model.SharedTask;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface SharedTaskRepository extends JpaRepository<SharedTask, Long> {
 
     List<SharedTask> findBySharedWithUserId(Long userId);
 
+    @Query("SELECT s.sharedWithUser.id FROM SharedTask s WHERE s.task.id = :taskId")
+    List<Long> findSharedWithUserIdsByTaskId(@Param("taskId") Long taskId);
+
+    // Дельта-синхронизация: доступы, выданные пользователю или к его задачам, в диапазоне (since, upTo]
+    @Query("SELECT s FROM SharedTask s JOIN FETCH s.task t JOIN FETCH t.user JOIN FETCH s.sharedWithUser WHERE s.changeSeq > :since AND s.changeSeq <= :upTo " +
+            "AND (s.sharedWithUser.id = :userId OR t.user.id = :userId) ORDER BY s.changeSeq")
+    List<SharedTask> findVisibleChangedBetween(@Param("userId") Long userId, @Param("since") Long since, @Param("upTo") Long upTo);
+
 }
@@ -0,0 +1,22 @@
+package com.example.taskmanager.backend.repository;
+
+import com.example.taskmanager.backend.model.SyncRetention;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface SyncRetentionRepository extends JpaRepository<SyncRetention, Long> {
+
+    @Query("SELECT r.purgedUpTo FROM SyncRetention r WHERE r.id = 1")
+    Optional<Long> findPurgedUpTo();
+
+    // Граница только растет, даже если очистку одновременно выполняют несколько экземпляров
+    @Modifying
+    @Query("UPDATE SyncRetention r SET r.purgedUpTo = :upTo, r.purgedAt = :now WHERE r.id = 1 AND r.purgedUpTo < :upTo")
+    int raisePurgedUpTo(@Param("upTo") Long upTo, @Param("now") LocalDateTime now);
+
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanager.backend.repository;
+
+import com.example.taskmanager.backend.model.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    // Использует индекс (user_id, change_seq)
+    List<SyncTombstone> findByUserIdAndChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeq(
+            Long userId, Long since, Long upTo);
+
+    // Использует индекс deleted_at
+    @Query("SELECT MAX(t.changeSeq) FROM SyncTombstone t WHERE t.deletedAt < :cutoff")
+    Long findMaxChangeSeqDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Использует индекс change_seq
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.changeSeq <= :upTo")
+    int deleteUpTo(@Param("upTo") Long upTo);
+
+}
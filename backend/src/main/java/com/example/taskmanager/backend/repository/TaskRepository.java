@@ -1,25 +1,50 @@
 package com.example.taskmanager.backend.repository;
 
 import com.example.taskmanager.backend.model.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
+    // Списки задач загружают владельца тем же запросом: иначе eager @ManyToOne дает по запросу на каждого пользователя
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Task> findAll();
+
+    @EntityGraph(attributePaths = "user")
     List<Task> findByUserId(Long userId);
 
-    List<Task> findByStatus(String status);
+    // Статус и приоритет приходят строкой, а колонки хранят имя enum
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT t FROM Task t WHERE str(t.status) = :status")
+    List<Task> findByStatus(@Param("status") String status);
 
-    List<Task> findByPriority(String priority);
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT t FROM Task t WHERE str(t.priority) = :priority")
+    List<Task> findByPriority(@Param("priority") String priority);
 
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT t FROM Task t WHERE t.deadline <= :deadline")
-    List<Task> findByDeadline(LocalDate deadline);
+    List<Task> findByDeadline(@Param("deadline") LocalDate deadline);
 
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT t FROM Task t WHERE LOWER(t.title) LIKE %:query% OR LOWER(t.description) LIKE %:query%")
     List<Task> searchTasks(@Param("query") String query);
 
+    // Только id владельца, без загрузки задачи и пользователя
+    @Query("SELECT t.user.id FROM Task t WHERE t.id = :taskId")
+    Optional<Long> findOwnerIdById(@Param("taskId") Long taskId);
+
+    // Дельта-синхронизация: задачи пользователя и доступные ему, измененные в диапазоне (since, upTo]
+    @Query("SELECT t FROM Task t JOIN FETCH t.user u WHERE t.changeSeq > :since AND t.changeSeq <= :upTo " +
+            "AND (u.id = :userId OR EXISTS (SELECT s.id FROM SharedTask s WHERE s.task = t AND s.sharedWithUser.id = :userId)) " +
+            "ORDER BY t.changeSeq")
+    List<Task> findVisibleChangedBetween(@Param("userId") Long userId, @Param("since") Long since, @Param("upTo") Long upTo);
+
 }
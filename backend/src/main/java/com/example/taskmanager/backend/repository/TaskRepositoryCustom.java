@@ -0,0 +1,15 @@
+package com.example.taskmanager.backend.repository;
+
+import com.example.taskmanager.backend.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TaskRepositoryCustom {
+
+    // Только запрошенные свойства TaskDto (id, title, description, status, priority, deadline, userId)
+    List<Map<String, Object>> findFields(Collection<String> fields, Specification<Task> filter);
+
+}
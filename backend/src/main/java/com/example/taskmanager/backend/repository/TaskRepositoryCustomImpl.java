@@ -0,0 +1,32 @@
+package com.example.taskmanager.backend.repository;
+
+import com.example.taskmanager.backend.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final FieldProjection<Task> PROJECTION = FieldProjection.of(Task.class)
+            .column("id", root -> root.get("id"))
+            .column("title", root -> root.get("title"))
+            .column("description", root -> root.get("description"))
+            .column("status", root -> root.get("status"))
+            .column("priority", root -> root.get("priority"))
+            .column("deadline", root -> root.get("deadline"))
+            // Внешний ключ tasks.user_id, без соединения с users
+            .column("userId", root -> root.get("user").get("id"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(Collection<String> fields, Specification<Task> filter) {
+        return PROJECTION.fetch(entityManager, fields, filter);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.example.taskmanager.backend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Подбирает стоимость BCrypt под бюджет задержки на текущем железе.
+ * <p>
+ * Каждая ступень стоимости удваивает время хеширования, поэтому замер идет
+ * снизу вверх и останавливается, как только следующая ступень заведомо не уложится в бюджет.
+ */
+public class BCryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+    private static final int SAMPLES = 3;
+
+    private final long targetMillis;
+    private final int minStrength;
+    private final int maxStrength;
+
+    public BCryptCostCalibrator(long targetMillis, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("Invalid BCrypt strength range: " + minStrength + ".." + maxStrength);
+        }
+        this.targetMillis = targetMillis;
+        this.minStrength = minStrength;
+        this.maxStrength = maxStrength;
+    }
+
+    public int calibrate() {
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long millis = measure(strength);
+            log.debug("BCrypt strength {} takes {} ms per hash", strength, millis);
+
+            if (millis > targetMillis) {
+                // Минимальная стоимость используется даже при превышении бюджета
+                break;
+            }
+            chosen = strength;
+
+            // Следующая ступень примерно вдвое дороже — не тратим время на заведомо лишний замер
+            if (millis * 2 > targetMillis) {
+                break;
+            }
+        }
+        // Узлы на разном железе подбирают разную стоимость; закрепленная стоимость одинакова для всего окружения
+        log.warn("Calibrated BCrypt strength {} for a {} ms hashing budget on this node; "
+                + "pin security.password-hashing.strength={} for the environment", chosen, targetMillis, chosen);
+        return chosen;
+    }
+
+    long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD); // прогрев
+
+        long[] timings = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            timings[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(timings);
+        return timings[SAMPLES / 2];
+    }
+
+}
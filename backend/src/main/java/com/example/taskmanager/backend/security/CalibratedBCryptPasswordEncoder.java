@@ -0,0 +1,59 @@
+package com.example.taskmanager.backend.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt с откалиброванной стоимостью.
+ * <p>
+ * Явно заданная стоимость ({@code downgradeAllowed}) закреплена для окружения: перехеширование требуется
+ * при любом расхождении, и окружение с более медленным железом может понизить стоимость без миграции.
+ * Стоимость, подобранная при старте, у узлов может различаться — тогда, как в
+ * {@link BCryptPasswordEncoder#upgradeEncoding(String)}, перехешируются только более слабые хеши,
+ * иначе узлы перехешировали бы одних и тех же пользователей туда и обратно.
+ */
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final boolean downgradeAllowed;
+
+    public CalibratedBCryptPasswordEncoder(int strength, boolean downgradeAllowed) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.downgradeAllowed = downgradeAllowed;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return false;
+        }
+        int storedStrength = Integer.parseInt(matcher.group(1));
+        return downgradeAllowed ? storedStrength != strength : storedStrength < strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+}
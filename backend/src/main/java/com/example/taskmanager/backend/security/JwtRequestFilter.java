@@ -2,13 +2,20 @@ package com.example.taskmanager.backend.security;
 
 import com.example.taskmanager.backend.exception.InvalidTokenException;
 import com.example.taskmanager.backend.service.CustomUserDetailsService;
+import com.example.taskmanager.backend.service.TokenRevocationService;
+import com.example.taskmanager.backend.timing.RequestTimings;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -27,19 +34,24 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationService tokenRevocationService;
     private final HandlerExceptionResolver handlerExceptionResolver;
+    private final MeterRegistry meterRegistry;
 
-    public JwtRequestFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, HandlerExceptionResolver handlerExceptionResolver) {
+    public JwtRequestFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, TokenRevocationService tokenRevocationService, HandlerExceptionResolver handlerExceptionResolver,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.customUserDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
         this.handlerExceptionResolver = handlerExceptionResolver;
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         try {
-            if (request.getRequestURI().startsWith("/api/auth/")) {
+            if (request.getRequestURI().startsWith("/api/auth/") || isPublicActuatorEndpoint(request)) {
                 // Пропускаем публичные эндпоинты
                 chain.doFilter(request, response);
                 return;
@@ -56,20 +68,27 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             }
 
             jwt = authorizationHeader.substring(7); // Убираем "Bearer " из токена
-            email = jwtUtil.extractEmail(jwt); // Извлекаем email из токена
+            Claims claims;
+            try (RequestTimings.Span ignored = RequestTimings.start("jwt")) {
+                claims = verify(request, jwt);
+            }
+            email = claims.getSubject(); // Извлекаем email из токена
 
             // Проверяем, что токен валиден и аутентификация еще не установлена
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 // Загружаем данные пользователя через CustomUserDetailsService
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+                UserDetails userDetails;
+                try (RequestTimings.Span ignored = RequestTimings.start("user")) {
+                    userDetails = customUserDetailsService.loadUserByUsername(email);
+                }
 
                 // Проверяем заблокированного пользователя
                 if (!userDetails.isAccountNonLocked()) {
                     throw new LockedException("account is locked");
                 }
 
-                // Проверяем валидность токена относительно данных пользователя
-                if (jwtUtil.isTokenValid(jwt, userDetails)) {
+                // Подпись и срок уже проверены при разборе, остается сверить владельца токена
+                if (email.equals(userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authenticationToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails, null, userDetails.getAuthorities());
@@ -86,6 +105,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             handleException(new LockedException(ex.getMessage()), request, response);
         } catch (AuthenticationException ex) {
             handleException(new InsufficientAuthenticationException(ex.getMessage()), request, response);
+        } catch (InvalidTokenException ex) {
+            handleException(ex, request, response);
         } catch (MalformedJwtException ex) {
             handleException(new InvalidTokenException("Invalid token format"), request, response);
         } catch (SignatureException ex) {
@@ -97,6 +118,37 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
     }
 
+    // Проверка подписи и срока действия токена и его отзыва; время пишется в security.jwt.verification по исходу.
+    // Подпись, уже проверенная RateLimitFilter в этом запросе, повторно не проверяется
+    private Claims verify(HttpServletRequest request, String jwt) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            Claims claims = VerifiedJwt.claims(request, jwt, jwtUtil);
+            // Проверяем, не отозван ли токен (фильтр Блума, хранилище — только при возможном совпадении)
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                outcome = "revoked";
+                throw new InvalidTokenException("Token revoked");
+            }
+            outcome = "valid";
+            return claims;
+        } catch (ExpiredJwtException ex) {
+            outcome = "expired";
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder("security.jwt.verification")
+                    .description("JWT signature, expiry and revocation checks")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    // Health и Prometheus доступны без токена: они обслуживаются на отдельном порту управления
+    private static boolean isPublicActuatorEndpoint(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.startsWith("/actuator/health") || uri.equals("/actuator/prometheus");
+    }
+
     private void handleException(Exception ex, HttpServletRequest request, HttpServletResponse response) {
         // Передаем управление глобальному обработчику исключений
         handlerExceptionResolver.resolveException(request, response, null, ex);
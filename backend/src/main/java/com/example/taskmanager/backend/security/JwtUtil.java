@@ -1,6 +1,8 @@
 package com.example.taskmanager.backend.security;
 
+import com.example.taskmanager.backend.jfr.JwtEvent;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -13,6 +15,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -27,23 +30,41 @@ public class JwtUtil {
     }
 
     public String generateToken(String email, boolean isBlocked) {
+        JwtEvent event = new JwtEvent("sign");
+        event.begin();
         Map<String, Object> claims = new HashMap<>();
         claims.put("isBlocked", isBlocked);
-        return Jwts.builder()
+        String token = Jwts.builder()
                 .setClaims(claims)
                 .setSubject(email)
+                .setId(UUID.randomUUID().toString()) // jti — нужен для отзыва токена
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration * 1000))
                 .signWith(secretKey, SignatureAlgorithm.HS512)
                 .compact();
+        event.finish("valid", token);
+        return token;
     }
 
     public Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        // Разбор с проверкой подписи и срока; длительность и исход пишутся событием JFR
+        JwtEvent event = new JwtEvent("parse");
+        event.begin();
+        String outcome = "invalid";
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(secretKey)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            outcome = "valid";
+            return claims;
+        } catch (ExpiredJwtException ex) {
+            outcome = "expired";
+            throw ex;
+        } finally {
+            event.finish(outcome, token);
+        }
     }
 
     public String extractEmail(String token) {
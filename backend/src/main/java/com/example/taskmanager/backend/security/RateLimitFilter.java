@@ -0,0 +1,130 @@
+package com.example.taskmanager.backend.security;
+
+import com.example.taskmanager.backend.exception.ErrorResponses;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничивает частоту запросов по группам маршрутов — на IP клиента и на пользователя из JWT.
+ * Стоит перед цепочкой Spring Security, поэтому отсекает лишние запросы до JwtRequestFilter и BCrypt.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimitProperties properties;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(RateLimitProperties properties, TokenBucketRateLimiter rateLimiter, JwtUtil jwtUtil,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitProperties.Group group = findGroup(request);
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Лимит на IP клиента
+        long waitNanos = 0;
+        if (group.getPerIp() != null) {
+            waitNanos = rateLimiter.tryAcquire(group.getName() + ":ip:" + request.getRemoteAddr(), group.getPerIp());
+        }
+
+        // Лимит на пользователя (только для запросов с корректно подписанным токеном)
+        if (waitNanos == 0 && group.getPerUser() != null) {
+            String user = resolveUser(request);
+            if (user != null) {
+                waitNanos = rateLimiter.tryAcquire(group.getName() + ":user:" + user, group.getPerUser());
+            }
+        }
+
+        if (waitNanos > 0) {
+            reject(group, waitNanos, request, response);
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private RateLimitProperties.Group findGroup(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        for (RateLimitProperties.Group group : properties.getGroups()) {
+            if (!group.getMethods().isEmpty() && !group.getMethods().contains(method)) {
+                continue;
+            }
+            for (String pattern : group.getPaths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String resolveUser(HttpServletRequest request) {
+        // Операции /api/batch выполняются от уже аутентифицированного пользователя пакета
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+
+        String authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            // Проверенные claims остаются в запросе, JwtRequestFilter подпись повторно не проверяет
+            return VerifiedJwt.claims(request, authorizationHeader.substring(7), jwtUtil).getSubject();
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Некорректный токен отклонит JwtRequestFilter, здесь действует только лимит на IP
+            return null;
+        }
+    }
+
+    private void reject(RateLimitProperties.Group group, long waitNanos, HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.warn("Rate limit exceeded for group {} from {}", group.getName(), request.getRemoteAddr());
+        rejectedCounters.computeIfAbsent(group.getName(), name -> Counter.builder("http.server.requests.rate.limited")
+                        .tag("group", name)
+                        .register(meterRegistry))
+                .increment();
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        ErrorResponses.write(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, retry later");
+    }
+
+}
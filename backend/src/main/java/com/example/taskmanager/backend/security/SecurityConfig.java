@@ -1,24 +1,27 @@
 package com.example.taskmanager.backend.security;
 
-import com.example.taskmanager.backend.exception.ErrorResponse;
+import com.example.taskmanager.backend.exception.ErrorResponses;
 import com.example.taskmanager.backend.service.CustomUserDetailsService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import java.time.LocalDateTime;
+import java.util.Map;
 
 @Configuration
 public class SecurityConfig {
@@ -26,14 +29,11 @@ public class SecurityConfig {
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtRequestFilter jwtRequestFilter;
     private final CustomAuthenticationProvider customAuthenticationProvider;
-    private final ObjectMapper objectMapper;
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService, JwtRequestFilter jwtRequestFilter, CustomAuthenticationProvider customAuthenticationProvider, ObjectMapper objectMapper) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, JwtRequestFilter jwtRequestFilter, CustomAuthenticationProvider customAuthenticationProvider) {
         this.customUserDetailsService = userDetailsService;
         this.jwtRequestFilter = jwtRequestFilter;
         this.customAuthenticationProvider = customAuthenticationProvider;
-        this.objectMapper = objectMapper;
-        this.objectMapper.registerModule(new JavaTimeModule());
     }
 
     @Bean
@@ -41,36 +41,21 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable) // Отключаем CSRF для API
                 .authorizeHttpRequests(auth -> auth
+                        // Повторная ASYNC-диспетчеризация (ответы Mono/Flux) уже прошла проверку в исходном запросе
+                        .requestMatchers(SecurityConfig::isAsyncDispatch).permitAll()
                         .requestMatchers("/api/auth/**").permitAll() // Разрешаем доступ к /api/auth/**
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll() // Проверки и сбор метрик на порту управления
                         .requestMatchers("/api/admin/**").hasRole("ADMIN") // Разрешить доступ к /api/admin/** только пользователям с ролью ADMIN
                         .anyRequest().authenticated() // Все остальные запросы требуют аутентификации
                 )
                 .authenticationProvider(customAuthenticationProvider) // Добавляем кастомный провайдер
                 .exceptionHandling(ex -> ex
                         // Настройка AuthenticationEntryPoint для возврата JSON-ответа
-                        .authenticationEntryPoint((request, response, authException) -> {
-                            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-                            response.setStatus(HttpStatus.UNAUTHORIZED.value());
-                            ErrorResponse error = new ErrorResponse(
-                                    LocalDateTime.now(),
-                                    HttpStatus.UNAUTHORIZED.value(),
-                                    authException.getMessage(),
-                                    null
-                            );
-                            response.getWriter().write(objectMapper.writeValueAsString(error));
-                        })
+                        .authenticationEntryPoint((request, response, authException) ->
+                                ErrorResponses.write(response, HttpStatus.UNAUTHORIZED, authException.getMessage()))
                         // Настройка AccessDeniedHandler для возврата JSON-ответа
-                        .accessDeniedHandler((request, response, accessDeniedException) -> {
-                            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-                            response.setStatus(HttpStatus.FORBIDDEN.value());
-                            ErrorResponse error = new ErrorResponse(
-                                    LocalDateTime.now(),
-                                    HttpStatus.FORBIDDEN.value(),
-                                    accessDeniedException.getMessage(),
-                                    null
-                            );
-                            response.getWriter().write(objectMapper.writeValueAsString(error));
-                        })
+                        .accessDeniedHandler((request, response, accessDeniedException) ->
+                                ErrorResponses.write(response, HttpStatus.FORBIDDEN, accessDeniedException.getMessage()))
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Stateless-сессии
                 .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class); // Добавляем JWT-фильтр
@@ -78,9 +63,47 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Запрос, который WebInvocationPrivilegeEvaluator строит для проверки операций /api/batch,
+    // не поддерживает getDispatcherType(), поэтому стандартный dispatcherTypeMatchers здесь не подходит
+    private static boolean isAsyncDispatch(HttpServletRequest request) {
+        try {
+            return request.getDispatcherType() == DispatcherType.ASYNC;
+        } catch (UnsupportedOperationException ex) {
+            return false;
+        }
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.strength:0}") int strength,
+            @Value("${security.password-hashing.target-ms:250}") long targetMs,
+            @Value("${security.password-hashing.min-strength:10}") int minStrength,
+            @Value("${security.password-hashing.max-strength:14}") int maxStrength,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMs,
+            @Value("${security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        // Стоимость BCrypt: явно заданная или подобранная под бюджет задержки на текущем железе.
+        // Подобранная у каждого узла своя, поэтому хеши по ней только усиливаются и никогда не ослабляются
+        int effectiveStrength = strength > 0
+                ? strength
+                : new BCryptCostCalibrator(targetMs, minStrength, maxStrength).calibrate();
+
+        // Хеши хранятся с префиксом алгоритма ({bcrypt}$2a$<cost>$...), старые хеши без префикса тоже принимаются
+        CalibratedBCryptPasswordEncoder bcrypt = new CalibratedBCryptPasswordEncoder(effectiveStrength, strength > 0);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        // Хеширование выполняется на отдельном ограниченном пуле, а не в потоках Tomcat
+        return new BoundedPasswordEncoder(
+                delegating,
+                threads,
+                queueCapacity,
+                timeoutMs,
+                retryAfterSeconds,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new)
+        );
     }
 
 }
@@ -0,0 +1,79 @@
+package com.example.taskmanager.backend.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket, реализованный как GCRA: состояние корзины — одно число (теоретическое время
+ * прибытия следующего запроса), которое обновляется через CAS без блокировок.
+ */
+public class TokenBucketRateLimiter {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Пытается взять один токен из корзины по ключу.
+     *
+     * @return 0, если запрос разрешен, иначе время ожидания в наносекундах
+     */
+    public long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long now = nanoClock.getAsLong();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRefillPerSecond());
+        long burstTolerance = interval * (Math.max(1, limit.getCapacity()) - 1L);
+
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(now));
+        bucket.lastAccess = now;
+
+        while (true) {
+            long tat = bucket.theoreticalArrival.get();
+            long start = Math.max(tat, now);
+            long wait = start - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.theoreticalArrival.compareAndSet(tat, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Удаляет корзины клиентов, которые простаивали дольше окна и уже полностью пополнились.
+     */
+    public int evictIdle(long idleNanos) {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket ->
+                now - bucket.lastAccess > idleNanos && bucket.theoreticalArrival.get() <= now);
+        return before - buckets.size();
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+
+        private final AtomicLong theoreticalArrival;
+        private volatile long lastAccess;
+
+        private Bucket(long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+            this.lastAccess = now;
+        }
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.example.taskmanager.backend.security;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Claims токена, подпись и срок которого уже проверены в этом запросе. RateLimitFilter стоит перед
+ * Spring Security и разбирает токен первым, JwtRequestFilter берет готовый результат из атрибута запроса:
+ * подпись HS512 проверяется один раз на запрос.
+ */
+final class VerifiedJwt {
+
+    private static final String ATTRIBUTE = VerifiedJwt.class.getName();
+
+    private record Verified(String token, Claims claims) {}
+
+    private VerifiedJwt() {}
+
+    static Claims claims(HttpServletRequest request, String token, JwtUtil jwtUtil) {
+        if (request.getAttribute(ATTRIBUTE) instanceof Verified verified && verified.token().equals(token)) {
+            return verified.claims();
+        }
+        Claims claims = jwtUtil.extractClaims(token);
+        request.setAttribute(ATTRIBUTE, new Verified(token, claims));
+        return claims;
+    }
+
+}
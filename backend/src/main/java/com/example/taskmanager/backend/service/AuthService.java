@@ -2,16 +2,20 @@ package com.example.taskmanager.backend.service;
 
 import com.example.taskmanager.backend.dto.AuthRequestDto;
 import com.example.taskmanager.backend.exception.InvalidCredentialsException;
+import com.example.taskmanager.backend.exception.ServiceUnavailableException;
 import com.example.taskmanager.backend.exception.UserAlreadyExistsException;
+import com.example.taskmanager.backend.jfr.PasswordHashEvent;
 import com.example.taskmanager.backend.model.User;
 import com.example.taskmanager.backend.repository.UserRepository;
 import com.example.taskmanager.backend.security.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(value = "service.calls", description = "Service method calls")
 public class AuthService {
 
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
@@ -63,7 +67,7 @@ public class AuthService {
         User user = new User();
         user.setLogin(request.getLogin());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(encode("encode", request.getPassword()));
         user.setRole("USER"); // По умолчанию роль "USER"
 
         log.info("Saving new user with login: {}", request.getLogin());
@@ -97,17 +101,52 @@ public class AuthService {
         }
 
         // Проверяем, совпадает ли пароль
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!matches(request.getPassword(), user.getPassword())) {
             log.error("Invalid password for email: {}", request.getEmail());
             throw new InvalidCredentialsException("Invalid password");
         }
 
         log.info("Login successful for user with email: {}", request.getEmail());
 
+        // Перехешируем пароль, если сохраненные алгоритм или стоимость отличаются от текущих
+        rehashIfNeeded(user, request.getPassword());
+
         // Генерируем JWT-токен
         String token = jwtUtil.generateToken(user.getEmail(), user.isBlocked());
         log.info("Generated JWT token for user with email: {}", user.getEmail());
 
         return token;
     }
+
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(encode("rehash", rawPassword));
+            userRepository.save(user);
+            log.info("Password hash upgraded for user with ID: {}", user.getId());
+        } catch (ServiceUnavailableException ex) {
+            // Вход уже выполнен, перехеширование повторится при следующем входе
+            log.warn("Skipping password hash upgrade for user with ID: {}: {}", user.getId(), ex.getMessage());
+        }
+    }
+
+    // Хеширование и проверка пароля с событием JFR (длительность, стоимость BCrypt, результат)
+    private String encode(String operation, String rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent(operation);
+        event.begin();
+        String hash = passwordEncoder.encode(rawPassword);
+        event.finish(hash, true);
+        return hash;
+    }
+
+    private boolean matches(String rawPassword, String hash) {
+        PasswordHashEvent event = new PasswordHashEvent("matches");
+        event.begin();
+        boolean matched = passwordEncoder.matches(rawPassword, hash);
+        event.finish(hash, matched);
+        return matched;
+    }
+
 }
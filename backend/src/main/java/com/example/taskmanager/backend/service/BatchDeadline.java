@@ -0,0 +1,62 @@
+package com.example.taskmanager.backend.service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Срок параллельного пакета. Операция коммитит изменения только через {@link #tryCommit()}: после срока
+ * коммит запрещен, и операция, о которой клиенту ответили 504, откатывается, а не применяется незаметно.
+ * Операции, начавшие коммит до срока, пакет дожидается и отдает их настоящий результат.
+ */
+public final class BatchDeadline {
+
+    private static final ThreadLocal<Binding> CURRENT = new ThreadLocal<>();
+
+    private record Binding(BatchDeadline deadline, String operationId) {}
+
+    private final Set<String> committing = new HashSet<>();
+    private boolean expired;
+
+    /**
+     * Разрешение на коммит операции, которая выполняется в текущем потоке. Вне операции пакета
+     * (атомарный пакет, обычный запрос) разрешено всегда.
+     */
+    public static boolean tryCommit() {
+        Binding binding = CURRENT.get();
+        return binding == null || binding.deadline().enter(binding.operationId());
+    }
+
+    // Операция пакета выполняется в текущем потоке; ее транзакция коммитится под контролем срока
+    public static boolean isBound() {
+        return CURRENT.get() != null;
+    }
+
+    void bind(String operationId) {
+        CURRENT.set(new Binding(this, operationId));
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    synchronized boolean isExpired() {
+        return expired;
+    }
+
+    /**
+     * Срок истек: новые коммиты запрещены. Возвращает операции, которые уже коммитят.
+     */
+    synchronized Set<String> expire() {
+        expired = true;
+        return Set.copyOf(committing);
+    }
+
+    private synchronized boolean enter(String operationId) {
+        if (expired) {
+            return false;
+        }
+        committing.add(operationId);
+        return true;
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.BatchOperationDto;
+import com.example.taskmanager.backend.dto.BatchRequestDto;
+import com.example.taskmanager.backend.dto.BatchResponseDto;
+import com.example.taskmanager.backend.dto.BatchResultDto;
+import com.example.taskmanager.backend.exception.ErrorResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Выполнение пакета запросов POST /api/batch.
+ * <p>
+ * Независимые операции выполняются параллельно, операции с {@code dependsOn} — после успешного
+ * завершения своих зависимостей. В режиме atomic операции идут последовательно в одной транзакции,
+ * которая откатывается при первой ошибке. Сам вызов операции (диспетчеризация в контроллеры)
+ * передается снаружи, поэтому сервис не зависит от Servlet API.
+ * <p>
+ * Параллельная операция коммитит только до срока пакета ({@link BatchDeadline}): 504 в ответе означает,
+ * что изменения операции не применены, и ее можно безопасно повторить.
+ */
+@Service
+public class BatchService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchService.class);
+
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+
+    public static final String TIMED_OUT_MESSAGE = "Batch operation timed out, its changes were not applied";
+
+    // Потоковые и асинхронные ответы, а также вложенные пакеты внутри пакета не поддерживаются
+    private static final List<String> UNSUPPORTED_PATHS = List.of("/api/batch", "/api/stream/", "/api/rx/");
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOperations;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    public BatchService(PlatformTransactionManager transactionManager,
+                        @Value("${app.batch.max-operations:20}") int maxOperations,
+                        @Value("${app.batch.parallelism:4}") int parallelism,
+                        @Value("${app.batch.timeout-ms:30000}") long timeoutMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs)));
+        this.maxOperations = maxOperations;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // При переполнении очереди операция выполняется в потоке, который ее запланировал
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallelism * maxOperations),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public BatchResponseDto execute(BatchRequestDto request, Function<BatchOperationDto, BatchResultDto> dispatcher) {
+        List<BatchOperationDto> operations = validate(request);
+        log.info("Executing batch of {} operations (atomic: {})", operations.size(), request.isAtomic());
+
+        if (request.isAtomic()) {
+            return executeAtomic(operations, dispatcher);
+        }
+        return new BatchResponseDto(null, executeConcurrently(operations, dispatcher));
+    }
+
+    private BatchResponseDto executeAtomic(List<BatchOperationDto> operations,
+                                           Function<BatchOperationDto, BatchResultDto> dispatcher) {
+        List<BatchResultDto> results = new ArrayList<>(operations.size());
+        Boolean committed = transactionTemplate.execute(status -> {
+            String failedId = null;
+            for (BatchOperationDto operation : operations) {
+                if (failedId != null) {
+                    results.add(error(operation.getId(), HttpStatus.FAILED_DEPENDENCY,
+                            "Batch rolled back after operation " + failedId + " failed"));
+                    continue;
+                }
+                BatchResultDto result = dispatcher.apply(operation);
+                results.add(result);
+                if (result.getStatus() >= 400) {
+                    failedId = operation.getId();
+                    status.setRollbackOnly();
+                }
+            }
+            return failedId == null;
+        });
+        if (!Boolean.TRUE.equals(committed)) {
+            log.warn("Atomic batch rolled back");
+        }
+        return new BatchResponseDto(Boolean.TRUE.equals(committed), results);
+    }
+
+    private List<BatchResultDto> executeConcurrently(List<BatchOperationDto> operations,
+                                                     Function<BatchOperationDto, BatchResultDto> dispatcher) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        BatchDeadline deadline = new BatchDeadline();
+        Map<String, CompletableFuture<BatchResultDto>> futures = new LinkedHashMap<>();
+
+        for (BatchOperationDto operation : operations) {
+            List<CompletableFuture<BatchResultDto>> dependencies = operation.getDependsOn().stream()
+                    .map(futures::get)
+                    .toList();
+            CompletableFuture<BatchResultDto> future = CompletableFuture
+                    .allOf(dependencies.toArray(CompletableFuture[]::new))
+                    .thenApplyAsync(ignored -> {
+                        if (deadline.isExpired()) {
+                            return timedOut(operation.getId());
+                        }
+                        BatchResultDto failedDependency = failedDependency(operation, dependencies);
+                        if (failedDependency != null) {
+                            return failedDependency;
+                        }
+                        return runAs(securityContext, deadline, operation, dispatcher);
+                    }, executor)
+                    .exceptionally(ex -> {
+                        log.error("Batch operation {} failed", operation.getId(), ex);
+                        return error(operation.getId(), HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+                    });
+            futures.put(operation.getId(), future);
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // Незавершенные операции больше не закоммитятся; уже коммитящие дожидаемся — их изменения применены
+            Set<String> committing = deadline.expire();
+            log.warn("Batch timed out after {} ms, waiting for {} committing operations", timeoutMs, committing.size());
+            committing.forEach(id -> futures.get(id).join());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // Не возникает: ошибки операций уже преобразованы в результаты
+        }
+
+        List<BatchResultDto> results = new ArrayList<>(futures.size());
+        futures.forEach((id, future) -> results.add(future.isDone()
+                ? future.join()
+                : timedOut(id)));
+        return results;
+    }
+
+    private static BatchResultDto timedOut(String id) {
+        return error(id, HttpStatus.GATEWAY_TIMEOUT, TIMED_OUT_MESSAGE);
+    }
+
+    private BatchResultDto failedDependency(BatchOperationDto operation, List<CompletableFuture<BatchResultDto>> dependencies) {
+        for (CompletableFuture<BatchResultDto> dependency : dependencies) {
+            BatchResultDto result = dependency.join();
+            if (result.getStatus() >= 400) {
+                return error(operation.getId(), HttpStatus.FAILED_DEPENDENCY,
+                        "Dependency " + result.getId() + " failed");
+            }
+        }
+        return null;
+    }
+
+    // Контекст безопасности пакета переносится в рабочий поток; пользователь аутентифицирован один раз
+    private static BatchResultDto runAs(SecurityContext securityContext, BatchDeadline deadline,
+                                        BatchOperationDto operation,
+                                        Function<BatchOperationDto, BatchResultDto> dispatcher) {
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(securityContext);
+        deadline.bind(operation.getId());
+        try {
+            return dispatcher.apply(operation);
+        } finally {
+            BatchDeadline.unbind();
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private List<BatchOperationDto> validate(BatchRequestDto request) {
+        List<BatchOperationDto> operations = request.getOperations();
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("operations cannot be empty");
+        }
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + maxOperations + " operations");
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDto operation = operations.get(i);
+            if (operation.getId() == null || operation.getId().isBlank()) {
+                operation.setId(String.valueOf(i));
+            }
+            if (operation.getDependsOn() == null) {
+                operation.setDependsOn(List.of());
+            }
+
+            String method = operation.getMethod() == null ? "" : operation.getMethod().toUpperCase(Locale.ROOT);
+            if (!METHODS.contains(method)) {
+                throw new IllegalArgumentException("Unsupported method in operation " + operation.getId() + ": " + operation.getMethod());
+            }
+            operation.setMethod(method);
+
+            String path = operation.getPath();
+            if (path == null || !path.startsWith("/api/") || UNSUPPORTED_PATHS.stream().anyMatch(path::startsWith)
+                    || !isNormalized(path)) {
+                throw new IllegalArgumentException("Unsupported path in operation " + operation.getId() + ": " + path);
+            }
+
+            // Сохраненный ответ пережил бы откат транзакции пакета и повтор вернул бы несуществующий результат
+            if (request.isAtomic() && operation.getIdempotencyKey() != null) {
+                throw new IllegalArgumentException("Idempotency-Key is not supported in atomic batches: operation "
+                        + operation.getId());
+            }
+
+            // Зависимости только на операции выше по списку, поэтому циклы невозможны
+            for (String dependency : operation.getDependsOn()) {
+                if (!ids.contains(dependency)) {
+                    throw new IllegalArgumentException("Operation " + operation.getId()
+                            + " depends on unknown or later operation " + dependency);
+                }
+            }
+            if (!ids.add(operation.getId())) {
+                throw new IllegalArgumentException("Duplicate operation id: " + operation.getId());
+            }
+        }
+        return operations;
+    }
+
+    // Путь операции не проходит через StrictHttpFirewall, поэтому обходы вида /api/tasks/../admin отклоняются здесь
+    private static boolean isNormalized(String path) {
+        int queryStart = path.indexOf('?');
+        String pathOnly = queryStart < 0 ? path : path.substring(0, queryStart);
+        return !pathOnly.contains("..") && !pathOnly.contains("//") && !pathOnly.contains("./")
+                && pathOnly.indexOf(';') < 0 && pathOnly.indexOf('\\') < 0 && pathOnly.indexOf('%') < 0;
+    }
+
+    public static BatchResultDto error(String id, HttpStatus status, String message) {
+        return new BatchResultDto(id, status.value(),
+                new String(ErrorResponses.render(status.value(), message, null), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+}
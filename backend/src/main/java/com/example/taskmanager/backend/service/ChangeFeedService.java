@@ -0,0 +1,457 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.ChangeEventDto;
+import com.example.taskmanager.backend.exception.ServiceUnavailableException;
+import com.example.taskmanager.backend.exception.UserNotFoundException;
+import com.example.taskmanager.backend.model.ChangeAction;
+import com.example.taskmanager.backend.model.SyncTombstone;
+import com.example.taskmanager.backend.model.User;
+import com.example.taskmanager.backend.repository.ChangeSequence;
+import com.example.taskmanager.backend.repository.SharedTaskRepository;
+import com.example.taskmanager.backend.repository.SyncTombstoneRepository;
+import com.example.taskmanager.backend.repository.TaskRepository;
+import com.example.taskmanager.backend.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Лента изменений задач и комментариев для SSE-подписчиков.
+ * <p>
+ * События публикуются после коммита транзакции. Буфер последних событий, нумерация и раскладка
+ * по подписчикам выполняются в одном потоке-диспетчере, поэтому подписчик не держит поток запроса, а
+ * переподключение по {@code Last-Event-ID} не теряет и не дублирует события.
+ * <p>
+ * Диспетчер только кладет события в ограниченную очередь подписчика; отправку в сокет выполняет
+ * отдельная задача подписчика в пуле отправителей. Медленный клиент не задерживает остальных:
+ * при переполнении очереди или зависшей отправке его поток закрывается, и клиент переподключается
+ * по {@code Last-Event-ID} или, получив reset, дочитывает изменения через {@link SyncService}.
+ * <p>
+ * Удаления дополнительно сохраняются как tombstone-записи для дельта-синхронизации ({@link SyncService}).
+ */
+@Service
+public class ChangeFeedService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    // Сколько событий задача подписчика отправляет подряд, прежде чем уступить пул другим
+    private static final int DRAIN_BATCH = 64;
+
+    private final TaskRepository taskRepository;
+    private final SharedTaskRepository sharedTaskRepository;
+    private final UserRepository userRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final ChangeSequence changeSequence;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long emitterTimeoutMs;
+    private final int subscriberQueueCapacity;
+    private final long sendTimeoutNanos;
+
+    private final ThreadPoolExecutor dispatcher;
+    private final ThreadPoolExecutor senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Доступны только из потока-диспетчера
+    private final Deque<Change> buffer = new ArrayDeque<>();
+    // Номера растут и между перезапусками, поэтому Last-Event-ID прошлого запуска не совпадет с новыми событиями
+    private long sequence = System.currentTimeMillis() * 1000;
+
+    public ChangeFeedService(TaskRepository taskRepository,
+                             SharedTaskRepository sharedTaskRepository,
+                             UserRepository userRepository,
+                             SyncTombstoneRepository tombstoneRepository,
+                             ChangeSequence changeSequence,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             @Value("${app.change-feed.buffer-size:1024}") int bufferSize,
+                             @Value("${app.change-feed.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                             @Value("${app.change-feed.dispatch-queue-capacity:10000}") int dispatchQueueCapacity,
+                             @Value("${app.change-feed.subscriber-queue-capacity:256}") int subscriberQueueCapacity,
+                             @Value("${app.change-feed.sender-threads:4}") int senderThreads,
+                             @Value("${app.change-feed.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.taskRepository = taskRepository;
+        this.sharedTaskRepository = sharedTaskRepository;
+        this.userRepository = userRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeSequence = changeSequence;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(dispatchQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "change-feed-dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // У каждого подписчика в очереди пула не больше одной задачи, поэтому очередь ограничена числом подписчиков
+        AtomicInteger senderNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "change-feed-sender-" + senderNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void taskChanged(ChangeAction action, Long taskId) {
+        publish(new ChangeEventDto("task", action.name(), taskId, null), taskId);
+    }
+
+    public void commentChanged(ChangeAction action, Long commentId, Long taskId) {
+        publish(new ChangeEventDto("comment", action.name(), taskId, commentId), commentId);
+    }
+
+    private void publish(ChangeEventDto event, Long entityId) {
+        // Получатели определяются сразу: после удаления задачи владельца уже не найти
+        Set<Long> recipients = resolveRecipients(event.getTaskId());
+        if (ChangeAction.DELETED.name().equals(event.getAction())) {
+            saveTombstones(event.getEntity(), entityId, recipients);
+        }
+        eventPublisher.publishEvent(new PendingChange(event, recipients));
+    }
+
+    // В той же транзакции, что и удаление: tombstone появляется только вместе с ним
+    private void saveTombstones(String entityType, Long entityId, Set<Long> recipients) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        long changeSeq = changeSequence.next();
+        List<SyncTombstone> tombstones = new ArrayList<>(recipients.size());
+        for (Long userId : recipients) {
+            SyncTombstone tombstone = new SyncTombstone();
+            tombstone.setChangeSeq(changeSeq);
+            tombstone.setEntityType(entityType);
+            tombstone.setEntityId(entityId);
+            tombstone.setUserId(userId);
+            tombstones.add(tombstone);
+        }
+        tombstoneRepository.saveAll(tombstones);
+    }
+
+    private Set<Long> resolveRecipients(Long taskId) {
+        if (taskId == null) {
+            return Set.of();
+        }
+        Set<Long> recipients = new HashSet<>(sharedTaskRepository.findSharedWithUserIdsByTaskId(taskId));
+        taskRepository.findOwnerIdById(taskId).ifPresent(recipients::add);
+        return recipients;
+    }
+
+    // Без транзакции (fallbackExecution) событие рассылается сразу
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(PendingChange change) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(change.event());
+        } catch (JsonProcessingException ex) {
+            log.error("Failed to serialize change event: {}", ex.getMessage());
+            return;
+        }
+
+        boolean accepted = dispatch(() -> {
+            Change stored = append(change.event().getEntity(), json, change.recipients());
+            for (Subscriber subscriber : subscribers) {
+                deliver(subscriber, stored);
+            }
+        });
+        if (!accepted) {
+            log.warn("Change feed dispatcher is saturated, dropping {} event for task {}",
+                    change.event().getEntity(), change.event().getTaskId());
+        }
+    }
+
+    public SseEmitter subscribe(String email, boolean admin, String lastEventId) {
+        Long userId = userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        register(emitter, userId, admin, parseEventId(lastEventId));
+        log.debug("User {} subscribed to change feed (last event {})", userId, lastEventId);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter, Long userId, boolean admin, Long lastId) {
+        Subscriber subscriber = new Subscriber(emitter, userId, admin, subscriberQueueCapacity);
+        emitter.onCompletion(() -> {
+            subscriber.closed = true;
+            subscriber.completed = true;
+            subscribers.remove(subscriber);
+        });
+        emitter.onTimeout(() -> {
+            subscriber.closed = true;
+            subscriber.completed = true;
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(ex -> {
+            subscriber.closed = true;
+            subscriber.completed = true;
+            subscribers.remove(subscriber);
+        });
+
+        // Досылка и регистрация в потоке-диспетчере: между ними не может проскочить новое событие
+        boolean accepted = dispatch(() -> {
+            if (lastId != null) {
+                replay(subscriber, lastId);
+            }
+            if (!subscriber.closed) {
+                subscribers.add(subscriber);
+            }
+        });
+        if (!accepted) {
+            throw new ServiceUnavailableException("Change feed is overloaded, retry later", 1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-feed.heartbeat-ms:20000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // Отправка, висящая дольше send-timeout-ms, означает, что клиент не читает поток
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > sendTimeoutNanos) {
+                close(subscriber, "send timed out");
+            }
+        }
+        // Комментарий SSE не виден клиенту, но не дает прокси закрыть соединение и выявляет отключившихся
+        dispatch(() -> {
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    /**
+     * События после lastId, видимые пользователю, или null, если часть из них уже вытеснена
+     * из буфера и клиенту нужно перечитать данные целиком. Вызывается из потока-диспетчера.
+     */
+    List<Change> missedChanges(long lastId, Long userId, boolean admin) {
+        long oldest = buffer.isEmpty() ? sequence + 1 : buffer.peekFirst().id();
+        if (lastId < oldest - 1 || lastId > sequence) {
+            return null;
+        }
+        List<Change> missed = new ArrayList<>();
+        for (Change change : buffer) {
+            if (change.id() > lastId && change.isVisibleTo(userId, admin)) {
+                missed.add(change);
+            }
+        }
+        return missed;
+    }
+
+    long lastEventId() {
+        return sequence;
+    }
+
+    // Дожидается выполнения уже поставленных в диспетчер задач
+    void awaitDispatched() throws Exception {
+        dispatcher.submit(() -> {}).get(5, TimeUnit.SECONDS);
+    }
+
+    private void replay(Subscriber subscriber, long lastId) {
+        List<Change> missed = missedChanges(lastId, subscriber.userId, subscriber.admin);
+        // Пропущенное не помещается в очередь подписчика: дешевле дочитать изменения через /api/sync
+        if (missed == null || missed.size() > subscriberQueueCapacity) {
+            enqueue(subscriber, SseEmitter.event()
+                    .id(String.valueOf(sequence))
+                    .name("reset")
+                    .data("{}", MediaType.APPLICATION_JSON));
+            return;
+        }
+        for (Change change : missed) {
+            deliver(subscriber, change);
+        }
+    }
+
+    private Change append(String name, String json, Set<Long> recipients) {
+        Change change = new Change(++sequence, name, json, recipients);
+        buffer.addLast(change);
+        if (buffer.size() > bufferSize) {
+            buffer.removeFirst();
+        }
+        return change;
+    }
+
+    private void deliver(Subscriber subscriber, Change change) {
+        if (!change.isVisibleTo(subscriber.userId, subscriber.admin)) {
+            return;
+        }
+        enqueue(subscriber, SseEmitter.event()
+                .id(String.valueOf(change.id()))
+                .name(change.name())
+                .data(change.json(), MediaType.APPLICATION_JSON));
+    }
+
+    // Вызывается из потока-диспетчера; в сокет не пишет
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            close(subscriber, "queue overflow");
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    // Соединение закрывает задача подписчика: emitter нельзя завершать, пока в нем идет отправка
+    private void close(Subscriber subscriber, String reason) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        log.debug("Closing change feed subscriber {}: {}", subscriber.userId, reason);
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException ex) {
+            // Пул остановлен вместе с сервисом
+            subscriber.scheduled.set(false);
+        }
+    }
+
+    // Не более одной задачи на подписчика одновременно, поэтому порядок событий сохраняется
+    private void drain(Subscriber subscriber) {
+        try {
+            for (int i = 0; i < DRAIN_BATCH && !subscriber.closed; i++) {
+                SseEmitter.SseEventBuilder event = subscriber.queue.poll();
+                if (event == null) {
+                    break;
+                }
+                send(subscriber, event);
+            }
+            if (subscriber.closed && !subscriber.completed) {
+                subscriber.completed = true;
+                subscriber.queue.clear();
+                // Клиент переподключится с Last-Event-ID
+                subscriber.emitter.complete();
+            }
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (!subscriber.completed && (subscriber.closed || !subscriber.queue.isEmpty())) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        subscriber.sendingSince = System.nanoTime();
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException ex) {
+            // Клиент отключился; завершение соединения обработает контейнер
+            subscriber.closed = true;
+            subscriber.completed = true;
+            subscribers.remove(subscriber);
+            log.debug("Dropping change feed subscriber {}: {}", subscriber.userId, ex.getMessage());
+        } finally {
+            subscriber.sendingSince = 0;
+        }
+    }
+
+    private boolean dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            return false;
+        }
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException ex) {
+            // Некорректный ID трактуется как слишком старый: клиент получит reset
+            return Long.MIN_VALUE;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    public record PendingChange(ChangeEventDto event, Set<Long> recipients) {}
+
+    record Change(long id, String name, String json, Set<Long> recipients) {
+
+        boolean isVisibleTo(Long userId, boolean admin) {
+            return admin || recipients.contains(userId);
+        }
+
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long userId;
+        private final boolean admin;
+        private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> queue;
+        // Есть ли задача отправки в пуле
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        // Соединение уже завершено (нами или контейнером), повторно завершать его нельзя
+        private volatile boolean completed;
+        // System.nanoTime() начала текущей отправки, 0 — отправки нет
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter, Long userId, boolean admin, int queueCapacity) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.admin = admin;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+    }
+
+}
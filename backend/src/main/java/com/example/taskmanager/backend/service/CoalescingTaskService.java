@@ -0,0 +1,189 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.TaskDto;
+import com.example.taskmanager.backend.dto.TaskRequestDto;
+import com.example.taskmanager.backend.json.SharedJsonList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Чтения задач через кеш результатов ({@link TaskResultCache}) и {@link SingleFlight}: повторные чтения
+ * отдаются из кеша, а одинаковые одновременные промахи выполняют один запрос к базе и один цикл маппинга.
+ * JSON ответа строится один раз на результат ({@link SharedJsonList}).
+ * <p>
+ * Методы чтения TaskService не зависят от текущего пользователя, поэтому область видимости
+ * результата общая и в ключ входят только операция и аргументы. Записи идут напрямую и после
+ * коммита инвалидируют затронутые результаты.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "app.single-flight", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingTaskService implements TaskService, DisposableBean {
+
+    private final TaskServiceImpl delegate;
+    private final SingleFlight singleFlight;
+    // null, если кеш выключен (app.task-cache.enabled=false)
+    private final TaskResultCache cache;
+
+    public CoalescingTaskService(TaskServiceImpl delegate,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${app.task-cache.enabled:true}") boolean cacheEnabled,
+                                 @Value("${app.task-cache.max-entries:500}") int maxEntries,
+                                 @Value("${app.task-cache.ttl-ms:30000}") long ttlMs,
+                                 @Value("${app.task-cache.max-stale-ms:60000}") long maxStaleMs) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.delegate = delegate;
+        this.singleFlight = new SingleFlight("task.reads.single.flight", registry);
+        this.cache = cacheEnabled ? new TaskResultCache(maxEntries, ttlMs, maxStaleMs, registry) : null;
+    }
+
+    private record Key(String operation, Object argument, List<String> fields) {}
+
+    private <T> List<T> read(String operation, Object argument, List<String> fields, Predicate<TaskDto> matcher,
+                             Supplier<List<T>> loader) {
+        Key key = new Key(operation, argument, fields);
+        Supplier<List<T>> coalesced = () -> singleFlight.execute(operation, key, () -> new SharedJsonList<>(loader.get()));
+        // Внутри транзакции (например, atomic-пакет) чтение должно видеть свои же незакоммиченные записи
+        if (cache == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return coalesced.get();
+        }
+        return cache.get(key, matcher, coalesced);
+    }
+
+    private void invalidateAfterCommit(Long taskId, TaskDto current) {
+        if (cache == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(taskId, current);
+                }
+            });
+        } else {
+            cache.invalidate(taskId, current);
+        }
+    }
+
+    private static Predicate<TaskDto> byStatus(String status) {
+        return task -> status.equals(task.getStatus());
+    }
+
+    private static Predicate<TaskDto> byPriority(String priority) {
+        return task -> priority.equals(task.getPriority());
+    }
+
+    private static Predicate<TaskDto> byDeadline(LocalDate deadline) {
+        return task -> task.getDeadline() != null && !task.getDeadline().isAfter(deadline);
+    }
+
+    // Как в TaskRepository.searchTasks: подстрока в title или description без учета регистра
+    private static Predicate<TaskDto> bySearch(String query) {
+        String lowerQuery = query.toLowerCase();
+        return task -> (task.getTitle() != null && task.getTitle().toLowerCase().contains(lowerQuery))
+                || (task.getDescription() != null && task.getDescription().toLowerCase().contains(lowerQuery));
+    }
+
+    private static Predicate<TaskDto> any() {
+        return task -> true;
+    }
+
+    @Override
+    public List<TaskDto> filterByStatus(String status) {
+        return read("filterByStatus", status, null, byStatus(status), () -> delegate.filterByStatus(status));
+    }
+
+    @Override
+    public List<TaskDto> filterByPriority(String priority) {
+        return read("filterByPriority", priority, null, byPriority(priority), () -> delegate.filterByPriority(priority));
+    }
+
+    @Override
+    public List<TaskDto> findByDeadlineBefore(LocalDate deadline) {
+        return read("findByDeadlineBefore", deadline, null, byDeadline(deadline), () -> delegate.findByDeadlineBefore(deadline));
+    }
+
+    @Override
+    public List<TaskDto> searchTasks(String query) {
+        return read("searchTasks", query, null, bySearch(query), () -> delegate.searchTasks(query));
+    }
+
+    @Override
+    public List<TaskDto> getAllTasks() {
+        return read("getAllTasks", null, null, any(), delegate::getAllTasks);
+    }
+
+    @Override
+    public List<Map<String, Object>> filterByStatus(String status, List<String> fields) {
+        return read("filterByStatus", status, fields, byStatus(status), () -> delegate.filterByStatus(status, fields));
+    }
+
+    @Override
+    public List<Map<String, Object>> filterByPriority(String priority, List<String> fields) {
+        return read("filterByPriority", priority, fields, byPriority(priority), () -> delegate.filterByPriority(priority, fields));
+    }
+
+    @Override
+    public List<Map<String, Object>> findByDeadlineBefore(LocalDate deadline, List<String> fields) {
+        return read("findByDeadlineBefore", deadline, fields, byDeadline(deadline), () -> delegate.findByDeadlineBefore(deadline, fields));
+    }
+
+    @Override
+    public List<Map<String, Object>> searchTasks(String query, List<String> fields) {
+        return read("searchTasks", query, fields, bySearch(query), () -> delegate.searchTasks(query, fields));
+    }
+
+    @Override
+    public List<Map<String, Object>> getAllTasks(List<String> fields) {
+        return read("getAllTasks", null, fields, any(), () -> delegate.getAllTasks(fields));
+    }
+
+    // Чтения не зависят от пользователя, поэтому шаринг не меняет ни один закешированный результат
+    @Override
+    public void shareTask(Long taskId, Long userId) {
+        delegate.shareTask(taskId, userId);
+    }
+
+    @Override
+    public TaskDto createTask(TaskRequestDto taskRequestDto) {
+        TaskDto created = delegate.createTask(taskRequestDto);
+        invalidateAfterCommit(created.getId(), created);
+        return created;
+    }
+
+    @Override
+    public TaskDto updateTask(Long id, TaskRequestDto taskRequestDto) {
+        TaskDto updated = delegate.updateTask(id, taskRequestDto);
+        invalidateAfterCommit(id, updated);
+        return updated;
+    }
+
+    @Override
+    public void deleteTask(Long id) {
+        delegate.deleteTask(id);
+        invalidateAfterCommit(id, null);
+    }
+
+    @Override
+    public void destroy() {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+}
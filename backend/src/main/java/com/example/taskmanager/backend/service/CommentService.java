@@ -3,6 +3,7 @@ package com.example.taskmanager.backend.service;
 import com.example.taskmanager.backend.dto.CommentDto;
 
 import java.util.List;
+import java.util.Map;
 
 public interface CommentService {
 
@@ -10,5 +11,6 @@ public interface CommentService {
     List<CommentDto> getCommentsByTaskId(Long taskId);
     CommentDto updateComment(Long commentId, String newContent);
     void deleteComment(Long commentId);
+    List<Map<String, Object>> getCommentsByTaskId(Long taskId, List<String> fields);
 
 }
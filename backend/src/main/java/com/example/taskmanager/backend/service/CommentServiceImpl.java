@@ -5,22 +5,28 @@ import com.example.taskmanager.backend.exception.CommentNotFoundException;
 import com.example.taskmanager.backend.exception.TaskNotFoundException;
 import com.example.taskmanager.backend.exception.UserNotFoundException;
 import com.example.taskmanager.backend.mapper.CommentMapper;
+import com.example.taskmanager.backend.model.ChangeAction;
 import com.example.taskmanager.backend.model.Comment;
 import com.example.taskmanager.backend.model.Task;
 import com.example.taskmanager.backend.model.User;
+import com.example.taskmanager.backend.repository.ChangeSequence;
 import com.example.taskmanager.backend.repository.CommentRepository;
 import com.example.taskmanager.backend.repository.TaskRepository;
 import com.example.taskmanager.backend.repository.UserRepository;
+import com.example.taskmanager.backend.timing.RequestTimings;
 import com.example.taskmanager.backend.validation.CommentValidation;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.calls", description = "Service method calls")
 public class CommentServiceImpl implements CommentService {
 
     private static final Logger log = LoggerFactory.getLogger(CommentServiceImpl.class);
@@ -28,11 +34,16 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final ChangeFeedService changeFeedService;
+    private final ChangeSequence changeSequence;
 
-    public CommentServiceImpl(CommentRepository commentRepository, TaskRepository taskRepository, UserRepository userRepository) {
+    public CommentServiceImpl(CommentRepository commentRepository, TaskRepository taskRepository, UserRepository userRepository,
+                              ChangeFeedService changeFeedService, ChangeSequence changeSequence) {
         this.commentRepository = commentRepository;
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.changeFeedService = changeFeedService;
+        this.changeSequence = changeSequence;
     }
 
     @Override
@@ -65,11 +76,13 @@ public class CommentServiceImpl implements CommentService {
         comment.setTask(task);
         comment.setUser(user);
         comment.setContent(content);
+        comment.setChangeSeq(changeSequence.next());
         log.debug("Created new comment with content: {}", content);
 
         // Сохраняем комментарий
         Comment savedComment = commentRepository.save(comment);
         log.info("Comment successfully created with ID: {}", savedComment.getId());
+        changeFeedService.commentChanged(ChangeAction.CREATED, savedComment.getId(), task.getId());
 
         // Преобразуем в DTO
         CommentDto commentDto = CommentMapper.toDto(savedComment);
@@ -92,15 +105,19 @@ public class CommentServiceImpl implements CommentService {
         log.debug("Found {} comments for task ID: {}", comments.size(), taskId);
 
         // Преобразуем в DTO
-        List<CommentDto> commentDtos = comments.stream()
-                .map(CommentMapper::toDto)
-                .collect(Collectors.toList());
+        List<CommentDto> commentDtos;
+        try (RequestTimings.Span ignored = RequestTimings.start("mapping")) {
+            commentDtos = comments.stream()
+                    .map(CommentMapper::toDto)
+                    .collect(Collectors.toList());
+        }
         log.info("Returning {} CommentDTOs for task ID: {}", commentDtos.size(), taskId);
 
         return commentDtos;
     }
 
     @Override
+    @Transactional
     public CommentDto updateComment(Long commentId, String newContent) {
         log.info("Updating comment with ID: {}", commentId);
 
@@ -118,11 +135,13 @@ public class CommentServiceImpl implements CommentService {
 
         // Обновляем содержимое комментария
         comment.setContent(newContent);
+        comment.setChangeSeq(changeSequence.next());
         log.debug("Updated content for comment ID: {}", commentId);
 
         // Сохраняем обновленный комментарий
         Comment updatedComment = commentRepository.save(comment);
         log.info("Comment successfully updated with ID: {}", updatedComment.getId());
+        changeFeedService.commentChanged(ChangeAction.UPDATED, updatedComment.getId(), comment.getTask().getId());
 
         // Преобразуем в DTO
         CommentDto commentDto = CommentMapper.toDto(updatedComment);
@@ -132,18 +151,38 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public void deleteComment(Long commentId) {
         log.info("Deleting comment with ID: {}", commentId);
 
-        if (!commentRepository.existsById(commentId)) {
-            log.error("Comment not found with ID: {}", commentId);
-            throw new CommentNotFoundException("Comment not found");
-        }
+        // Id задачи нужен для получателей события, а его отсутствие означает, что комментария нет
+        Long taskId = commentRepository.findTaskIdById(commentId)
+                .orElseThrow(() -> {
+                    log.error("Comment not found with ID: {}", commentId);
+                    return new CommentNotFoundException("Comment not found");
+                });
+        changeFeedService.commentChanged(ChangeAction.DELETED, commentId, taskId);
 
         log.debug("Deleting comment with ID: {}", commentId);
-        commentRepository.deleteById(commentId);
+        commentRepository.deleteByIdWithoutLoading(commentId);
 
         log.info("Comment successfully deleted with ID: {}", commentId);
     }
 
+    @Override
+    public List<Map<String, Object>> getCommentsByTaskId(Long taskId, List<String> fields) {
+        log.info("Fetching comments for task ID: {} with fields: {}", taskId, fields);
+
+        if (!taskRepository.existsById(taskId)) {
+            log.error("Task not found with ID: {}", taskId);
+            throw new TaskNotFoundException("Task not found");
+        }
+
+        List<Map<String, Object>> comments = commentRepository.findFields(fields,
+                (root, query, cb) -> cb.equal(root.get("task").get("id"), taskId));
+        log.info("Returning {} comments for task ID: {} with fields: {}", comments.size(), taskId, fields);
+
+        return comments;
+    }
+
 }
@@ -0,0 +1,214 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.model.IdempotencyRecord;
+import com.example.taskmanager.backend.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Хранилище ответов для запросов с заголовком Idempotency-Key.
+ * <p>
+ * Таблица idempotency_keys — источник истины, общий для всех экземпляров; уникальный индекс
+ * (scope, idempotency_key) не дает двум запросам с одним ключом выполниться одновременно.
+ * Перед ней — память: готовые ответы (LRU) и ожидание запроса, который выполняется на этом же экземпляре.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final long ttlMinutes;
+    private final long waitMs;
+    private final long lockTimeoutMs;
+
+    private final Map<ScopedKey, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<ScopedKey, Completed> completed;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              @Value("${app.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                              @Value("${app.idempotency.wait-ms:5000}") long waitMs,
+                              @Value("${app.idempotency.lock-timeout-ms:60000}") long lockTimeoutMs,
+                              @Value("${app.idempotency.memory-entries:1000}") int memoryEntries) {
+        this.repository = repository;
+        this.ttlMinutes = ttlMinutes;
+        this.waitMs = waitMs;
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.completed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ScopedKey, Completed> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+    }
+
+    public record StoredResponse(int status, String contentType, byte[] body) {}
+
+    public sealed interface Decision permits Proceed, Replay, InProgress, Mismatch {}
+
+    // Запрос выполняется впервые; после ответа нужно вызвать complete или abandon
+    public record Proceed(ScopedKey key, Long recordId, CompletableFuture<StoredResponse> result) implements Decision {}
+
+    public record Replay(StoredResponse response) implements Decision {}
+
+    public record InProgress() implements Decision {}
+
+    public record Mismatch() implements Decision {}
+
+    public record ScopedKey(String scope, String key) {}
+
+    private record InFlight(String requestHash, CompletableFuture<StoredResponse> result) {}
+
+    private record Completed(String requestHash, StoredResponse response, LocalDateTime expiresAt) {}
+
+    public Decision begin(String scope, String key, String requestHash) {
+        ScopedKey scopedKey = new ScopedKey(scope, key);
+
+        Completed cached;
+        synchronized (completed) {
+            cached = completed.get(scopedKey);
+        }
+        if (cached != null && cached.expiresAt().isAfter(LocalDateTime.now())) {
+            return cached.requestHash().equals(requestHash) ? new Replay(cached.response()) : new Mismatch();
+        }
+
+        CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        InFlight existing = inFlight.putIfAbsent(scopedKey, new InFlight(requestHash, result));
+        if (existing != null) {
+            return existing.requestHash().equals(requestHash) ? awaitFirst(existing.result()) : new Mismatch();
+        }
+
+        try {
+            return claim(scopedKey, requestHash, result);
+        } catch (RuntimeException ex) {
+            release(scopedKey, result);
+            throw ex;
+        }
+    }
+
+    public void complete(Proceed proceed, StoredResponse response) {
+        try {
+            repository.findById(proceed.recordId()).ifPresent(record -> {
+                record.setResponseStatus(response.status());
+                record.setResponseContentType(response.contentType());
+                record.setResponseBody(response.body());
+                repository.save(record);
+                remember(proceed.key(), record);
+            });
+        } finally {
+            proceed.result().complete(response);
+            inFlight.remove(proceed.key());
+        }
+    }
+
+    // Ответ не сохраняется (5xx или исключение): повтор с тем же ключом выполнится заново
+    public void abandon(Proceed proceed) {
+        try {
+            repository.deleteInProgress(proceed.recordId());
+        } finally {
+            release(proceed.key(), proceed.result());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = repository.deleteExpired(now);
+        synchronized (completed) {
+            completed.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        }
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Decision claim(ScopedKey scopedKey, String requestHash, CompletableFuture<StoredResponse> result) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setScope(scopedKey.scope());
+        record.setIdempotencyKey(scopedKey.key());
+        record.setRequestHash(requestHash);
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plusMinutes(ttlMinutes));
+
+        try {
+            return new Proceed(scopedKey, repository.saveAndFlush(record).getId(), result);
+        } catch (DataIntegrityViolationException ex) {
+            // Ключ уже занят: запрос завершен раньше или выполняется на другом экземпляре
+        }
+
+        Optional<IdempotencyRecord> stored = repository.findByScopeAndIdempotencyKey(scopedKey.scope(), scopedKey.key());
+        if (stored.isEmpty()) {
+            // Запись успели удалить (abandon или очистка) — следующий повтор займет ключ
+            release(scopedKey, result);
+            return new InProgress();
+        }
+
+        IdempotencyRecord existing = stored.get();
+        boolean expired = !existing.getExpiresAt().isAfter(now);
+        boolean abandoned = !existing.isCompleted() && existing.getCreatedAt().plusNanos(
+                TimeUnit.MILLISECONDS.toNanos(lockTimeoutMs)).isBefore(now);
+        if (expired || abandoned) {
+            // Просроченный ответ или запрос, оставшийся незавершенным после сбоя экземпляра
+            log.warn("Taking over {} idempotency key for scope {}", expired ? "expired" : "abandoned", scopedKey.scope());
+            repository.delete(existing);
+            return claim(scopedKey, requestHash, result);
+        }
+
+        if (!existing.getRequestHash().equals(requestHash)) {
+            release(scopedKey, result);
+            return new Mismatch();
+        }
+        if (!existing.isCompleted()) {
+            release(scopedKey, result);
+            return new InProgress();
+        }
+
+        StoredResponse response = remember(scopedKey, existing);
+        result.complete(response);
+        inFlight.remove(scopedKey);
+        return new Replay(response);
+    }
+
+    private Decision awaitFirst(CompletableFuture<StoredResponse> first) {
+        try {
+            return new Replay(first.get(waitMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException | ExecutionException | CancellationException ex) {
+            return new InProgress();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new InProgress();
+        }
+    }
+
+    private StoredResponse remember(ScopedKey scopedKey, IdempotencyRecord record) {
+        StoredResponse response = new StoredResponse(record.getResponseStatus(), record.getResponseContentType(),
+                record.getResponseBody() == null ? new byte[0] : record.getResponseBody());
+        synchronized (completed) {
+            completed.put(scopedKey, new Completed(record.getRequestHash(), response, record.getExpiresAt()));
+        }
+        return response;
+    }
+
+    private void release(ScopedKey scopedKey, CompletableFuture<StoredResponse> result) {
+        // Ожидающие повторы получат InProgress и повторят запрос позже
+        result.cancel(false);
+        inFlight.remove(scopedKey);
+    }
+
+}
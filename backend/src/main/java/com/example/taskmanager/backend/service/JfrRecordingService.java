@@ -0,0 +1,191 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.exception.BusinessException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Запись Java Flight Recorder на живом узле: одна запись за раз, с ограничением по времени и размеру.
+ * К выбранному набору настроек (default/profile) добавляются события приложения com.example.taskmanager.*.
+ * <p>
+ * Остановленная запись сохраняется в отдельный временный каталог. Файлы, которые не удалились после отправки
+ * (узел упал во время скачивания), удаляются при следующем старте.
+ */
+@Service
+public class JfrRecordingService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingService.class);
+
+    private static final String[] APPLICATION_EVENTS = {
+            "com.example.taskmanager.ServiceCall",
+            "com.example.taskmanager.RepositoryCall",
+            "com.example.taskmanager.Jwt",
+            "com.example.taskmanager.PasswordHash"
+    };
+
+    // Файл моложе этого может еще скачиваться другим экземпляром на том же хосте
+    private static final Duration STALE_AFTER = Duration.ofHours(1);
+
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private final Path directory;
+
+    private Recording recording;
+
+    @Autowired
+    public JfrRecordingService(@Value("${app.jfr.max-duration-minutes:30}") long maxDurationMinutes,
+                               @Value("${app.jfr.max-size-mb:256}") long maxSizeMb) {
+        this(maxDurationMinutes, maxSizeMb, Path.of(System.getProperty("java.io.tmpdir"), "taskmanager-jfr"));
+    }
+
+    JfrRecordingService(long maxDurationMinutes, long maxSizeMb, Path directory) {
+        this.maxDuration = Duration.ofMinutes(maxDurationMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to create JFR recording directory " + directory, ex);
+        }
+        deleteStaleRecordings();
+    }
+
+    private void deleteStaleRecordings() {
+        Instant staleBefore = Instant.now().minus(STALE_AFTER);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.jfr")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(staleBefore)) {
+                    Files.deleteIfExists(file);
+                    log.info("Deleted stale JFR recording {}", file);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to clean up stale JFR recordings in {}", directory, ex);
+        }
+    }
+
+    /**
+     * @param settings имя встроенного набора настроек JFR: default (~1% накладных расходов) или profile (~2%)
+     * @param durationSeconds 0 — до остановки, но не дольше max-duration-minutes
+     */
+    public synchronized Map<String, Object> start(String settings, long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new BusinessException("Recording " + recording.getId() + " is already running");
+        }
+        closeRecording();
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException ex) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings);
+        }
+
+        Duration duration = durationSeconds > 0 && Duration.ofSeconds(durationSeconds).compareTo(maxDuration) < 0
+                ? Duration.ofSeconds(durationSeconds)
+                : maxDuration;
+        Recording started = new Recording(configuration);
+        started.setName("taskmanager-" + settings);
+        started.setDuration(duration);
+        started.setMaxSize(maxSizeBytes);
+        started.setToDisk(true);
+        for (String event : APPLICATION_EVENTS) {
+            started.enable(event).withThreshold(Duration.ZERO);
+        }
+        started.start();
+        recording = started;
+
+        log.info("Started JFR recording {} with settings {} for at most {}", started.getId(), settings, duration);
+        return status();
+    }
+
+    /**
+     * Останавливает запись (если еще идет) и сохраняет ее во временный файл; файл удаляет вызывающий
+     * через {@link #delete(Path)}.
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new BusinessException("No JFR recording to stop");
+        }
+        Path file = null;
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            // Каталог во временной папке могла удалить очистка tmp
+            Files.createDirectories(directory);
+            file = Files.createTempFile(directory, "taskmanager-" + recording.getId() + "-", ".jfr");
+            recording.dump(file);
+            log.info("Stopped JFR recording {}: {} bytes", recording.getId(), Files.size(file));
+            return file;
+        } catch (IOException ex) {
+            delete(file);
+            throw new UncheckedIOException("Failed to dump JFR recording", ex);
+        } catch (RuntimeException ex) {
+            delete(file);
+            throw ex;
+        } finally {
+            closeRecording();
+        }
+    }
+
+    /**
+     * Удаляет файл записи, отданный {@link #stop()}; ошибка удаления только пишется в лог.
+     */
+    public void delete(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Failed to delete JFR recording {}", file, ex);
+        }
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("id", recording.getId());
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        closeRecording();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+}
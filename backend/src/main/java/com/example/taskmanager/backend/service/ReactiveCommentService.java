@@ -0,0 +1,13 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.CommentDto;
+import reactor.core.publisher.Flux;
+
+/**
+ * Неблокирующие аналоги методов чтения {@link CommentService}.
+ */
+public interface ReactiveCommentService {
+
+    Flux<CommentDto> getCommentsByTaskId(Long taskId);
+
+}
@@ -0,0 +1,45 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.CommentDto;
+import com.example.taskmanager.backend.exception.TaskNotFoundException;
+import com.example.taskmanager.backend.mapper.CommentMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveCommentServiceImpl implements ReactiveCommentService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveCommentServiceImpl.class);
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCommentServiceImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<CommentDto> getCommentsByTaskId(Long taskId) {
+        log.info("Fetching comments (reactive) for task ID: {}", taskId);
+
+        // Как и в CommentServiceImpl, для несуществующей задачи — 404, а не пустой список
+        Mono<Long> task = databaseClient.sql("SELECT id FROM tasks WHERE id = :taskId")
+                .bind("taskId", taskId)
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task not found")));
+
+        return task.thenMany(databaseClient.sql(
+                        "SELECT c.id, c.task_id, c.user_id, u.login, c.content, c.created_at " +
+                        "FROM comments c JOIN users u ON u.id = c.user_id WHERE c.task_id = :taskId")
+                .bind("taskId", taskId)
+                .map(CommentMapper::fromRow)
+                .all());
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.TaskDto;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Неблокирующие аналоги методов чтения {@link TaskService}.
+ */
+public interface ReactiveTaskService {
+
+    Flux<TaskDto> getAllTasks();
+
+    Flux<TaskDto> filterByStatus(String status);
+
+    Flux<TaskDto> filterByPriority(String priority);
+
+    Flux<TaskDto> findByDeadlineBefore(LocalDate deadline);
+
+    Flux<TaskDto> searchTasks(String query);
+
+}
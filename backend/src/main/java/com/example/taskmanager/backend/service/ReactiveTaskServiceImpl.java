@@ -0,0 +1,84 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.TaskDto;
+import com.example.taskmanager.backend.mapper.TaskMapper;
+import com.example.taskmanager.backend.validation.TaskValidation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTaskServiceImpl.class);
+
+    private static final String SELECT_TASKS =
+            "SELECT id, title, description, status, priority, deadline, user_id FROM tasks";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveTaskServiceImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<TaskDto> getAllTasks() {
+        log.info("Fetching all tasks (reactive)");
+        return databaseClient.sql(SELECT_TASKS)
+                .map(TaskMapper::fromRow)
+                .all();
+    }
+
+    @Override
+    public Flux<TaskDto> filterByStatus(String status) {
+        return Flux.defer(() -> {
+            log.info("Filtering tasks by status (reactive): {}", status);
+            TaskValidation.validateStatus(status);
+            return databaseClient.sql(SELECT_TASKS + " WHERE status = :status")
+                    .bind("status", status)
+                    .map(TaskMapper::fromRow)
+                    .all();
+        });
+    }
+
+    @Override
+    public Flux<TaskDto> filterByPriority(String priority) {
+        return Flux.defer(() -> {
+            log.info("Filtering tasks by priority (reactive): {}", priority);
+            TaskValidation.validatePriority(priority);
+            return databaseClient.sql(SELECT_TASKS + " WHERE priority = :priority")
+                    .bind("priority", priority)
+                    .map(TaskMapper::fromRow)
+                    .all();
+        });
+    }
+
+    @Override
+    public Flux<TaskDto> findByDeadlineBefore(LocalDate deadline) {
+        return Flux.defer(() -> {
+            log.info("Filtering tasks by deadline before (reactive): {}", deadline);
+            TaskValidation.validateDeadline(deadline);
+            return databaseClient.sql(SELECT_TASKS + " WHERE deadline <= :deadline")
+                    .bind("deadline", deadline)
+                    .map(TaskMapper::fromRow)
+                    .all();
+        });
+    }
+
+    @Override
+    public Flux<TaskDto> searchTasks(String query) {
+        log.info("Searching tasks (reactive) with query: {}", query);
+        String pattern = "%" + query.toLowerCase() + "%";
+        return databaseClient.sql(SELECT_TASKS + " WHERE LOWER(title) LIKE :query OR LOWER(description) LIKE :query")
+                .bind("query", pattern)
+                .map(TaskMapper::fromRow)
+                .all();
+    }
+
+}
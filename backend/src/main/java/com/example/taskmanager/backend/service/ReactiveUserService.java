@@ -0,0 +1,13 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.UserProfileDto;
+import reactor.core.publisher.Mono;
+
+/**
+ * Неблокирующий аналог {@link UserService#getUserProfile(String)}.
+ */
+public interface ReactiveUserService {
+
+    Mono<UserProfileDto> getUserProfile(String email);
+
+}
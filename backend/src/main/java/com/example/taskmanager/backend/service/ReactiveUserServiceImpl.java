@@ -0,0 +1,53 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.UserProfileDto;
+import com.example.taskmanager.backend.exception.UserNotFoundException;
+import com.example.taskmanager.backend.mapper.TaskMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveUserServiceImpl.class);
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserServiceImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<UserProfileDto> getUserProfile(String email) {
+        log.info("Fetching profile (reactive) for user with email: {}", email);
+
+        return databaseClient.sql("SELECT id, login, email, first_name, last_name, role FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> new UserProfileDto(
+                        row.get("id", Long.class),
+                        row.get("login", String.class),
+                        row.get("email", String.class),
+                        row.get("first_name", String.class),
+                        row.get("last_name", String.class),
+                        row.get("role", String.class),
+                        null))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found")))
+                .flatMap(profile -> databaseClient.sql(
+                                "SELECT id, title, description, status, priority, deadline, user_id FROM tasks WHERE user_id = :userId")
+                        .bind("userId", profile.getId())
+                        .map(TaskMapper::fromRow)
+                        .all()
+                        .collectList()
+                        .map(tasks -> {
+                            profile.setTasks(tasks);
+                            return profile;
+                        }));
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Семплирующий профилировщик потоков запросов: с заданным интервалом снимает стеки потоков,
+ * которые сейчас обрабатывают запрос, и сводит их в формат folded stacks
+ * ({@code frame;frame;frame count}) для flame graph (flamegraph.pl, speedscope).
+ * <p>
+ * Потоки запросов регистрирует фильтр ({@link #track()}/{@link #untrack()}), пока идет сессия;
+ * без сессии это одно чтение volatile. Стеки снимаются по времени (wall clock): ожидание БД и пула
+ * соединений попадает в профиль наравне с работой процессора. Виртуальные потоки учитываются тоже.
+ */
+@Service
+public class SamplingProfilerService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SamplingProfilerService.class);
+
+    private static final long MIN_INTERVAL_MS = 1;
+    private static final long MAX_INTERVAL_MS = 1000;
+    private static final String TRUNCATED = "[truncated]";
+    private static final String OTHER_STACKS = "[other stacks]";
+
+    private final long maxDurationSeconds;
+    private final int maxStacks;
+    private final int maxDepth;
+
+    private final Set<Thread> requestThreads = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    private ScheduledExecutorService sampler;
+    private Session session;
+
+    public SamplingProfilerService(@Value("${app.profiler.max-duration-seconds:600}") long maxDurationSeconds,
+                                   @Value("${app.profiler.max-stacks:20000}") int maxStacks,
+                                   @Value("${app.profiler.max-depth:128}") int maxDepth) {
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxStacks = maxStacks;
+        this.maxDepth = maxDepth;
+    }
+
+    // Сводка одной сессии; стеки пишет только поток семплирования, читают под блокировкой
+    private static final class Session {
+
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long intervalMs;
+        private final long durationSeconds;
+        private final Map<String, long[]> stacks = new HashMap<>();
+        private long samples;
+        private long ticks;
+        private LocalDateTime finishedAt;
+
+        private Session(long intervalMs, long durationSeconds) {
+            this.intervalMs = intervalMs;
+            this.durationSeconds = durationSeconds;
+        }
+
+    }
+
+    /**
+     * Поток запроса попадает в выборку до {@link #untrack()}; false — сессии нет, снимать регистрацию не нужно.
+     */
+    public boolean track() {
+        if (!running) {
+            return false;
+        }
+        requestThreads.add(Thread.currentThread());
+        return true;
+    }
+
+    public void untrack() {
+        requestThreads.remove(Thread.currentThread());
+    }
+
+    /**
+     * @param intervalMs интервал между снимками, 1..1000 мс
+     * @param durationSeconds 0 — до остановки, но не дольше max-duration-seconds
+     */
+    public synchronized Map<String, Object> start(long intervalMs, long durationSeconds) {
+        if (running) {
+            throw new BusinessException("Profiler is already running");
+        }
+        if (intervalMs < MIN_INTERVAL_MS || intervalMs > MAX_INTERVAL_MS) {
+            throw new IllegalArgumentException(
+                    "Sampling interval must be between " + MIN_INTERVAL_MS + " and " + MAX_INTERVAL_MS + " ms");
+        }
+        long duration = durationSeconds > 0 && durationSeconds < maxDurationSeconds ? durationSeconds : maxDurationSeconds;
+
+        Session started = new Session(intervalMs, duration);
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sampling-profiler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> sample(started), intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        sampler.schedule(() -> finish(started), duration, TimeUnit.SECONDS);
+        session = started;
+        running = true;
+
+        log.info("Started sampling profiler every {} ms for at most {} s", intervalMs, duration);
+        return status();
+    }
+
+    public synchronized Map<String, Object> stop() {
+        if (session == null) {
+            throw new BusinessException("No profiling session to stop");
+        }
+        finish(session);
+        return status();
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (session == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        synchronized (session) {
+            status.put("state", running ? "RUNNING" : "FINISHED");
+            status.put("intervalMs", session.intervalMs);
+            status.put("durationSeconds", session.durationSeconds);
+            status.put("startedAt", session.startedAt);
+            status.put("finishedAt", session.finishedAt);
+            status.put("ticks", session.ticks);
+            status.put("samples", session.samples);
+            status.put("stacks", session.stacks.size());
+        }
+        return status;
+    }
+
+    /**
+     * Профиль последней сессии (в том числе идущей) в формате folded stacks, частые стеки первыми.
+     */
+    public synchronized String folded() {
+        if (session == null) {
+            throw new BusinessException("No profiling session");
+        }
+        List<Map.Entry<String, Long>> stacks = new ArrayList<>();
+        synchronized (session) {
+            session.stacks.forEach((stack, count) -> stacks.add(Map.entry(stack, count[0])));
+        }
+        stacks.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        StringBuilder folded = new StringBuilder(stacks.size() * 256);
+        for (Map.Entry<String, Long> stack : stacks) {
+            folded.append(stack.getKey()).append(' ').append(stack.getValue()).append('\n');
+        }
+        return folded.toString();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (session != null) {
+            finish(session);
+        }
+    }
+
+    // Завершение по сроку приходит из потока семплирования и не должно остановить уже следующую сессию
+    private synchronized void finish(Session expected) {
+        if (!running || session != expected) {
+            return;
+        }
+        running = false;
+        sampler.shutdownNow();
+        sampler = null;
+        requestThreads.clear();
+        synchronized (expected) {
+            expected.finishedAt = LocalDateTime.now();
+            log.info("Stopped sampling profiler: {} samples in {} ticks, {} distinct stacks",
+                    expected.samples, expected.ticks, expected.stacks.size());
+        }
+    }
+
+    private void sample(Session target) {
+        List<String> stacks = new ArrayList<>(requestThreads.size());
+        for (Thread thread : requestThreads) {
+            StackTraceElement[] frames = thread.getStackTrace();
+            if (frames.length > 0) {
+                stacks.add(fold(frames));
+            }
+        }
+        synchronized (target) {
+            target.ticks++;
+            for (String stack : stacks) {
+                long[] count = target.stacks.get(stack);
+                if (count == null && target.stacks.size() < maxStacks) {
+                    count = new long[1];
+                    target.stacks.put(stack, count);
+                } else if (count == null) {
+                    // Предел различных стеков: остальное сводится в одну строку, чтобы память не росла
+                    count = target.stacks.computeIfAbsent(OTHER_STACKS, key -> new long[1]);
+                }
+                count[0]++;
+                target.samples++;
+            }
+        }
+    }
+
+    // От корня к вершине; у слишком глубоких стеков отбрасываются кадры у корня, горячая часть остается
+    String fold(StackTraceElement[] frames) {
+        int depth = Math.min(frames.length, maxDepth);
+        StringBuilder stack = new StringBuilder(depth * 64);
+        if (depth < frames.length) {
+            stack.append(TRUNCATED).append(';');
+        }
+        for (int i = depth - 1; i >= 0; i--) {
+            StackTraceElement frame = frames[i];
+            stack.append(frame.getClassName()).append('.').append(frame.getMethodName());
+            if (i > 0) {
+                stack.append(';');
+            }
+        }
+        return stack.toString();
+    }
+
+}
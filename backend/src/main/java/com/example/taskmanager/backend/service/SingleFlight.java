@@ -0,0 +1,96 @@
+package com.example.taskmanager.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одинаковых одновременных вычислений (single-flight): первый вызов с ключом выполняет
+ * загрузку, остальные, пришедшие пока она идет, получают тот же результат или то же исключение.
+ * Результат не кешируется — после завершения следующий вызов снова идет в базу.
+ */
+public class SingleFlight {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private final String metricPrefix;
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(String metricPrefix, MeterRegistry meterRegistry) {
+        this.metricPrefix = metricPrefix;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(metricPrefix + ".in.flight", inFlight, Map::size)
+                .description("Distinct computations currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param operation имя операции для метрик (тег с ограниченным числом значений)
+     * @param key       операция вместе с аргументами и областью видимости результата
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        Counters operationCounters = counters.computeIfAbsent(operation, this::register);
+
+        if (existing != null) {
+            operationCounters.coalesced.increment();
+            return (T) await(existing);
+        }
+
+        operationCounters.executed.increment();
+        try {
+            T value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            created.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            // Ожидающие получают исходное исключение (например, 404), а не обертку
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private Counters register(String operation) {
+        return new Counters(
+                Counter.builder(metricPrefix)
+                        .description("Calls that ran the computation or joined an identical one in flight")
+                        .tag("operation", operation)
+                        .tag("outcome", "executed")
+                        .register(meterRegistry),
+                Counter.builder(metricPrefix)
+                        .description("Calls that ran the computation or joined an identical one in flight")
+                        .tag("operation", operation)
+                        .tag("outcome", "coalesced")
+                        .register(meterRegistry));
+    }
+
+    private record Counters(Counter executed, Counter coalesced) {}
+
+}
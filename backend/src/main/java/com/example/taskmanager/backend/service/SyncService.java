@@ -0,0 +1,129 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.CommentDto;
+import com.example.taskmanager.backend.dto.SharedTaskDto;
+import com.example.taskmanager.backend.dto.SyncResponseDto;
+import com.example.taskmanager.backend.dto.TaskDto;
+import com.example.taskmanager.backend.dto.TombstoneDto;
+import com.example.taskmanager.backend.exception.FullResyncRequiredException;
+import com.example.taskmanager.backend.exception.UserNotFoundException;
+import com.example.taskmanager.backend.mapper.CommentMapper;
+import com.example.taskmanager.backend.mapper.TaskMapper;
+import com.example.taskmanager.backend.model.Comment;
+import com.example.taskmanager.backend.model.SharedTask;
+import com.example.taskmanager.backend.model.SyncTombstone;
+import com.example.taskmanager.backend.model.Task;
+import com.example.taskmanager.backend.model.User;
+import com.example.taskmanager.backend.repository.ChangeSequence;
+import com.example.taskmanager.backend.repository.CommentRepository;
+import com.example.taskmanager.backend.repository.SharedTaskRepository;
+import com.example.taskmanager.backend.repository.SyncRetentionRepository;
+import com.example.taskmanager.backend.repository.SyncTombstoneRepository;
+import com.example.taskmanager.backend.repository.TaskRepository;
+import com.example.taskmanager.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Дельта-синхронизация: записи, созданные, измененные или удаленные после номера since.
+ * Все выборки идут по индексам change_seq, поэтому стоимость зависит от числа изменений, а не задач.
+ * <p>
+ * Tombstone-записи хранятся ограниченное время ({@link TombstoneRetentionService}); для since ниже
+ * границы очистки удаления могли потеряться, и клиент получает {@link FullResyncRequiredException}.
+ */
+@Service
+public class SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final SharedTaskRepository sharedTaskRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final SyncRetentionRepository retentionRepository;
+    private final UserRepository userRepository;
+    private final ChangeSequence changeSequence;
+
+    public SyncService(TaskRepository taskRepository,
+                       CommentRepository commentRepository,
+                       SharedTaskRepository sharedTaskRepository,
+                       SyncTombstoneRepository tombstoneRepository,
+                       SyncRetentionRepository retentionRepository,
+                       UserRepository userRepository,
+                       ChangeSequence changeSequence) {
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.sharedTaskRepository = sharedTaskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.retentionRepository = retentionRepository;
+        this.userRepository = userRepository;
+        this.changeSequence = changeSequence;
+    }
+
+    @Transactional(readOnly = true)
+    public SyncResponseDto changesSince(String email, long since) {
+        Long userId = userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        // since=0 — полная загрузка, ей удаленные tombstone-записи не нужны
+        if (since > 0) {
+            long purgedUpTo = retentionRepository.findPurgedUpTo().orElse(0L);
+            if (since < purgedUpTo) {
+                throw new FullResyncRequiredException(
+                        "Full resync required: deletions up to change " + purgedUpTo + " are no longer retained");
+            }
+        }
+
+        // Граница берется до чтения: все номера не выше нее уже закоммичены, и клиент не пропустит запись,
+        // которая получила номер раньше, а закоммитилась позже
+        long upTo = Math.max(since, changeSequence.stableCeiling());
+        log.info("Syncing changes for user {} in range ({}, {}]", userId, since, upTo);
+
+        List<Task> tasks = taskRepository.findVisibleChangedBetween(userId, since, upTo);
+        List<Comment> comments = commentRepository.findVisibleChangedBetween(userId, since, upTo);
+        List<SharedTask> shares = sharedTaskRepository.findVisibleChangedBetween(userId, since, upTo);
+        List<SyncTombstone> tombstones = tombstoneRepository
+                .findByUserIdAndChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeq(userId, since, upTo);
+
+        Map<Long, TaskDto> taskDtos = new LinkedHashMap<>();
+        tasks.forEach(task -> taskDtos.put(task.getId(), TaskMapper.toDto(task)));
+        Map<Long, CommentDto> commentDtos = new LinkedHashMap<>();
+        comments.forEach(comment -> commentDtos.put(comment.getId(), CommentMapper.toDto(comment)));
+
+        // Задача, которой только что поделились, могла измениться давно: отдаем ее целиком вместе с комментариями
+        Set<Long> newlyShared = new LinkedHashSet<>();
+        for (SharedTask share : shares) {
+            if (userId.equals(share.getSharedWithUser().getId()) && !taskDtos.containsKey(share.getTask().getId())) {
+                newlyShared.add(share.getTask().getId());
+                taskDtos.put(share.getTask().getId(), TaskMapper.toDto(share.getTask()));
+            }
+        }
+        if (!newlyShared.isEmpty()) {
+            commentRepository.findByTaskIdIn(newlyShared)
+                    .forEach(comment -> commentDtos.putIfAbsent(comment.getId(), CommentMapper.toDto(comment)));
+        }
+
+        List<SharedTaskDto> shareDtos = shares.stream()
+                .map(share -> new SharedTaskDto(share.getId(), share.getTask().getId(), share.getSharedWithUser().getId()))
+                .collect(Collectors.toList());
+        List<TombstoneDto> deleted = tombstones.stream()
+                .map(tombstone -> new TombstoneDto(tombstone.getEntityType(), tombstone.getEntityId()))
+                .collect(Collectors.toList());
+
+        log.debug("Sync for user {}: {} tasks, {} comments, {} shares, {} deletions",
+                userId, taskDtos.size(), commentDtos.size(), shareDtos.size(), deleted.size());
+        return new SyncResponseDto(upTo, List.copyOf(taskDtos.values()), List.copyOf(commentDtos.values()),
+                shareDtos, deleted);
+    }
+
+}
@@ -0,0 +1,236 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.TaskDto;
+import com.example.taskmanager.backend.json.SharedJsonList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Ограниченный LRU-кеш результатов чтения задач со stale-while-revalidate.
+ * <p>
+ * Значения — {@link SharedJsonList}, поэтому JSON ответа строится один раз на запись в кеше.
+ * Запись задачи помечает устаревшими только затронутые результаты: те, где задача уже есть,
+ * и те, в чей фильтр попадает ее новое состояние. Устаревший результат продолжает отдаваться,
+ * пока фоновое обновление не заменит его, но не дольше {@code maxStaleMs}.
+ */
+public class TaskResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskResultCache.class);
+
+    private final Map<Object, Entry> entries;
+    private final long ttlMs;
+    private final long maxStaleMs;
+    private final LongSupplier clock;
+    private final ThreadPoolExecutor refresher;
+
+    // Растет при каждой инвалидации: загрузка, начатая до нее, сохраняется сразу устаревшей
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public TaskResultCache(int maxEntries, long ttlMs, long maxStaleMs, MeterRegistry meterRegistry) {
+        this(maxEntries, ttlMs, maxStaleMs, meterRegistry, System::currentTimeMillis);
+    }
+
+    TaskResultCache(int maxEntries, long ttlMs, long maxStaleMs, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.ttlMs = ttlMs;
+        this.maxStaleMs = maxStaleMs;
+        this.clock = clock;
+        this.refresher = new ThreadPoolExecutor(2, 2, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(maxEntries),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "task-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.refresher.allowCoreThreadTimeOut(true);
+
+        this.hits = counter(meterRegistry, "hit");
+        this.staleHits = counter(meterRegistry, "stale");
+        this.misses = counter(meterRegistry, "miss");
+        this.invalidations = Counter.builder("task.reads.cache.invalidations")
+                .description("Cached task read results marked stale by writes")
+                .register(meterRegistry);
+        Gauge.builder("task.reads.cache.size", this, TaskResultCache::size)
+                .description("Cached task read results")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param matcher попадает ли задача в результат этого запроса (для инвалидации по новому состоянию)
+     * @param loader  вычисление результата; вызывается при промахе и для фонового обновления
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(Object key, Predicate<TaskDto> matcher, Supplier<List<T>> loader) {
+        long now = clock.getAsLong();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return load(key, matcher, loader);
+        }
+
+        long staleSince = entry.staleSince(ttlMs);
+        if (now < staleSince) {
+            hits.increment();
+            return (List<T>) entry.value;
+        }
+        if (now - staleSince > maxStaleMs) {
+            // Слишком старый результат не отдается: читатель ждет загрузку
+            misses.increment();
+            return load(key, matcher, loader);
+        }
+
+        staleHits.increment();
+        refreshAsync(entry, loader);
+        return (List<T>) entry.value;
+    }
+
+    /**
+     * Помечает устаревшими результаты, которые содержали задачу или в которые попадает ее новое состояние.
+     *
+     * @param current новое состояние задачи; null при удалении
+     */
+    public void invalidate(Long taskId, TaskDto current) {
+        epoch.incrementAndGet();
+        long now = clock.getAsLong();
+        int marked = 0;
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                if (entry.taskIds.contains(taskId) || (current != null && entry.matcher.test(current))) {
+                    entry.markStale(now);
+                    marked++;
+                }
+            }
+        }
+        invalidations.increment(marked);
+        log.debug("Task {} change marked {} cached results stale", taskId, marked);
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private <T> List<T> load(Object key, Predicate<TaskDto> matcher, Supplier<List<T>> loader) {
+        long startEpoch = epoch.get();
+        List<T> value = loader.get();
+        store(key, matcher, value, startEpoch);
+        return value;
+    }
+
+    private <T> void refreshAsync(Entry entry, Supplier<List<T>> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    load(entry.key, entry.matcher, loader);
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to refresh cached task read {}: {}", entry.key, ex.getMessage());
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Очередь обновлений заполнена: читатели получат устаревший результат и попробуют снова
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void store(Object key, Predicate<TaskDto> matcher, List<?> value, long startEpoch) {
+        Entry entry = new Entry(key, matcher, value, taskIds(value), clock.getAsLong());
+        if (epoch.get() != startEpoch) {
+            entry.markStale(entry.loadedAt);
+        }
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    private static Set<Long> taskIds(List<?> value) {
+        Set<Long> ids = new HashSet<>(value.size() * 2);
+        for (Object element : value) {
+            Object id = element instanceof TaskDto task ? task.getId()
+                    : element instanceof Map<?, ?> row ? row.get("id") : null;
+            if (id instanceof Number number) {
+                ids.add(number.longValue());
+            }
+        }
+        return ids;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("task.reads.cache")
+                .description("Task read cache lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+
+        private final Object key;
+        private final Predicate<TaskDto> matcher;
+        private final List<?> value;
+        private final Set<Long> taskIds;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        // Long.MAX_VALUE — запись не инвалидирована и устаревает по TTL
+        private volatile long invalidatedAt = Long.MAX_VALUE;
+
+        private Entry(Object key, Predicate<TaskDto> matcher, List<?> value, Set<Long> taskIds, long loadedAt) {
+            this.key = key;
+            this.matcher = matcher;
+            this.value = value;
+            this.taskIds = taskIds;
+            this.loadedAt = loadedAt;
+        }
+
+        private long staleSince(long ttlMs) {
+            return Math.min(invalidatedAt, loadedAt + ttlMs);
+        }
+
+        private void markStale(long now) {
+            if (now < invalidatedAt) {
+                invalidatedAt = now;
+            }
+        }
+
+    }
+
+}
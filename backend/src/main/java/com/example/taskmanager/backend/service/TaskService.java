@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface TaskService {
 
@@ -33,4 +34,15 @@ public interface TaskService {
 
     void deleteTask(Long id);
 
+    // Варианты с fields=: из базы читаются только запрошенные колонки
+    List<Map<String, Object>> filterByStatus(String status, List<String> fields);
+
+    List<Map<String, Object>> filterByPriority(String priority, List<String> fields);
+
+    List<Map<String, Object>> findByDeadlineBefore(LocalDate deadline, List<String> fields);
+
+    List<Map<String, Object>> searchTasks(String query, List<String> fields);
+
+    List<Map<String, Object>> getAllTasks(List<String> fields);
+
 }
@@ -6,19 +6,26 @@ import com.example.taskmanager.backend.exception.TaskNotFoundException;
 import com.example.taskmanager.backend.exception.UserNotFoundException;
 import com.example.taskmanager.backend.mapper.TaskMapper;
 import com.example.taskmanager.backend.model.*;
+import com.example.taskmanager.backend.repository.ChangeSequence;
 import com.example.taskmanager.backend.repository.SharedTaskRepository;
 import com.example.taskmanager.backend.repository.TaskRepository;
 import com.example.taskmanager.backend.repository.UserRepository;
+import com.example.taskmanager.backend.timing.RequestTimings;
 import com.example.taskmanager.backend.validation.TaskValidation;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.calls", description = "Service method calls")
 public class TaskServiceImpl implements TaskService {
 
 
@@ -27,11 +34,16 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final SharedTaskRepository sharedTaskRepository;
+    private final ChangeFeedService changeFeedService;
+    private final ChangeSequence changeSequence;
 
-    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository, SharedTaskRepository sharedTaskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository, SharedTaskRepository sharedTaskRepository,
+                           ChangeFeedService changeFeedService, ChangeSequence changeSequence) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.sharedTaskRepository = sharedTaskRepository;
+        this.changeFeedService = changeFeedService;
+        this.changeSequence = changeSequence;
     }
 
     @Override
@@ -44,9 +56,7 @@ public class TaskServiceImpl implements TaskService {
         List<Task> tasks = taskRepository.findByStatus(status);
         log.debug("Found {} tasks with status: {}", tasks.size(), status);
 
-        List<TaskDto> taskDtos = tasks.stream()
-                .map(TaskMapper::toDto)
-                .collect(Collectors.toList());
+        List<TaskDto> taskDtos = toDtos(tasks);
 
         log.info("Returning {} tasks filtered by status: {}", taskDtos.size(), status);
         return taskDtos;
@@ -62,9 +72,7 @@ public class TaskServiceImpl implements TaskService {
         List<Task> tasks = taskRepository.findByPriority(priority);
         log.debug("Found {} tasks with priority: {}", tasks.size(), priority);
 
-        List<TaskDto> taskDtos = tasks.stream()
-                .map(TaskMapper::toDto)
-                .collect(Collectors.toList());
+        List<TaskDto> taskDtos = toDtos(tasks);
 
         log.info("Returning {} tasks filtered by priority: {}", taskDtos.size(), priority);
         return taskDtos;
@@ -80,9 +88,7 @@ public class TaskServiceImpl implements TaskService {
         List<Task> tasks = taskRepository.findByDeadline(deadline);
         log.debug("Found {} tasks with deadline before: {}", tasks.size(), deadline);
 
-        List<TaskDto> taskDtos = tasks.stream()
-                .map(TaskMapper::toDto)
-                .collect(Collectors.toList());
+        List<TaskDto> taskDtos = toDtos(tasks);
 
         log.info("Returning {} tasks filtered by deadline before: {}", taskDtos.size(), deadline);
         return taskDtos;
@@ -95,15 +101,14 @@ public class TaskServiceImpl implements TaskService {
         List<Task> tasks = taskRepository.searchTasks(query.toLowerCase());
         log.debug("Found {} tasks matching query: {}", tasks.size(), query);
 
-        List<TaskDto> taskDtos = tasks.stream()
-                .map(TaskMapper::toDto)
-                .collect(Collectors.toList());
+        List<TaskDto> taskDtos = toDtos(tasks);
 
         log.info("Returning {} tasks matching query: {}", taskDtos.size(), query);
         return taskDtos;
     }
 
     @Override
+    @Transactional
     public void shareTask(Long taskId, Long userId) {
         log.info("Sharing task with ID: {} to user with ID: {}", taskId, userId);
 
@@ -124,7 +129,9 @@ public class TaskServiceImpl implements TaskService {
         SharedTask sharedTask = new SharedTask();
         sharedTask.setTask(task);
         sharedTask.setSharedWithUser(user);
+        sharedTask.setChangeSeq(changeSequence.next());
         sharedTaskRepository.save(sharedTask);
+        changeFeedService.taskChanged(ChangeAction.SHARED, taskId);
 
         log.info("Task with ID: {} successfully shared with user ID: {}", taskId, userId);
     }
@@ -136,15 +143,14 @@ public class TaskServiceImpl implements TaskService {
         List<Task> tasks = taskRepository.findAll();
         log.debug("Found {} tasks in the database", tasks.size());
 
-        List<TaskDto> taskDtos = tasks.stream()
-                .map(TaskMapper::toDto)
-                .collect(Collectors.toList());
+        List<TaskDto> taskDtos = toDtos(tasks);
 
         log.info("Returning {} task DTOs", taskDtos.size());
         return taskDtos;
     }
 
     @Override
+    @Transactional
     public TaskDto createTask(TaskRequestDto taskRequestDto) {
         log.info("Creating a new task");
 
@@ -153,14 +159,17 @@ public class TaskServiceImpl implements TaskService {
 
         Task task = TaskMapper.toEntity(taskRequestDto, userRepository);
         log.debug("Mapped TaskRequestDto to Task entity");
+        task.setChangeSeq(changeSequence.next());
 
         Task savedTask = taskRepository.save(task);
         log.info("Task successfully created with ID: {}", savedTask.getId());
+        changeFeedService.taskChanged(ChangeAction.CREATED, savedTask.getId());
 
         return TaskMapper.toDto(savedTask);
     }
 
     @Override
+    @Transactional
     public TaskDto updateTask(Long id, TaskRequestDto taskRequestDto) {
         log.info("Updating task with ID: {}", id);
 
@@ -179,14 +188,17 @@ public class TaskServiceImpl implements TaskService {
         task.setStatus(TaskStatus.valueOf(taskRequestDto.getStatus()));
         task.setPriority(TaskPriority.valueOf(taskRequestDto.getPriority()));
         task.setDeadline(taskRequestDto.getDeadline());
+        task.setChangeSeq(changeSequence.next());
 
         Task updatedTask = taskRepository.save(task);
         log.info("Task successfully updated with ID: {}", updatedTask.getId());
+        changeFeedService.taskChanged(ChangeAction.UPDATED, updatedTask.getId());
 
         return TaskMapper.toDto(updatedTask);
     }
 
     @Override
+    @Transactional
     public void deleteTask(Long id) {
         log.info("Deleting task with ID: {}", id);
 
@@ -195,10 +207,69 @@ public class TaskServiceImpl implements TaskService {
             throw new TaskNotFoundException("Task not found");
         }
 
+        // Событие формируется до удаления, пока известны владелец и участники задачи
+        changeFeedService.taskChanged(ChangeAction.DELETED, id);
+
         log.debug("Deleting task with ID: {}", id);
         taskRepository.deleteById(id);
 
         log.info("Task successfully deleted with ID: {}", id);
     }
 
+    @Override
+    public List<Map<String, Object>> filterByStatus(String status, List<String> fields) {
+        log.info("Filtering tasks by status: {} with fields: {}", status, fields);
+
+        TaskValidation.validateStatus(status);
+        TaskStatus taskStatus = TaskStatus.valueOf(status);
+        return findFields(fields, (root, query, cb) -> cb.equal(root.get("status"), taskStatus));
+    }
+
+    @Override
+    public List<Map<String, Object>> filterByPriority(String priority, List<String> fields) {
+        log.info("Filtering tasks by priority: {} with fields: {}", priority, fields);
+
+        TaskValidation.validatePriority(priority);
+        TaskPriority taskPriority = TaskPriority.valueOf(priority);
+        return findFields(fields, (root, query, cb) -> cb.equal(root.get("priority"), taskPriority));
+    }
+
+    @Override
+    public List<Map<String, Object>> findByDeadlineBefore(LocalDate deadline, List<String> fields) {
+        log.info("Filtering tasks by deadline before: {} with fields: {}", deadline, fields);
+
+        TaskValidation.validateDeadline(deadline);
+        return findFields(fields, (root, query, cb) -> cb.lessThanOrEqualTo(root.<LocalDate>get("deadline"), deadline));
+    }
+
+    @Override
+    public List<Map<String, Object>> searchTasks(String query, List<String> fields) {
+        log.info("Searching tasks with query: {} with fields: {}", query, fields);
+
+        String pattern = "%" + query.toLowerCase() + "%";
+        return findFields(fields, (root, criteriaQuery, cb) -> cb.or(
+                cb.like(cb.lower(root.<String>get("title")), pattern),
+                cb.like(cb.lower(root.<String>get("description")), pattern)));
+    }
+
+    @Override
+    public List<Map<String, Object>> getAllTasks(List<String> fields) {
+        log.info("Fetching all tasks with fields: {}", fields);
+        return findFields(fields, null);
+    }
+
+    private static List<TaskDto> toDtos(List<Task> tasks) {
+        try (RequestTimings.Span ignored = RequestTimings.start("mapping")) {
+            return tasks.stream()
+                    .map(TaskMapper::toDto)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private List<Map<String, Object>> findFields(List<String> fields, Specification<Task> filter) {
+        List<Map<String, Object>> tasks = taskRepository.findFields(fields, filter);
+        log.info("Returning {} tasks with fields: {}", tasks.size(), fields);
+        return tasks;
+    }
+
 }
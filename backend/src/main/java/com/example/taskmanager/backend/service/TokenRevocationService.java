@@ -0,0 +1,160 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.exception.InvalidTokenException;
+import com.example.taskmanager.backend.model.RevokedToken;
+import com.example.taskmanager.backend.repository.RevokedTokenRepository;
+import com.example.taskmanager.backend.security.BloomFilter;
+import com.example.taskmanager.backend.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final long expirationSeconds;
+    private final double falsePositiveRate;
+
+    // Текущий фильтр подменяется целиком при перестроении
+    private volatile BloomFilter filter;
+
+    // Отзывы, сделанные после последнего перестроения: переносятся в новый фильтр, чтобы не потеряться
+    private final Set<String> recentlyRevoked = ConcurrentHashMap.newKeySet();
+
+    // Исходы проверки: отсечено фильтром, ложное срабатывание фильтра, действительно отозван
+    private final Counter filteredLookups;
+    private final Counter falsePositiveLookups;
+    private final Counter revokedLookups;
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  JwtUtil jwtUtil,
+                                  @Value("${jwt.expiration}") long expirationSeconds,
+                                  @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this(revokedTokenRepository, jwtUtil, expirationSeconds, falsePositiveRate,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    TokenRevocationService(RevokedTokenRepository revokedTokenRepository, JwtUtil jwtUtil,
+                           long expirationSeconds, double falsePositiveRate) {
+        this(revokedTokenRepository, jwtUtil, expirationSeconds, falsePositiveRate, new SimpleMeterRegistry());
+    }
+
+    private TokenRevocationService(RevokedTokenRepository revokedTokenRepository, JwtUtil jwtUtil,
+                                   long expirationSeconds, double falsePositiveRate, MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.expirationSeconds = expirationSeconds;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(MIN_CAPACITY, falsePositiveRate);
+
+        this.filteredLookups = lookupCounter(meterRegistry, "filtered");
+        this.falsePositiveLookups = lookupCounter(meterRegistry, "false_positive");
+        this.revokedLookups = lookupCounter(meterRegistry, "revoked");
+    }
+
+    /**
+     * Отзывает токен, переданный клиентом (logout).
+     */
+    @Transactional
+    public void revoke(String token) {
+        Claims claims = jwtUtil.extractClaims(token);
+        if (claims.getId() == null) {
+            throw new InvalidTokenException("Token has no id and cannot be revoked");
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        revoke(claims.getId(), expiresAt);
+    }
+
+    /**
+     * Отзывает токен по идентификатору (jti). Срок хранения ограничен максимальным временем жизни токена.
+     */
+    @Transactional
+    public void revokeById(String jti) {
+        revoke(jti, LocalDateTime.now().plusSeconds(expirationSeconds));
+    }
+
+    private void revoke(String jti, LocalDateTime expiresAt) {
+        log.info("Revoking token with ID: {}", jti);
+
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            RevokedToken revokedToken = new RevokedToken();
+            revokedToken.setJti(jti);
+            revokedToken.setExpiresAt(expiresAt);
+            revokedTokenRepository.save(revokedToken);
+        }
+
+        recentlyRevoked.add(jti);
+        filter.put(jti);
+        log.info("Token with ID: {} successfully revoked", jti);
+    }
+
+    /**
+     * Быстрая проверка: в хранилище обращаемся только при возможном совпадении в фильтре Блума.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            filteredLookups.increment();
+            return false;
+        }
+        boolean revoked = revokedTokenRepository.existsByJti(jti);
+        if (revoked) {
+            revokedLookups.increment();
+        } else {
+            falsePositiveLookups.increment();
+            log.debug("Bloom filter false positive for token ID: {}", jti);
+        }
+        return revoked;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:30000}")
+    @Transactional
+    public void rebuildFilter() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<String> activeIds = revokedTokenRepository.findActiveTokenIds(now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(MIN_CAPACITY, activeIds.size() * 2), falsePositiveRate);
+        activeIds.forEach(rebuilt::put);
+        recentlyRevoked.forEach(rebuilt::put);
+        filter = rebuilt;
+
+        // Отзывы, пришедшие во время перестроения, могли попасть только в старый фильтр
+        recentlyRevoked.forEach(rebuilt::put);
+        Set<String> persisted = new HashSet<>(activeIds);
+        recentlyRevoked.removeIf(persisted::contains);
+
+        log.debug("Rebuilt token revocation filter with {} active entries, purged {} expired", activeIds.size(), purged);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("jwt.revocation.lookups")
+                .description("Token revocation checks by result; filtered ones never reach the database")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.model.SyncRetention;
+import com.example.taskmanager.backend.repository.SyncRetentionRepository;
+import com.example.taskmanager.backend.repository.SyncTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Удаляет tombstone-записи старше срока хранения и сдвигает нижнюю границу синхронизации
+ * ({@link SyncRetention}). Клиент, чей since ниже границы, мог пропустить удаления и получает
+ * требование полной перезагрузки от {@link SyncService}.
+ */
+@Service
+public class TombstoneRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TombstoneRetentionService.class);
+
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final SyncRetentionRepository retentionRepository;
+    private final Duration ttl;
+
+    public TombstoneRetentionService(SyncTombstoneRepository tombstoneRepository,
+                                     SyncRetentionRepository retentionRepository,
+                                     @Value("${app.sync.tombstone-ttl-days:30}") long ttlDays) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.retentionRepository = retentionRepository;
+        this.ttl = Duration.ofDays(ttlDays);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sync.tombstone-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        // Удаляется все до наибольшего номера среди устаревших записей: граница точная, без пропусков
+        Long upTo = tombstoneRepository.findMaxChangeSeqDeletedBefore(now.minus(ttl));
+        if (upTo == null) {
+            return;
+        }
+
+        // Первая очистка создает строку границы; удаление и сдвиг границы — в одной транзакции
+        if (retentionRepository.raisePurgedUpTo(upTo, now) == 0 && !retentionRepository.existsById(SyncRetention.ID)) {
+            SyncRetention retention = new SyncRetention();
+            retention.setId(SyncRetention.ID);
+            retention.setPurgedUpTo(upTo);
+            retention.setPurgedAt(now);
+            retentionRepository.save(retention);
+        }
+        int purged = tombstoneRepository.deleteUpTo(upTo);
+        log.info("Purged {} sync tombstones up to change {}", purged, upTo);
+    }
+
+}
@@ -9,6 +9,7 @@ import com.example.taskmanager.backend.model.Task;
 import com.example.taskmanager.backend.model.User;
 import com.example.taskmanager.backend.repository.TaskRepository;
 import com.example.taskmanager.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,6 +19,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.calls", description = "Service method calls")
 public class UserServiceImpl implements UserService {
 
     private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
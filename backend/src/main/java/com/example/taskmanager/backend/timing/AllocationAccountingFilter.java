@@ -0,0 +1,113 @@
+package com.example.taskmanager.backend.timing;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Байты, выделенные потоком запроса (ThreadMXBean.getCurrentThreadAllocatedBytes), — в метрику
+ * http.server.requests.allocation с тегами method, uri (шаблон маршрута) и status и, по желанию,
+ * в заголовок ответа.
+ * <p>
+ * Учитывается только поток запроса: работа в других пулах и асинхронные ответы не попадают в замер.
+ * Для заголовка ответ буферизуется, чтобы в замер вошла сериализация.
+ */
+public class AllocationAccountingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AllocationAccountingFilter.class);
+
+    public static final String ALLOCATED_BYTES = "X-Allocated-Bytes";
+
+    private final com.sun.management.ThreadMXBean threads;
+    private final MeterRegistry meterRegistry;
+    private final boolean header;
+    private final List<String> excludedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AllocationAccountingFilter(MeterRegistry meterRegistry, boolean header, List<String> excludedPaths) {
+        this.threads = threadMXBean();
+        this.meterRegistry = meterRegistry;
+        this.header = header;
+        this.excludedPaths = excludedPaths;
+    }
+
+    // null, если JVM не умеет считать выделения по потокам
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            if (!threads.isThreadAllocatedMemoryEnabled()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+            }
+            return threads;
+        }
+        log.warn("Thread allocation accounting is not supported by this JVM, allocation metrics are disabled");
+        return null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (threads == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // -1 у потоков, для которых замер недоступен (например, виртуальных)
+        long before = threads.getCurrentThreadAllocatedBytes();
+        ContentCachingResponseWrapper buffered = header && before >= 0 ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            long after = threads.getCurrentThreadAllocatedBytes();
+            boolean measured = before >= 0 && after >= before && !request.isAsyncStarted();
+            if (measured) {
+                record(request, response, after - before);
+            }
+            if (buffered != null) {
+                if (measured && !buffered.isCommitted()) {
+                    buffered.setHeader(ALLOCATED_BYTES, Long.toString(after - before));
+                }
+                BufferedResponses.copyBody(request, buffered);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long bytes) {
+        DistributionSummary.builder("http.server.requests.allocation")
+                .description("Bytes allocated by the request thread")
+                .baseUnit("bytes")
+                .tag("method", request.getMethod())
+                .tag("uri", uri(request, response))
+                .tag("status", Integer.toString(response.getStatus()))
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    // Шаблон маршрута, как в http.server.requests: иначе число серий росло бы с каждым id
+    private static String uri(HttpServletRequest request, HttpServletResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        return response.getStatus() == HttpStatus.NOT_FOUND.value() ? "NOT_FOUND" : "UNKNOWN";
+    }
+
+}
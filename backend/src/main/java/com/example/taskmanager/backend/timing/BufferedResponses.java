@@ -0,0 +1,42 @@
+package com.example.taskmanager.backend.timing;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+// Отдача буферизованного ответа фильтрами, которые дописывают заголовки после обработки запроса
+final class BufferedResponses {
+
+    private BufferedResponses() {
+    }
+
+    static void copyBody(HttpServletRequest request, ContentCachingResponseWrapper buffered) throws IOException {
+        if (!request.isAsyncStarted()) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+        // Асинхронный ответ допишется после выхода из фильтра: тело отдаем по завершении
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) throws IOException {
+                buffered.copyBodyToResponse();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+}
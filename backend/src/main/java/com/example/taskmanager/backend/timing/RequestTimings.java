@@ -0,0 +1,119 @@
+package com.example.taskmanager.backend.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Разбивка времени запроса по слоям (JWT, загрузка пользователя, контроллер, сервис, репозиторий,
+ * маппинг, сериализация) для заголовка Server-Timing и строки трассировки.
+ * <p>
+ * Замеры привязаны к потоку запроса. Вне запроса или при выключенной трассировке {@link #start(String)}
+ * возвращает общий пустой {@link Span}, поэтому вызовы в коде стоят одно чтение ThreadLocal.
+ * Вложенные замеры с одним именем (сервис вызывает сервис) учитываются один раз, по внешнему.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private static final Span NOOP = () -> { };
+
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Segment> segments = new LinkedHashMap<>();
+
+    private RequestTimings() {
+    }
+
+    public interface Span extends AutoCloseable {
+
+        @Override
+        void close();
+
+    }
+
+    public static Span start(String name) {
+        RequestTimings timings = CURRENT.get();
+        return timings == null ? NOOP : timings.open(name);
+    }
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    private Span open(String name) {
+        Segment segment = segments.computeIfAbsent(name, Segment::new);
+        segment.enter();
+        return segment;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * Значение заголовка Server-Timing: {@code name;dur=мс[;desc="N calls"]} по каждому слою и total.
+     */
+    public String toHeader() {
+        StringBuilder header = new StringBuilder(32 * (segments.size() + 1));
+        for (Segment segment : segments.values()) {
+            header.append(segment.name).append(";dur=").append(millis(segment.totalNanos));
+            if (segment.count > 1) {
+                header.append(";desc=\"").append(segment.count).append(" calls\"");
+            }
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    // Строка для лога: controller=4.10ms service=3.92ms repository=3.01ms/2 ...
+    public String toLogLine() {
+        StringBuilder line = new StringBuilder(24 * (segments.size() + 1));
+        for (Segment segment : segments.values()) {
+            line.append(segment.name).append('=').append(millis(segment.totalNanos)).append("ms");
+            if (segment.count > 1) {
+                line.append('/').append(segment.count);
+            }
+            line.append(' ');
+        }
+        return line.append("total=").append(millis(elapsedNanos())).append("ms").toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    private static final class Segment implements Span {
+
+        private final String name;
+        private int depth;
+        private long enteredAt;
+        private long totalNanos;
+        private int count;
+
+        private Segment(String name) {
+            this.name = name;
+        }
+
+        private void enter() {
+            if (depth++ == 0) {
+                enteredAt = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (--depth == 0) {
+                totalNanos += System.nanoTime() - enteredAt;
+                count++;
+            }
+        }
+
+    }
+
+}
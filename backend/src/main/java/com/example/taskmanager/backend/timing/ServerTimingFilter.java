@@ -0,0 +1,76 @@
+package com.example.taskmanager.backend.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Собирает {@link RequestTimings} на время запроса, отдает их в заголовке Server-Timing
+ * и (по желанию) пишет строкой в лог com.example.taskmanager.backend.timing.
+ * <p>
+ * Для заголовка ответ буферизуется: иначе время сериализации не успело бы попасть в заголовки.
+ * Потоковые пути (SSE, реактивное API) исключаются настройкой excluded-paths.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean header;
+    private final boolean logEnabled;
+    private final long logThresholdNanos;
+    private final List<String> excludedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ServerTimingFilter(boolean header, boolean logEnabled, long logThresholdMs, List<String> excludedPaths) {
+        this.header = header;
+        this.logEnabled = logEnabled;
+        this.logThresholdNanos = logThresholdMs * 1_000_000;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        ContentCachingResponseWrapper buffered = header ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            RequestTimings.end();
+            if (logEnabled && timings.elapsedNanos() >= logThresholdNanos) {
+                log.info("{} {} {} {}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), timings.toLogLine());
+            }
+            if (buffered != null) {
+                writeHeader(request, buffered, timings);
+            }
+        }
+    }
+
+    private static void writeHeader(HttpServletRequest request, ContentCachingResponseWrapper buffered,
+                                    RequestTimings timings) throws IOException {
+        // У асинхронного ответа заголовок уже не собрать: замеры потока запроса не покрывают его
+        if (!request.isAsyncStarted() && !buffered.isCommitted()) {
+            buffered.setHeader(SERVER_TIMING, timings.toHeader());
+        }
+        BufferedResponses.copyBody(request, buffered);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.example.taskmanager.backend.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Замеры слоев для {@link RequestTimings}: контроллеры, сервисы и репозитории Spring Data.
+ * Регистрируется только при app.server-timing.enabled=true.
+ */
+@Aspect
+public class TimingAspect {
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed("controller", joinPoint);
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed("service", joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+            + " || within(com.example.taskmanager.backend.repository..*)")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed("repository", joinPoint);
+    }
+
+    private static Object timed(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        try (RequestTimings.Span ignored = RequestTimings.start(name)) {
+            return joinPoint.proceed();
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.example.taskmanager.backend.validation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class FieldsValidation {
+
+    // Разбирает параметр fields=id,title,status; id возвращается всегда и идет первым
+    public static List<String> parse(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            throw new IllegalArgumentException("Fields cannot be empty");
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.example.taskmanager.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = limiter(30);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int maxConcurrentRequests) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setMaxConcurrentRequests(maxConcurrentRequests);
+        properties.setSmoothing(1.0);
+        properties.setGroups(List.of(
+                new ConcurrencyLimitProperties.Group("reads", 4, 1, 20, 0),
+                new ConcurrencyLimitProperties.Group("admin", 2, 1, 5, 2)));
+        meterRegistry = new SimpleMeterRegistry();
+        return new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquireAll(String group) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire(group)) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+
+    @Test
+    void testTryAcquire_ShedsOverGroupLimit() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll("reads");
+
+        assertEquals(4, permits.size());
+        assertEquals(1.0, meterRegistry.get("http.server.requests.adaptive.shed")
+                .tags("group", "reads", "reason", "limit").counter().count());
+
+        permits.get(0).release(FAST, false);
+        assertNotNull(limiter.tryAcquire("reads"));
+    }
+
+    @Test
+    void testTryAcquire_ReservedCapacityKeptForGroup() {
+        limiter = limiter(5);
+
+        // Общая часть — 5 - 2 = 3 места; reads занимает ее целиком, не дойдя до своего лимита
+        assertEquals(3, acquireAll("reads").size());
+        assertEquals(1.0, meterRegistry.get("http.server.requests.adaptive.shed")
+                .tags("group", "reads", "reason", "capacity").counter().count());
+
+        // Резерв admin остается свободным
+        assertNotNull(limiter.tryAcquire("admin"));
+        assertNotNull(limiter.tryAcquire("admin"));
+        assertNull(limiter.tryAcquire("admin"));
+        assertEquals(3, limiter.sharedInUse());
+    }
+
+    @Test
+    void testRelease_LimitGrowsWhileLatencyIsStable() {
+        for (int i = 0; i < 5; i++) {
+            acquireAll("reads").forEach(permit -> permit.release(FAST, false));
+        }
+
+        assertTrue(limiter.limit("reads") > 4);
+        assertEquals(0, limiter.inFlight("reads"));
+    }
+
+    @Test
+    void testRelease_LimitShrinksWhenLatencyRises() {
+        for (int i = 0; i < 5; i++) {
+            acquireAll("reads").forEach(permit -> permit.release(FAST, false));
+        }
+        int grown = limiter.limit("reads");
+
+        for (int i = 0; i < 5; i++) {
+            acquireAll("reads").forEach(permit -> permit.release(SLOW, false));
+        }
+
+        assertTrue(limiter.limit("reads") < grown);
+    }
+
+    @Test
+    void testRelease_ErrorsBackOff() {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll("reads");
+        permits.forEach(permit -> permit.release(FAST, true));
+
+        assertEquals(2, limiter.limit("reads"));
+        // Повторное освобождение ничего не меняет
+        permits.get(0).release(FAST, true);
+        assertEquals(0, limiter.inFlight("reads"));
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.example.taskmanager.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BulkheadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProperties properties = new BulkheadProperties();
+        Map<TrafficClass, Bulkhead> bulkheads = new EnumMap<>(TrafficClass.class);
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            // Одно место и без очереди ожидания
+            bulkheads.put(trafficClass, new Bulkhead(trafficClass,
+                    new BulkheadProperties.Partition(1, 0, 10, 1), meterRegistry));
+        }
+        filter = new BulkheadFilter(properties, bulkheads);
+    }
+
+    @Test
+    void testClassify() {
+        assertEquals(TrafficClass.AUTH, filter.classify(new MockHttpServletRequest("POST", "/api/auth/login")));
+        assertEquals(TrafficClass.ADMIN, filter.classify(new MockHttpServletRequest("GET", "/api/admin/users")));
+        assertEquals(TrafficClass.USER_READ, filter.classify(new MockHttpServletRequest("GET", "/api/tasks")));
+        assertEquals(TrafficClass.USER_WRITE, filter.classify(new MockHttpServletRequest("DELETE", "/api/tasks/1")));
+    }
+
+    @Test
+    void testDoFilter_SetsTrafficClassForRequest() throws Exception {
+        AtomicReference<TrafficClass> seen = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/tasks"), new MockHttpServletResponse(),
+                (request, response) -> seen.set(TrafficClass.current()));
+
+        assertEquals(TrafficClass.ADMIN, seen.get());
+        assertNull(TrafficClass.current());
+    }
+
+    @Test
+    void testDoFilter_FullBulkheadDoesNotAffectOtherClasses() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockHttpServletResponse user = new MockHttpServletResponse();
+
+        // Пока единственное место admin занято, второй admin-запрос отклоняется, а пользовательский проходит
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/users"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/tasks"), rejected,
+                            new MockFilterChain());
+                    filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), user, new MockFilterChain());
+                });
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(200, user.getStatus());
+        assertEquals(1.0, meterRegistry.get("bulkhead.rejected").tag("class", "admin").counter().count());
+    }
+
+    @Test
+    void testDoFilter_BatchRequestLeavesPlaceToItsOperations() throws Exception {
+        MockHttpServletResponse operation = new MockHttpServletResponse();
+
+        // Пакет и его запись — один класс user-write с одним местом; место достается операции
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/batch"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(
+                        new MockHttpServletRequest("POST", "/api/tasks"), operation, new MockFilterChain()));
+
+        assertEquals(200, operation.getStatus());
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanager.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionPoolLimitFilter filter = new ConnectionPoolLimitFilter(1, 10, 1, meterRegistry);
+
+    @Test
+    void testDoFilter_PassesWithinLimit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        // Разрешение возвращается после обработки запроса
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void testDoFilter_RejectsWhenLimitReached() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        // Второй запрос приходит, пока первый еще держит единственное разрешение
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(
+                        new MockHttpServletRequest("GET", "/api/tasks"), rejected, new MockFilterChain()));
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Server is busy"));
+        assertEquals(1.0, meterRegistry.get("http.server.requests.concurrency.rejected").counter().count());
+    }
+
+    @Test
+    void testDoFilter_BatchRequestLeavesPermitToItsOperations() throws Exception {
+        MockHttpServletResponse operation = new MockHttpServletResponse();
+
+        // Единственное разрешение достается операции, а не пакету, который ее выполняет
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/batch"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(
+                        new MockHttpServletRequest("POST", "/api/tasks"), operation, new MockFilterChain()));
+
+        assertEquals(200, operation.getStatus());
+    }
+
+}
@@ -8,6 +8,7 @@ import com.example.taskmanager.backend.security.JwtUtil;
 import com.example.taskmanager.backend.security.SecurityConfig;
 import com.example.taskmanager.backend.service.AuthService;
 import com.example.taskmanager.backend.service.CustomUserDetailsService;
+import com.example.taskmanager.backend.service.TokenRevocationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -47,8 +48,12 @@ class AuthControllerTest {
     @MockBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     private static final String REGISTER_URL = "/api/auth/register";
     private static final String LOGIN_URL = "/api/auth/login";
+    private static final String LOGOUT_URL = "/api/auth/logout";
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -179,4 +184,24 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Authentication service unavailable"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testLogout_Success() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post(LOGOUT_URL)
+                        .header("Authorization", "Bearer mocked-token"))
+                .andExpect(status().isNoContent());
+
+        verify(tokenRevocationService, times(1)).revoke("mocked-token");
+    }
+
+    @Test
+    void testLogout_MissingToken() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post(LOGOUT_URL))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.status").value(401));
+
+        verify(tokenRevocationService, never()).revoke(anyString());
+    }
+
+}
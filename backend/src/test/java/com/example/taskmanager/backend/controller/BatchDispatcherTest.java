@@ -0,0 +1,213 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.model.User;
+import com.example.taskmanager.backend.repository.CommentRepository;
+import com.example.taskmanager.backend.repository.IdempotencyRecordRepository;
+import com.example.taskmanager.backend.repository.SharedTaskRepository;
+import com.example.taskmanager.backend.repository.SyncTombstoneRepository;
+import com.example.taskmanager.backend.repository.TaskRepository;
+import com.example.taskmanager.backend.repository.UserRepository;
+import com.example.taskmanager.backend.security.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Операции пакета выполняются настоящими контроллерами и проходят через фильтры политик так же,
+ * как отдельные запросы: лимит частоты считает каждую операцию, Idempotency-Key задается на операцию.
+ */
+@SpringBootTest(properties = {
+        "app.single-flight.enabled=false",
+        "app.task-cache.enabled=false",
+        "app.bulkhead.enabled=false",
+        "security.password-hashing.strength=4",
+        "rate-limit.groups[0].name=task-writes",
+        "rate-limit.groups[0].paths=/api/tasks/**",
+        "rate-limit.groups[0].methods=POST",
+        "rate-limit.groups[0].per-user.capacity=3",
+        "rate-limit.groups[0].per-user.refill-per-second=0.001",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BatchDispatcherTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DispatcherServlet dispatcherServlet;
+
+    @Autowired
+    private ServletContext servletContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private SharedTaskRepository sharedTaskRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() throws ServletException {
+        // MockMvc работает со своим сервлетом; бин, в который диспетчеризует пакет, в тесте не инициализирует контейнер
+        if (dispatcherServlet.getServletConfig() == null) {
+            dispatcherServlet.init(new MockServletConfig(servletContext));
+        }
+
+        commentRepository.deleteAllInBatch();
+        sharedTaskRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        syncTombstoneRepository.deleteAllInBatch();
+        idempotencyRecordRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+
+        // Свой пользователь на каждый тест: корзины лимита частоты живут весь контекст
+        String login = "batch-" + UUID.randomUUID().toString().substring(0, 8);
+        user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@example.com");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setRole("USER");
+        user = userRepository.save(user);
+        token = jwtUtil.generateToken(user.getEmail(), false);
+    }
+
+    private String taskJson(String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"Description\",\"status\":\"TO_DO\","
+                + "\"priority\":\"HIGH\",\"deadline\":\"" + LocalDate.now().plusDays(7) + "\",\"userId\":" + user.getId() + "}";
+    }
+
+    private String createOperation(String id, String title, String idempotencyKey) {
+        return "{\"id\":\"" + id + "\",\"method\":\"POST\",\"path\":\"/api/tasks\",\"body\":" + taskJson(title)
+                + (idempotencyKey == null ? "" : ",\"idempotencyKey\":\"" + idempotencyKey + "\"") + "}";
+    }
+
+    private JsonNode batch(List<String> operations, String... headers) throws Exception {
+        var request = post("/api/batch")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operations\":[" + String.join(",", operations) + "]}");
+        for (int i = 0; i + 1 < headers.length; i += 2) {
+            request.header(headers[i], headers[i + 1]);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("results");
+    }
+
+    @Test
+    void testBatch_DispatchesToControllers() throws Exception {
+        JsonNode results = batch(List.of(
+                createOperation("create", "Batch task", null),
+                "{\"id\":\"list\",\"method\":\"GET\",\"path\":\"/api/tasks?fields=id,title\",\"dependsOn\":[\"create\"]}"));
+
+        assertEquals(201, results.get(0).get("status").asInt());
+        assertEquals("Batch task", results.get(0).get("body").get("title").asText());
+        assertEquals(200, results.get(1).get("status").asInt());
+        assertEquals("Batch task", results.get(1).get("body").get(0).get("title").asText());
+    }
+
+    @Test
+    void testBatch_RateLimitCountsEachOperation() throws Exception {
+        List<String> operations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            operations.add(createOperation("op" + i, "Task " + i, null));
+        }
+
+        JsonNode results = batch(operations);
+
+        int created = 0;
+        int limited = 0;
+        for (JsonNode result : results) {
+            int status = result.get("status").asInt();
+            if (status == 201) {
+                created++;
+            } else if (status == 429) {
+                limited++;
+            }
+        }
+        assertEquals(3, created);
+        assertEquals(2, limited);
+        assertEquals(3, taskRepository.count());
+    }
+
+    @Test
+    void testBatch_IdempotencyKeyPerOperation() throws Exception {
+        JsonNode first = batch(List.of(createOperation("create", "Idempotent task", "key-1")));
+        JsonNode replay = batch(List.of(createOperation("create", "Idempotent task", "key-1")));
+
+        assertEquals(201, first.get(0).get("status").asInt());
+        assertEquals(201, replay.get(0).get("status").asInt());
+        assertEquals(first.get(0).get("body").get("id"), replay.get(0).get("body").get("id"));
+        assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    void testBatch_RequestIdempotencyKeyNotSharedByOperations() throws Exception {
+        // Один ключ запроса на разные операции сделал бы вторую повтором или конфликтом
+        JsonNode results = batch(List.of(
+                        createOperation("first", "First task", null),
+                        "{\"id\":\"second\",\"method\":\"POST\",\"path\":\"/api/tasks\",\"dependsOn\":[\"first\"],"
+                                + "\"body\":" + taskJson("Second task") + "}"),
+                "Idempotency-Key", "batch-key");
+
+        assertEquals(201, results.get(0).get("status").asInt());
+        assertEquals(201, results.get(1).get("status").asInt());
+        assertEquals(2, taskRepository.count());
+    }
+
+    @Test
+    void testBatch_AccessRulesCheckedPerOperation() throws Exception {
+        JsonNode results = batch(List.of("{\"id\":\"users\",\"method\":\"GET\",\"path\":\"/api/admin/users\"}"));
+
+        assertEquals(403, results.get(0).get("status").asInt());
+    }
+
+}
@@ -1,15 +1,19 @@
 package com.example.taskmanager.backend.controller;
 
+import com.example.taskmanager.backend.config.ProtobufDtoHttpMessageConverter;
 import com.example.taskmanager.backend.dto.CommentDto;
 import com.example.taskmanager.backend.dto.CommentRequestDto;
 import com.example.taskmanager.backend.exception.CommentNotFoundException;
 import com.example.taskmanager.backend.exception.GlobalExceptionHandler;
 import com.example.taskmanager.backend.exception.TaskNotFoundException;
 import com.example.taskmanager.backend.exception.UserNotFoundException;
+import com.example.taskmanager.backend.mapper.ProtoMapper;
+import com.example.taskmanager.backend.proto.CommentList;
 import com.example.taskmanager.backend.security.JwtRequestFilter;
 import com.example.taskmanager.backend.security.JwtUtil;
 import com.example.taskmanager.backend.service.CommentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +28,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.Collections;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -270,4 +275,41 @@ class CommentControllerTest {
 
         verify(commentService, times(1)).deleteComment(COMMENT_ID);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetCommentsByTaskId_Protobuf() throws Exception {
+        CommentDto commentDto = new CommentDto(COMMENT_ID, TASK_ID, USER_ID, USER_NAME, CONTENT, CREATED_AT);
+        when(commentService.getCommentsByTaskId(TASK_ID)).thenReturn(Collections.singletonList(commentDto));
+
+        byte[] body = mockMvc.perform(get("/api/comments/task/{taskId}", TASK_ID)
+                        .accept(ProtobufDtoHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProtobufDtoHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        CommentList comments = CommentList.parseFrom(body);
+        assertEquals(1, comments.getCommentsCount());
+        CommentDto comment = ProtoMapper.fromProto(comments.getComments(0));
+        assertEquals(COMMENT_ID, comment.getId());
+        assertEquals(USER_NAME, comment.getUsername());
+        assertEquals(CONTENT, comment.getContent());
+    }
+
+    @Test
+    void testGetCommentsByTaskId_Cbor() throws Exception {
+        CommentDto commentDto = new CommentDto(COMMENT_ID, TASK_ID, USER_ID, USER_NAME, CONTENT, CREATED_AT);
+        when(commentService.getCommentsByTaskId(TASK_ID)).thenReturn(Collections.singletonList(commentDto));
+
+        byte[] body = mockMvc.perform(get("/api/comments/task/{taskId}", TASK_ID)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        CommentDto[] comments = objectMapper.copyWith(new CBORFactory()).readValue(body, CommentDto[].class);
+        assertEquals(1, comments.length);
+        assertEquals(CONTENT, comments[0].getContent());
+        assertEquals(CREATED_AT, comments[0].getCreatedAt());
+    }
+
+}
@@ -0,0 +1,320 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.model.Comment;
+import com.example.taskmanager.backend.model.SharedTask;
+import com.example.taskmanager.backend.model.Task;
+import com.example.taskmanager.backend.model.TaskPriority;
+import com.example.taskmanager.backend.model.TaskStatus;
+import com.example.taskmanager.backend.model.User;
+import com.example.taskmanager.backend.repository.CommentRepository;
+import com.example.taskmanager.backend.repository.IdempotencyRecordRepository;
+import com.example.taskmanager.backend.repository.SharedTaskRepository;
+import com.example.taskmanager.backend.repository.SyncTombstoneRepository;
+import com.example.taskmanager.backend.repository.TaskRepository;
+import com.example.taskmanager.backend.repository.UserRepository;
+import com.example.taskmanager.backend.security.JwtUtil;
+import com.example.taskmanager.backend.support.QueryCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Бюджет SQL-запросов на запрос для каждого эндпоинта на заполненной базе H2.
+ * <p>
+ * Данных достаточно, чтобы N+1 был заметен: списки содержат задачи и комментарии разных пользователей.
+ * Кеши чтения и ограничители выключены, чтобы каждый запрос доходил до базы одинаково.
+ * SSE (/api/stream), /api/batch и /api/rx здесь не проверяются: первые два выполняют работу вне потока
+ * запроса, последний работает через R2DBC и по умолчанию выключен.
+ */
+@SpringBootTest(properties = {
+        "app.single-flight.enabled=false",
+        "app.task-cache.enabled=false",
+        "app.bulkhead.enabled=false",
+        "app.concurrency-limit.enabled=false",
+        "rate-limit.enabled=false",
+        "security.password-hashing.strength=4",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryCounter.Config.class)
+class QueryBudgetTest {
+
+    // Одинаковый SELECT больше этого числа раз за запрос считается N+1
+    private static final int MAX_IDENTICAL_SELECTS = 2;
+
+    private static final int USERS = 4;
+    private static final int TASKS_PER_USER = 4;
+    private static final int COMMENTS_PER_TASK = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private SharedTaskRepository sharedTaskRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Seed seed;
+    private String adminToken;
+
+    enum As { USER, ADMIN, ANONYMOUS }
+
+    // Идентификаторы заполненных данных: user владеет ownTask, bareTask без комментариев и участников
+    record Seed(User user, User spare, Task ownTask, Task bareTask, Comment ownComment, String userToken) {}
+
+    record Endpoint(String name, int budget, As as, Function<Seed, MockHttpServletRequestBuilder> request) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        clean();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(user("user" + i, "USER"));
+        }
+        User admin = user("admin", "ADMIN");
+        User spare = user("spare", "USER");
+
+        List<Task> tasks = new ArrayList<>();
+        for (User owner : users) {
+            for (int i = 0; i < TASKS_PER_USER; i++) {
+                tasks.add(task(owner, "Task " + owner.getLogin() + " " + i, i));
+            }
+        }
+        List<Comment> comments = new ArrayList<>();
+        List<SharedTask> shares = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            for (int c = 0; c < COMMENTS_PER_TASK; c++) {
+                comments.add(comment(task, users.get((i + c) % USERS)));
+            }
+            SharedTask share = new SharedTask();
+            share.setTask(task);
+            share.setSharedWithUser(users.get((i + 1) % USERS));
+            shares.add(share);
+        }
+        commentRepository.saveAll(comments);
+        sharedTaskRepository.saveAll(shares);
+        Task bareTask = task(users.get(0), "Bare task", 0);
+
+        User user = users.get(0);
+        seed = new Seed(user, spare, tasks.get(0), bareTask, comments.get(0),
+                jwtUtil.generateToken(user.getEmail(), false));
+        adminToken = jwtUtil.generateToken(admin.getEmail(), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.stop();
+    }
+
+    private void clean() {
+        commentRepository.deleteAllInBatch();
+        sharedTaskRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        syncTombstoneRepository.deleteAllInBatch();
+        idempotencyRecordRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private User user(String login, String role) {
+        User user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@example.com");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Task task(User owner, String title, int index) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Description of " + title);
+        task.setStatus(TaskStatus.values()[index % TaskStatus.values().length]);
+        task.setPriority(TaskPriority.values()[index % TaskPriority.values().length]);
+        task.setDeadline(LocalDate.now().plusDays(index));
+        task.setUser(owner);
+        return taskRepository.save(task);
+    }
+
+    private static Comment comment(Task task, User author) {
+        Comment comment = new Comment();
+        comment.setTask(task);
+        comment.setUser(author);
+        comment.setContent("Comment on " + task.getTitle());
+        return comment;
+    }
+
+    private static String taskJson(Long userId) {
+        return "{\"title\":\"New task\",\"description\":\"Description\",\"status\":\"TO_DO\","
+                + "\"priority\":\"HIGH\",\"deadline\":\"" + LocalDate.now().plusDays(7) + "\",\"userId\":" + userId + "}";
+    }
+
+    static Stream<Endpoint> endpoints() {
+        String deadline = LocalDate.now().plusDays(30).toString();
+        return Stream.of(
+                // Задачи
+                new Endpoint("GET /api/tasks", 3, As.USER, s -> get("/api/tasks")),
+                new Endpoint("GET /api/tasks?fields", 3, As.USER, s -> get("/api/tasks").param("fields", "id,title")),
+                new Endpoint("GET /api/tasks/filter/status", 3, As.USER,
+                        s -> get("/api/tasks/filter/status").param("status", "TO_DO")),
+                new Endpoint("GET /api/tasks/filter/status?fields", 3, As.USER,
+                        s -> get("/api/tasks/filter/status").param("status", "TO_DO").param("fields", "id,status")),
+                new Endpoint("GET /api/tasks/filter/priority", 3, As.USER,
+                        s -> get("/api/tasks/filter/priority").param("priority", "HIGH")),
+                new Endpoint("GET /api/tasks/filter/priority?fields", 3, As.USER,
+                        s -> get("/api/tasks/filter/priority").param("priority", "HIGH").param("fields", "id,priority")),
+                new Endpoint("GET /api/tasks/filter/deadline", 3, As.USER,
+                        s -> get("/api/tasks/filter/deadline").param("deadline", deadline)),
+                new Endpoint("GET /api/tasks/filter/deadline?fields", 3, As.USER,
+                        s -> get("/api/tasks/filter/deadline").param("deadline", deadline).param("fields", "id,deadline")),
+                new Endpoint("GET /api/tasks/search", 3, As.USER, s -> get("/api/tasks/search").param("query", "task")),
+                new Endpoint("GET /api/tasks/search?fields", 3, As.USER,
+                        s -> get("/api/tasks/search").param("query", "task").param("fields", "id,title")),
+                new Endpoint("POST /api/tasks", 8, As.USER, s -> post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON).content(taskJson(s.user().getId()))),
+                new Endpoint("PUT /api/tasks/{id}", 8, As.USER, s -> put("/api/tasks/{id}", s.ownTask().getId())
+                        .contentType(MediaType.APPLICATION_JSON).content(taskJson(s.user().getId()))),
+                new Endpoint("DELETE /api/tasks/{id}", 8, As.USER, s -> delete("/api/tasks/{id}", s.bareTask().getId())),
+                new Endpoint("POST /api/tasks/{id}/share", 8, As.USER, s -> post("/api/tasks/{id}/share", s.ownTask().getId())
+                        .param("userId", s.spare().getId().toString())),
+
+                // Комментарии
+                new Endpoint("GET /api/comments/task/{id}", 3, As.USER,
+                        s -> get("/api/comments/task/{id}", s.ownTask().getId())),
+                new Endpoint("GET /api/comments/task/{id}?fields", 3, As.USER,
+                        s -> get("/api/comments/task/{id}", s.ownTask().getId()).param("fields", "id,content")),
+                new Endpoint("POST /api/comments", 8, As.USER, s -> post("/api/comments")
+                        .param("taskId", s.ownTask().getId().toString()).param("userId", s.user().getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"content\":\"New comment\"}")),
+                new Endpoint("PUT /api/comments/{id}", 8, As.USER, s -> put("/api/comments/{id}", s.ownComment().getId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"content\":\"Edited comment\"}")),
+                new Endpoint("DELETE /api/comments/{id}", 8, As.USER,
+                        s -> delete("/api/comments/{id}", s.ownComment().getId())),
+
+                // Пользователь
+                new Endpoint("GET /api/users/profile", 3, As.USER, s -> get("/api/users/profile")),
+                new Endpoint("PUT /api/users/update", 5, As.USER, s -> put("/api/users/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"login\":\"renamed\",\"password\":\"password456\",\"firstName\":\"A\",\"lastName\":\"B\"}")),
+                new Endpoint("GET /api/sync", 10, As.USER, s -> get("/api/sync").param("since", "0")),
+                new Endpoint("GET /api/protected", 1, As.USER, s -> get("/api/protected")),
+
+                // Аутентификация
+                new Endpoint("POST /api/auth/register", 4, As.ANONYMOUS, s -> post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"login\":\"newbie\",\"email\":\"newbie@example.com\",\"password\":\"password123\"}")),
+                new Endpoint("POST /api/auth/login", 3, As.ANONYMOUS, s -> post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"login\":\"user0\",\"email\":\"user0@example.com\",\"password\":\"password123\"}")),
+                new Endpoint("POST /api/auth/logout", 2, As.ANONYMOUS, s -> post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + s.userToken())),
+
+                // Администрирование
+                new Endpoint("GET /api/admin/users", 2, As.ADMIN, s -> get("/api/admin/users")),
+                new Endpoint("POST /api/admin/users", 4, As.ADMIN, s -> post("/api/admin/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"login\":\"created\",\"email\":\"created@example.com\",\"password\":\"password123\"}")),
+                new Endpoint("POST /api/admin/users/{id}/block", 4, As.ADMIN,
+                        s -> post("/api/admin/users/{id}/block", s.spare().getId())),
+                new Endpoint("POST /api/admin/users/{id}/unblock", 4, As.ADMIN,
+                        s -> post("/api/admin/users/{id}/unblock", s.spare().getId())),
+                new Endpoint("POST /api/admin/users/{id}/make-admin", 4, As.ADMIN,
+                        s -> post("/api/admin/users/{id}/make-admin", s.spare().getId())),
+                new Endpoint("POST /api/admin/users/{id}/make-user", 4, As.ADMIN,
+                        s -> post("/api/admin/users/{id}/make-user", s.spare().getId())),
+                new Endpoint("DELETE /api/admin/users/{id}", 4, As.ADMIN,
+                        s -> delete("/api/admin/users/{id}", s.spare().getId())),
+                new Endpoint("DELETE /api/admin/tasks/{id}", 8, As.ADMIN,
+                        s -> delete("/api/admin/tasks/{id}", s.bareTask().getId())),
+                new Endpoint("DELETE /api/admin/comments/{id}", 8, As.ADMIN,
+                        s -> delete("/api/admin/comments/{id}", s.ownComment().getId())),
+                new Endpoint("POST /api/admin/tokens/{id}/revoke", 3, As.ADMIN,
+                        s -> post("/api/admin/tokens/{id}/revoke", "revoked-by-query-budget-test"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void testEndpoint_StaysWithinQueryBudget(Endpoint endpoint) throws Exception {
+        MockHttpServletRequestBuilder request = endpoint.request().apply(seed);
+        switch (endpoint.as()) {
+            case USER -> request.header(HttpHeaders.AUTHORIZATION, "Bearer " + seed.userToken());
+            case ADMIN -> request.header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken);
+            case ANONYMOUS -> { }
+        }
+
+        QueryCounter.start();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        List<String> statements = QueryCounter.stop();
+
+        int status = result.getResponse().getStatus();
+        assertTrue(status >= 200 && status < 300,
+                () -> endpoint + " returned " + status + ": " + contentOf(result));
+
+        Map<String, Long> repeated = QueryCounter.repeatedSelects(statements, MAX_IDENTICAL_SELECTS);
+        assertEquals(Map.of(), repeated, () -> endpoint + " repeats the same SELECT (N+1)");
+        assertTrue(statements.size() <= endpoint.budget(), () -> endpoint + " executed " + statements.size()
+                + " statements, budget " + endpoint.budget() + ":\n" + String.join("\n", statements));
+    }
+
+    private static String contentOf(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (Exception ex) {
+            return "";
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.example.taskmanager.backend.controller;
+
+import com.example.taskmanager.backend.dto.TaskDto;
+import com.example.taskmanager.backend.dto.UserProfileDto;
+import com.example.taskmanager.backend.exception.GlobalExceptionHandler;
+import com.example.taskmanager.backend.exception.TaskNotFoundException;
+import com.example.taskmanager.backend.security.JwtRequestFilter;
+import com.example.taskmanager.backend.security.JwtUtil;
+import com.example.taskmanager.backend.service.ReactiveCommentService;
+import com.example.taskmanager.backend.service.ReactiveTaskService;
+import com.example.taskmanager.backend.service.ReactiveUserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ReactiveReadController.class, properties = "app.reactive.enabled=true")
+@Import(GlobalExceptionHandler.class)
+@AutoConfigureMockMvc(addFilters = false) // Отключаем фильтры безопасности
+class ReactiveReadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveTaskService taskService;
+
+    @MockBean
+    private ReactiveCommentService commentService;
+
+    @MockBean
+    private ReactiveUserService userService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private JwtRequestFilter jwtRequestFilter;
+
+    private static final TaskDto TASK = new TaskDto(1L, "Title", "Description", "TO_DO", "HIGH",
+            LocalDate.now().plusDays(3), 2L);
+
+    @Test
+    void testGetAllTasks_Success() throws Exception {
+        when(taskService.getAllTasks()).thenReturn(Flux.just(TASK));
+
+        MvcResult result = mockMvc.perform(get("/api/rx/tasks"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].title").value("Title"));
+    }
+
+    @Test
+    void testGetCommentsByTaskId_TaskNotFound() throws Exception {
+        when(commentService.getCommentsByTaskId(99L)).thenReturn(Flux.error(new TaskNotFoundException("Task not found")));
+
+        MvcResult result = mockMvc.perform(get("/api/rx/comments/task/99"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Task not found"));
+    }
+
+    @Test
+    void testGetProfile_Success() throws Exception {
+        UserProfileDto profile = new UserProfileDto(2L, "user", "user@example.com", "", "", "USER", List.of(TASK));
+        when(userService.getUserProfile("user@example.com")).thenReturn(Mono.just(profile));
+
+        MvcResult result = mockMvc.perform(get("/api/rx/users/profile")
+                        .principal(new UsernamePasswordAuthenticationToken("user@example.com", null)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("user@example.com"))
+                .andExpect(jsonPath("$.tasks[0].id").value(1));
+    }
+
+}
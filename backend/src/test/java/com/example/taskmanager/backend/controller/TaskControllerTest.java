@@ -1,15 +1,19 @@
 package com.example.taskmanager.backend.controller;
 
+import com.example.taskmanager.backend.config.ProtobufDtoHttpMessageConverter;
 import com.example.taskmanager.backend.dto.TaskDto;
 import com.example.taskmanager.backend.dto.TaskRequestDto;
 import com.example.taskmanager.backend.exception.GlobalExceptionHandler;
 import com.example.taskmanager.backend.exception.TaskNotFoundException;
 import com.example.taskmanager.backend.exception.UserNotFoundException;
+import com.example.taskmanager.backend.mapper.ProtoMapper;
+import com.example.taskmanager.backend.proto.TaskList;
 import com.example.taskmanager.backend.repository.TaskRepository;
 import com.example.taskmanager.backend.security.JwtRequestFilter;
 import com.example.taskmanager.backend.security.JwtUtil;
 import com.example.taskmanager.backend.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,11 +26,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -306,4 +314,66 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.message").value("Task not found"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testGetAllTasks_Protobuf() throws Exception {
+        when(taskService.getAllTasks()).thenReturn(List.of(createSampleTaskDto()));
+
+        byte[] body = mockMvc.perform(get("/api/tasks")
+                        .accept(ProtobufDtoHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProtobufDtoHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<TaskDto> tasks = ProtoMapper.fromProto(TaskList.parseFrom(body));
+        assertEquals(1, tasks.size());
+        assertEquals("Title", tasks.get(0).getTitle());
+        assertEquals(PRIORITY, tasks.get(0).getPriority());
+        assertEquals(DEADLINE, tasks.get(0).getDeadline());
+    }
+
+    @Test
+    void testGetAllTasks_Cbor() throws Exception {
+        when(taskService.getAllTasks()).thenReturn(List.of(createSampleTaskDto()));
+
+        byte[] body = mockMvc.perform(get("/api/tasks")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TaskDto[] tasks = objectMapper.copyWith(new CBORFactory()).readValue(body, TaskDto[].class);
+        assertEquals(1, tasks.length);
+        assertEquals(DEADLINE, tasks[0].getDeadline());
+    }
+
+    @Test
+    void testGetAllTasks_Fields() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", TASK_ID);
+        row.put("title", "Title");
+        row.put("deadline", DEADLINE);
+        when(taskService.getAllTasks(List.of("id", "title", "deadline"))).thenReturn(List.of(row));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("fields", "title, deadline"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(TASK_ID))
+                .andExpect(jsonPath("$[0].title").value("Title"))
+                .andExpect(jsonPath("$[0].deadline").value(DEADLINE.toString()))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    void testFilterByStatus_Fields_InvalidStatus() throws Exception {
+        mockMvc.perform(get("/api/tasks/filter/status")
+                        .param("status", "INVALID_STATUS")
+                        .param("fields", "title"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid status: INVALID_STATUS"));
+
+        verify(taskService, never()).filterByStatus(anyString(), anyList());
+    }
+
+}
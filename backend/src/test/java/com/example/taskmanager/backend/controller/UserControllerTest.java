@@ -1,13 +1,19 @@
 package com.example.taskmanager.backend.controller;
 
+import com.example.taskmanager.backend.config.ProtobufDtoHttpMessageConverter;
 import com.example.taskmanager.backend.dto.TaskDto;
 import com.example.taskmanager.backend.dto.UserProfileDto;
 import com.example.taskmanager.backend.dto.UserUpdateDto;
+import com.example.taskmanager.backend.mapper.ProtoMapper;
+import com.example.taskmanager.backend.proto.UserProfile;
 import com.example.taskmanager.backend.security.JwtUtil;
 import com.example.taskmanager.backend.service.CustomUserDetailsService;
+import com.example.taskmanager.backend.service.TokenRevocationService;
 import com.example.taskmanager.backend.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.jsonwebtoken.Jwts;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +31,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -47,6 +54,9 @@ class UserControllerTest {
     @MockBean
     private CustomUserDetailsService customUserDetailsService;
 
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     private static final String PROFILE_URL = "/api/users/profile";
     private static final String UPDATE_URL = "/api/users/update";
 
@@ -55,6 +65,8 @@ class UserControllerTest {
     @BeforeEach
     void setUp() {
         objectMapper.registerModule(new JavaTimeModule());
+        // Токен без subject: фильтр пропускает запрос, пользователь задается через SecurityMockMvcRequestPostProcessors
+        when(jwtUtil.extractClaims(anyString())).thenReturn(Jwts.claims());
     }
 
     @Test
@@ -168,4 +180,54 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.message").value(containsString("Validation failed")));
     }
 
-}
\ No newline at end of file
+    private UserProfileDto sampleProfile(String email) {
+        return new UserProfileDto(
+                1L,
+                "testUser",
+                email,
+                "firstName",
+                "lastName",
+                "USER",
+                List.of(new TaskDto(1L, "Task 1", "Description", "TO_DO", "LOW", LocalDate.now().plusDays(1), 1L))
+        );
+    }
+
+    @Test
+    void testGetProfile_Protobuf() throws Exception {
+        String email = "test@example.com";
+        when(userService.getUserProfile(email)).thenReturn(sampleProfile(email));
+
+        byte[] body = mockMvc.perform(get(PROFILE_URL)
+                        .with(SecurityMockMvcRequestPostProcessors.user(email).roles("USER"))
+                        .header("Authorization", "Bearer token")
+                        .accept(ProtobufDtoHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ProtobufDtoHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        UserProfile profile = UserProfile.parseFrom(body);
+        assertEquals("testUser", profile.getLogin());
+        assertEquals(email, profile.getEmail());
+        assertEquals(1, profile.getTasksCount());
+        assertEquals(LocalDate.now().plusDays(1), ProtoMapper.fromProto(profile.getTasks(0)).getDeadline());
+    }
+
+    @Test
+    void testGetProfile_Cbor() throws Exception {
+        String email = "test@example.com";
+        when(userService.getUserProfile(email)).thenReturn(sampleProfile(email));
+
+        byte[] body = mockMvc.perform(get(PROFILE_URL)
+                        .with(SecurityMockMvcRequestPostProcessors.user(email).roles("USER"))
+                        .header("Authorization", "Bearer token")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        UserProfileDto profile = objectMapper.copyWith(new CBORFactory()).readValue(body, UserProfileDto.class);
+        assertEquals("testUser", profile.getLogin());
+        assertEquals("Task 1", profile.getTasks().get(0).getTitle());
+    }
+
+}
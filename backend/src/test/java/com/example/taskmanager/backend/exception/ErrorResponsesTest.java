@@ -0,0 +1,48 @@
+package com.example.taskmanager.backend.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorResponsesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testRender_ProducesErrorResponseJson() throws Exception {
+        JsonNode json = objectMapper.readTree(ErrorResponses.render(404, "Task not found", "uri=/api/tasks/1"));
+
+        assertEquals(404, json.get("status").asInt());
+        assertEquals("Task not found", json.get("message").asText());
+        assertEquals("uri=/api/tasks/1", json.get("details").asText());
+        assertNotNull(LocalDateTime.parse(json.get("timestamp").asText()));
+    }
+
+    @Test
+    void testRender_NullDetails() throws Exception {
+        JsonNode json = objectMapper.readTree(ErrorResponses.render(401, "Invalid token", null));
+
+        assertTrue(json.get("details").isNull());
+    }
+
+    @Test
+    void testRender_EscapesSpecialCharacters() throws Exception {
+        String message = "User \"a@b.c\" not found\n";
+        byte[] body = ErrorResponses.render(404, message, "uri=/api/users?q=\"x\"");
+
+        JsonNode json = objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
+        assertEquals(message, json.get("message").asText());
+        assertEquals("uri=/api/users?q=\"x\"", json.get("details").asText());
+    }
+
+    @Test
+    void testBusinessException_HasNoStackTrace() {
+        assertEquals(0, new TaskNotFoundException("Task not found").getStackTrace().length);
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.example.taskmanager.backend.jdbc;
+
+import com.example.taskmanager.backend.dto.SlowQueryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SlowQueryDataSourceTest {
+
+    private static final String SQL = "select t.id from tasks t where t.user_id=? and t.title like ?";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowQueryLog slowQueryLog;
+    private PreparedStatement statement;
+    private DataSource target;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        slowQueryLog = new SlowQueryLog(2, false, mock(ObjectProvider.class), meterRegistry);
+        statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(SQL)).thenReturn(statement);
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SlowQueryContext.exitService();
+        SlowQueryContext.exitRepository();
+    }
+
+    private void execute(DataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepared = connection.prepareStatement(SQL)) {
+            prepared.setLong(1, 42L);
+            prepared.setString(2, "%secret%");
+            prepared.executeQuery();
+        }
+    }
+
+    @Test
+    void testExecute_RecordsSlowQueryWithRedactedParameters() throws Exception {
+        SlowQueryContext.enterService("TaskServiceImpl.searchTasks");
+        SlowQueryContext.enterRepository("TaskRepository.searchTasks");
+
+        execute(new SlowQueryDataSource(target, slowQueryLog, 0));
+
+        List<SlowQueryDto> recent = slowQueryLog.recent();
+        assertEquals(1, recent.size());
+        SlowQueryDto query = recent.get(0);
+        assertEquals(SQL, query.getSql());
+        assertEquals("[1:42, 2:<redacted 8 chars>]", query.getParameters());
+        assertEquals("TaskServiceImpl.searchTasks", query.getService());
+        assertEquals("TaskRepository.searchTasks", query.getRepository());
+        assertEquals(1.0, meterRegistry.counter("db.queries.slow").count());
+        verify(statement).setString(2, "%secret%");
+    }
+
+    @Test
+    void testExecute_IgnoresQueriesOutsideServicesAndRepositories() throws Exception {
+        execute(new SlowQueryDataSource(target, slowQueryLog, 0));
+
+        assertTrue(slowQueryLog.recent().isEmpty());
+    }
+
+    @Test
+    void testExecute_IgnoresFastQueries() throws Exception {
+        SlowQueryContext.enterRepository("TaskRepository.searchTasks");
+
+        execute(new SlowQueryDataSource(target, slowQueryLog, 60_000));
+
+        assertTrue(slowQueryLog.recent().isEmpty());
+    }
+
+    @Test
+    void testRecent_KeepsLatestNewestFirst() {
+        for (int i = 1; i <= 3; i++) {
+            slowQueryLog.record("select " + i, Map.of(), 1_000_000, null, "UserRepository.findAll");
+        }
+
+        assertEquals(List.of("select 3", "select 2"),
+                slowQueryLog.recent().stream().map(SlowQueryDto::getSql).toList());
+    }
+
+}
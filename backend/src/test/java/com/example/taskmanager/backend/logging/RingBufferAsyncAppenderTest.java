@@ -0,0 +1,93 @@
+package com.example.taskmanager.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.EchoEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    private RingBufferAsyncAppender appender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        // Событие фиксирует MDC при передаче в фоновый поток
+        context.setMDCAdapter(new LogbackMDCAdapter());
+
+        // Вывод без flush на каждое событие, как JSON_FILE в профиле async-logging
+        OutputStreamAppender<ILoggingEvent> target = new OutputStreamAppender<>();
+        target.setContext(context);
+        target.setName("TARGET");
+        target.setEncoder(new EchoEncoder<>());
+        target.setImmediateFlush(false);
+        target.setOutputStream(new BufferedOutputStream(written, 64 * 1024));
+        target.start();
+
+        appender = new RingBufferAsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        appender.addAppender(target);
+        appender.start();
+
+        logger = context.getLogger("test");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appender.stop();
+    }
+
+    private String awaitWritten(String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            String content;
+            synchronized (written) {
+                content = written.toString(StandardCharsets.UTF_8);
+            }
+            if (content.contains(message)) {
+                return content;
+            }
+            Thread.sleep(5);
+        }
+        fail("\"" + message + "\" was not flushed");
+        return null;
+    }
+
+    @Test
+    void testAppend_FlushesOutputWhenBufferDrained() throws InterruptedException {
+        logger.info("first event");
+
+        assertTrue(awaitWritten("first event").contains("first event"));
+    }
+
+    @Test
+    void testAppend_WakesIdleWorker() throws InterruptedException {
+        logger.info("before idle");
+        awaitWritten("before idle");
+        Thread.sleep(50);
+
+        logger.info("after idle");
+
+        assertTrue(awaitWritten("after idle").contains("after idle"));
+        assertEquals(0, appender.getDroppedCount());
+    }
+
+}
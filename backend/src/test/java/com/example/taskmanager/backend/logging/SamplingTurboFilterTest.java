@@ -0,0 +1,73 @@
+package com.example.taskmanager.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final LoggerContext context = new LoggerContext();
+    private SamplingTurboFilter filter;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SamplingTurboFilter(clock::get);
+        filter.setContext(context);
+        filter.setRatePerSecond(1);
+        filter.setBurst(2);
+        filter.start();
+        logger = context.getLogger("com.example.taskmanager.backend.service.TaskServiceImpl");
+        logger.setLevel(Level.DEBUG);
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "Fetching task with id: {}", new Object[]{1L}, null);
+    }
+
+    @Test
+    void testDecide_LimitsEventsPerLogger() {
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.DEBUG));
+        assertEquals(FilterReply.DENY, decide(logger, Level.INFO));
+        assertEquals(1, filter.getSampledOutCount());
+
+        // У другого логгера свой лимит
+        assertEquals(FilterReply.NEUTRAL, decide(context.getLogger("other"), Level.INFO));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+    }
+
+    @Test
+    void testDecide_WarningsAndEnabledChecksAreNotSampled() {
+        decide(logger, Level.INFO);
+        decide(logger, Level.INFO);
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.ERROR));
+        // isDebugEnabled() вызывает фильтр без формата
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, null, null, null));
+    }
+
+    @Test
+    void testDecide_DisabledLevelDoesNotConsumeLimit() {
+        logger.setLevel(Level.INFO);
+        for (int i = 0; i < 5; i++) {
+            decide(logger, Level.DEBUG);
+        }
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO));
+        assertEquals(0, filter.getSampledOutCount());
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.example.taskmanager.backend.repository;
+
+import org.hibernate.dialect.sequence.H2V2SequenceSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeSequenceTest {
+
+    private static final long LAG_MS = 40_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private JdbcTemplate jdbcTemplate;
+    private ChangeSequence changeSequence;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:change-seq-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        for (String table : new String[] {"tasks", "comments", "shared_tasks"}) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY, change_seq BIGINT)");
+        }
+        changeSequence = new ChangeSequence(jdbcTemplate, H2V2SequenceSupport.INSTANCE, LAG_MS, now::get);
+    }
+
+    @Test
+    void testStableCeiling_TrailsMarksByLag() {
+        long early = changeSequence.next();
+        assertEquals(0, changeSequence.stableCeiling());
+
+        // Отметка после early еще моложе задержки: номер мог принадлежать транзакции другого экземпляра
+        now.addAndGet(1_000);
+        changeSequence.mark();
+        long late = changeSequence.next();
+        now.addAndGet(LAG_MS);
+
+        long ceiling = changeSequence.stableCeiling();
+        assertTrue(ceiling >= early, "ceiling " + ceiling + " should cover " + early);
+        assertTrue(ceiling < late, "ceiling " + ceiling + " should not reach " + late);
+    }
+
+    @Test
+    void testStableCeiling_StopsBeforeLocalTransactionInFlight() {
+        TransactionSynchronizationManager.initSynchronization();
+        long pending;
+        try {
+            pending = changeSequence.next();
+            now.addAndGet(1_000);
+            changeSequence.mark();
+            now.addAndGet(LAG_MS);
+
+            assertEquals(pending - 1, changeSequence.stableCeiling());
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(0));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(changeSequence.stableCeiling() >= pending);
+    }
+
+    @Test
+    void testMark_KeepsNewestMarkOlderThanLag() {
+        for (int i = 0; i < 5; i++) {
+            now.addAndGet(LAG_MS + 1);
+            changeSequence.mark();
+        }
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_seq_marks", Integer.class));
+        assertTrue(changeSequence.stableCeiling() > 0);
+    }
+
+}
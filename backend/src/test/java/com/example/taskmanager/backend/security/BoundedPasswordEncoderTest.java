@@ -0,0 +1,86 @@
+package com.example.taskmanager.backend.security;
+
+import com.example.taskmanager.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Кодировщик, который блокируется до сигнала из теста
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed-" + rawPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testEncodeAndMatches_DelegatesToUnderlyingEncoder() {
+        release.countDown();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, 1000, 1, meterRegistry);
+
+        String hash = encoder.encode("password");
+
+        assertEquals("hashed-password", hash);
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("auth.password.hash.duration").tag("operation", "encode").timer().count());
+        encoder.destroy();
+    }
+
+    @Test
+    void testEncode_QueueFull_ThrowsServiceUnavailable() throws Exception {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, 5000, 3, meterRegistry);
+
+        // Первый запрос занимает единственный поток, второй — единственное место в очереди
+        callers.submit(() -> encoder.encode("first"));
+        callers.submit(() -> encoder.encode("second"));
+        long deadline = System.currentTimeMillis() + 2000;
+        while (encoder.getQueueDepth() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class, () -> encoder.encode("third"));
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.rejected").counter().count());
+        encoder.destroy();
+    }
+
+    @Test
+    void testEncode_Timeout_ThrowsServiceUnavailable() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, 50, 1, meterRegistry);
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("slow"));
+        encoder.destroy();
+    }
+
+}
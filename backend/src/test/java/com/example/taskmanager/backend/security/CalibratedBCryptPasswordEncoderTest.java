@@ -0,0 +1,56 @@
+package com.example.taskmanager.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    void testUpgradeEncoding_SameStrength_NoUpgrade() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5, true);
+
+        String hash = encoder.encode("password");
+
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void testUpgradeEncoding_WeakerOrStrongerHash_RequiresUpgrade() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5, true);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+    }
+
+    @Test
+    void testUpgradeEncoding_CalibratedStrength_NeverDowngrades() {
+        // Узел с более медленным железом не ослабляет хеши, которые усилил другой узел
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5, false);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+    }
+
+    @Test
+    void testUpgradeEncoding_NotBcrypt_NoUpgrade() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5, true);
+
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding("plain-text"));
+    }
+
+    @Test
+    void testCalibrate_StaysWithinRange() {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(1, 4, 6);
+
+        int strength = calibrator.calibrate();
+
+        assertTrue(strength >= 4 && strength <= 6);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.example.taskmanager.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private static final String SECRET = "rate-limit-filter-test-secret-that-is-long-enough-for-hs512-signatures-0123456789";
+
+    private JwtUtil jwtUtil;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil(SECRET, 3600));
+
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setName("task-writes");
+        group.setPaths(List.of("/api/tasks/**"));
+        group.setPerUser(new RateLimitProperties.Limit(1, 0.001));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGroups(List.of(group));
+
+        filter = new RateLimitFilter(properties, new TokenBucketRateLimiter(), jwtUtil, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+
+    @Test
+    void testDoFilter_VerifiedClaimsReusedByAuthentication() throws Exception {
+        String token = jwtUtil.generateToken("user@example.com", false);
+        MockHttpServletRequest request = request(token);
+
+        assertEquals(200, perform(request).getStatus());
+        // JwtRequestFilter получает claims из атрибута запроса, подпись проверяется один раз
+        assertEquals("user@example.com", VerifiedJwt.claims(request, token, jwtUtil).getSubject());
+        verify(jwtUtil, times(1)).extractClaims(anyString());
+
+        assertEquals(429, perform(request(token)).getStatus());
+    }
+
+    @Test
+    void testDoFilter_AuthenticatedBatchOperationNotReverified() throws Exception {
+        String token = jwtUtil.generateToken("user@example.com", false);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+
+        assertEquals(200, perform(request(token)).getStatus());
+        assertEquals(429, perform(request(token)).getStatus());
+        verify(jwtUtil, never()).extractClaims(anyString());
+    }
+
+    @Test
+    void testDoFilter_InvalidTokenLimitedByIpOnly() throws Exception {
+        assertEquals(200, perform(request("not-a-token")).getStatus());
+        assertEquals(200, perform(request("not-a-token")).getStatus());
+    }
+
+}
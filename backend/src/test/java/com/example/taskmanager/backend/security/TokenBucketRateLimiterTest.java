@@ -0,0 +1,62 @@
+package com.example.taskmanager.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(clock::get);
+
+    @Test
+    void testTryAcquire_AllowsBurstUpToCapacity() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(3, 1);
+
+        assertEquals(0, rateLimiter.tryAcquire("client", limit));
+        assertEquals(0, rateLimiter.tryAcquire("client", limit));
+        assertEquals(0, rateLimiter.tryAcquire("client", limit));
+
+        long wait = rateLimiter.tryAcquire("client", limit);
+        assertTrue(wait > 0);
+        assertTrue(wait <= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTime() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(1, 2);
+
+        assertEquals(0, rateLimiter.tryAcquire("client", limit));
+        assertTrue(rateLimiter.tryAcquire("client", limit) > 0);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, rateLimiter.tryAcquire("client", limit));
+    }
+
+    @Test
+    void testTryAcquire_KeysAreIndependent() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(1, 1);
+
+        assertEquals(0, rateLimiter.tryAcquire("first", limit));
+        assertEquals(0, rateLimiter.tryAcquire("second", limit));
+        assertTrue(rateLimiter.tryAcquire("first", limit) > 0);
+    }
+
+    @Test
+    void testEvictIdle_RemovesOnlyIdleRefilledBuckets() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(1, 1);
+        rateLimiter.tryAcquire("idle", limit);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        rateLimiter.tryAcquire("active", limit);
+
+        int evicted = rateLimiter.evictIdle(TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(1, evicted);
+        assertEquals(1, rateLimiter.size());
+    }
+
+}
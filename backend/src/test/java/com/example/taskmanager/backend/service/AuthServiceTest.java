@@ -237,4 +237,59 @@ class AuthServiceTest {
         verify(jwtUtil, never()).generateToken(anyString(), eq(false));
     }
 
+    @Test
+    void testLogin_OutdatedHash_RehashesPassword() {
+        // Arrange
+        AuthRequestDto request = new AuthRequestDto();
+        request.setLogin("testUser");
+        request.setEmail("test@example.com");
+        request.setPassword("password");
+
+        User user = new User();
+        user.setId(1L);
+        user.setLogin(request.getLogin());
+        user.setEmail(request.getEmail());
+        user.setPassword("oldHash");
+
+        when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(request.getPassword(), "oldHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+        when(passwordEncoder.encode(request.getPassword())).thenReturn("newHash");
+        when(jwtUtil.generateToken(request.getEmail(), false)).thenReturn("generated-jwt-token");
+
+        // Act
+        String token = authService.login(request);
+
+        // Assert
+        assertEquals("generated-jwt-token", token);
+        assertEquals("newHash", user.getPassword());
+        verify(userRepository, times(1)).save(user);
+    }
+
+    @Test
+    void testLogin_CurrentHash_DoesNotRehash() {
+        // Arrange
+        AuthRequestDto request = new AuthRequestDto();
+        request.setLogin("testUser");
+        request.setEmail("test@example.com");
+        request.setPassword("password");
+
+        User user = new User();
+        user.setId(1L);
+        user.setLogin(request.getLogin());
+        user.setEmail(request.getEmail());
+        user.setPassword("currentHash");
+
+        when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(request.getPassword(), "currentHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("currentHash")).thenReturn(false);
+
+        // Act
+        authService.login(request);
+
+        // Assert
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
 }
\ No newline at end of file
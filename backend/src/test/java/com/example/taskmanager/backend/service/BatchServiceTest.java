@@ -0,0 +1,201 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.BatchOperationDto;
+import com.example.taskmanager.backend.dto.BatchRequestDto;
+import com.example.taskmanager.backend.dto.BatchResponseDto;
+import com.example.taskmanager.backend.dto.BatchResultDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BatchServiceTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        batchService = new BatchService(transactionManager, 5, 2, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.destroy();
+    }
+
+    private static BatchOperationDto operation(String id, String method, String path, String... dependsOn) {
+        return new BatchOperationDto(id, method, path, null, List.of(dependsOn));
+    }
+
+    private static Function<BatchOperationDto, BatchResultDto> respondWith(int status) {
+        return operation -> new BatchResultDto(operation.getId(), status, "{}");
+    }
+
+    @Test
+    void testExecute_IndependentOperationsRunInParallel() {
+        // Обе операции должны стартовать до того, как любая из них завершится
+        CountDownLatch started = new CountDownLatch(2);
+        Function<BatchOperationDto, BatchResultDto> dispatcher = operation -> {
+            started.countDown();
+            try {
+                assertTrue(started.await(2, TimeUnit.SECONDS));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return new BatchResultDto(operation.getId(), 200, "[]");
+        };
+
+        BatchResponseDto response = batchService.execute(new BatchRequestDto(List.of(
+                operation("tasks", "GET", "/api/tasks"),
+                operation("profile", "get", "/api/users/profile")), false), dispatcher);
+
+        assertNull(response.getCommitted());
+        assertEquals(List.of("tasks", "profile"), response.getResults().stream().map(BatchResultDto::getId).toList());
+        assertTrue(response.getResults().stream().allMatch(result -> result.getStatus() == 200));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testExecute_FailedDependencySkipsDependent() {
+        Function<BatchOperationDto, BatchResultDto> dispatcher = operation -> operation.getId().equals("create")
+                ? new BatchResultDto("create", 404, "{\"message\":\"User not found\"}")
+                : new BatchResultDto(operation.getId(), 200, "[]");
+
+        BatchResponseDto response = batchService.execute(new BatchRequestDto(List.of(
+                operation("create", "POST", "/api/tasks"),
+                operation("list", "GET", "/api/tasks", "create"),
+                operation("other", "GET", "/api/users/profile")), false), dispatcher);
+
+        assertEquals(404, response.getResults().get(0).getStatus());
+        assertEquals(424, response.getResults().get(1).getStatus());
+        assertTrue(response.getResults().get(1).getBody().contains("Dependency create failed"));
+        assertEquals(200, response.getResults().get(2).getStatus());
+    }
+
+    @Test
+    void testExecute_AtomicRollsBackOnFailure() {
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        Function<BatchOperationDto, BatchResultDto> dispatcher = operation -> operation.getId().equals("1")
+                ? new BatchResultDto("1", 400, "{}")
+                : new BatchResultDto(operation.getId(), 201, "{}");
+
+        BatchResponseDto response = batchService.execute(new BatchRequestDto(List.of(
+                operation(null, "POST", "/api/tasks"),
+                operation(null, "PUT", "/api/tasks/1"),
+                operation(null, "DELETE", "/api/tasks/2")), true), dispatcher);
+
+        assertFalse(response.getCommitted());
+        assertEquals(List.of(201, 400, 424), response.getResults().stream().map(BatchResultDto::getStatus).toList());
+        assertTrue(status.isRollbackOnly());
+    }
+
+    @Test
+    void testExecute_AtomicCommits() {
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+
+        BatchResponseDto response = batchService.execute(new BatchRequestDto(List.of(
+                operation("a", "POST", "/api/tasks"),
+                operation("b", "POST", "/api/comments?taskId=1&userId=2")), true), respondWith(201));
+
+        assertTrue(response.getCommitted());
+        assertFalse(status.isRollbackOnly());
+        verify(transactionManager).commit(status);
+    }
+
+    @Test
+    void testExecute_Validation() {
+        Function<BatchOperationDto, BatchResultDto> dispatcher = respondWith(200);
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(
+                new BatchRequestDto(List.of(), false), dispatcher));
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(new BatchRequestDto(List.of(
+                operation("a", "GET", "/api/tasks", "b"),
+                operation("b", "GET", "/api/tasks")), false), dispatcher));
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(new BatchRequestDto(List.of(
+                operation("a", "GET", "/api/batch")), false), dispatcher));
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(new BatchRequestDto(List.of(
+                operation("a", "GET", "/api/tasks/../admin/users")), false), dispatcher));
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(new BatchRequestDto(List.of(
+                operation("a", "TRACE", "/api/tasks")), false), dispatcher));
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(new BatchRequestDto(List.of(
+                operation("a", "GET", "/api/tasks"), operation("b", "GET", "/api/tasks"),
+                operation("c", "GET", "/api/tasks"), operation("d", "GET", "/api/tasks"),
+                operation("e", "GET", "/api/tasks"), operation("f", "GET", "/api/tasks")), false), dispatcher));
+    }
+
+    @Test
+    void testExecute_AtomicBatchRejectsIdempotencyKey() {
+        BatchOperationDto create = operation("create", "POST", "/api/tasks");
+        create.setIdempotencyKey("key-1");
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(
+                new BatchRequestDto(List.of(create), true), respondWith(201)));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testExecute_OperationsMissingDeadlineCannotCommit() throws InterruptedException {
+        BatchService shortBatchService = new BatchService(transactionManager, 5, 2, 200);
+        Set<String> dispatched = ConcurrentHashMap.newKeySet();
+        CountDownLatch batchReturned = new CountDownLatch(1);
+        CountDownLatch lateFinished = new CountDownLatch(1);
+        AtomicBoolean lateCommitted = new AtomicBoolean(true);
+        Function<BatchOperationDto, BatchResultDto> dispatcher = operation -> {
+            dispatched.add(operation.getId());
+            try {
+                if (operation.getId().equals("committing")) {
+                    // Коммит начался до срока и закончился после него: пакет дожидается настоящего результата
+                    assertTrue(BatchDeadline.tryCommit());
+                    Thread.sleep(400);
+                    return new BatchResultDto("committing", 201, "{}");
+                }
+                assertTrue(batchReturned.await(2, TimeUnit.SECONDS));
+                lateCommitted.set(BatchDeadline.tryCommit());
+                lateFinished.countDown();
+                return new BatchResultDto(operation.getId(), 201, "{}");
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        };
+
+        try {
+            BatchResponseDto response = shortBatchService.execute(new BatchRequestDto(List.of(
+                    operation("committing", "POST", "/api/tasks"),
+                    operation("late", "POST", "/api/tasks"),
+                    operation("dependent", "POST", "/api/tasks", "late")), false), dispatcher);
+            batchReturned.countDown();
+
+            assertEquals(List.of(201, 504, 504), response.getResults().stream().map(BatchResultDto::getStatus).toList());
+            assertTrue(lateFinished.await(2, TimeUnit.SECONDS));
+            assertFalse(lateCommitted.get());
+            Thread.sleep(100);
+            assertEquals(Set.of("committing", "late"), dispatched);
+        } finally {
+            batchReturned.countDown();
+            shortBatchService.destroy();
+        }
+        assertTrue(BatchDeadline.tryCommit(), "outside a batch operation commits are always allowed");
+    }
+
+}
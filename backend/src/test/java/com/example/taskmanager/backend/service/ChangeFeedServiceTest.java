@@ -0,0 +1,248 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.ChangeEventDto;
+import com.example.taskmanager.backend.model.ChangeAction;
+import com.example.taskmanager.backend.model.SyncTombstone;
+import com.example.taskmanager.backend.repository.ChangeSequence;
+import com.example.taskmanager.backend.repository.SharedTaskRepository;
+import com.example.taskmanager.backend.repository.SyncTombstoneRepository;
+import com.example.taskmanager.backend.repository.TaskRepository;
+import com.example.taskmanager.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ChangeFeedServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SharedTaskRepository sharedTaskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SyncTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        changeFeedService = new ChangeFeedService(taskRepository, sharedTaskRepository, userRepository,
+                tombstoneRepository, changeSequence, eventPublisher, new ObjectMapper(), 2, 60000, 100, 4, 2, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeedService.destroy();
+    }
+
+    @Test
+    void testTaskChanged_PublishesOwnerAndSharedUsersAsRecipients() {
+        // Arrange
+        when(taskRepository.findOwnerIdById(5L)).thenReturn(Optional.of(1L));
+        when(sharedTaskRepository.findSharedWithUserIdsByTaskId(5L)).thenReturn(List.of(2L, 3L));
+
+        // Act
+        changeFeedService.taskChanged(ChangeAction.UPDATED, 5L);
+
+        // Assert
+        ArgumentCaptor<ChangeFeedService.PendingChange> captor = ArgumentCaptor.forClass(ChangeFeedService.PendingChange.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(Set.of(1L, 2L, 3L), captor.getValue().recipients());
+        assertEquals("task", captor.getValue().event().getEntity());
+        assertEquals("UPDATED", captor.getValue().event().getAction());
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void testTaskDeleted_SavesTombstonePerRecipient() {
+        // Arrange
+        when(taskRepository.findOwnerIdById(5L)).thenReturn(Optional.of(1L));
+        when(sharedTaskRepository.findSharedWithUserIdsByTaskId(5L)).thenReturn(List.of(2L));
+        when(changeSequence.next()).thenReturn(42L);
+
+        // Act
+        changeFeedService.taskChanged(ChangeAction.DELETED, 5L);
+
+        // Assert
+        ArgumentCaptor<List<SyncTombstone>> captor = ArgumentCaptor.forClass(List.class);
+        verify(tombstoneRepository).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().stream().allMatch(t -> t.getChangeSeq() == 42L && t.getEntityId() == 5L));
+        assertEquals(Set.of(1L, 2L), captor.getValue().stream().map(SyncTombstone::getUserId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testMissedChanges_FilteredByRecipient() throws Exception {
+        // Arrange
+        long before = lastEventId();
+        publish(ChangeAction.CREATED, 1L, Set.of(1L));
+        publish(ChangeAction.CREATED, 2L, Set.of(2L));
+        changeFeedService.awaitDispatched();
+
+        // Act
+        List<ChangeFeedService.Change> forUser = changeFeedService.missedChanges(before, 1L, false);
+        List<ChangeFeedService.Change> forAdmin = changeFeedService.missedChanges(before, 99L, true);
+
+        // Assert
+        assertEquals(1, forUser.size());
+        assertTrue(forUser.get(0).json().contains("\"taskId\":1"));
+        assertEquals(2, forAdmin.size());
+    }
+
+    @Test
+    void testMissedChanges_EvictedEventsRequireReset() throws Exception {
+        // Arrange
+        long before = lastEventId();
+        publish(ChangeAction.CREATED, 1L, Set.of(1L));
+        publish(ChangeAction.UPDATED, 1L, Set.of(1L));
+        publish(ChangeAction.DELETED, 1L, Set.of(1L));
+        changeFeedService.awaitDispatched();
+
+        // Act & Assert
+        // Буфер на 2 события: первое уже вытеснено
+        assertNull(changeFeedService.missedChanges(before, 1L, false));
+        assertEquals(1, changeFeedService.missedChanges(before + 2, 1L, false).size());
+        // ID из будущего (например, из другого экземпляра) тоже требует полной перезагрузки
+        assertNull(changeFeedService.missedChanges(before + 100, 1L, false));
+    }
+
+    @Test
+    void testSlowSubscriber_DoesNotDelayOthers() throws Exception {
+        // Arrange
+        TestEmitter slow = new TestEmitter(new CountDownLatch(1));
+        TestEmitter fast = new TestEmitter(null);
+        changeFeedService.register(slow, 1L, false, null);
+        changeFeedService.register(fast, 1L, false, null);
+        changeFeedService.awaitDispatched();
+
+        // Act
+        publish(ChangeAction.CREATED, 1L, Set.of(1L));
+        publish(ChangeAction.UPDATED, 1L, Set.of(1L));
+
+        // Assert
+        assertTrue(fast.awaitSent(2));
+        assertTrue(slow.sent.isEmpty());
+        slow.release.countDown();
+        assertTrue(slow.awaitSent(2));
+    }
+
+    @Test
+    void testSubscriberQueueOverflow_ClosesStream() throws Exception {
+        // Arrange
+        TestEmitter slow = new TestEmitter(new CountDownLatch(1));
+        changeFeedService.register(slow, 1L, false, null);
+        changeFeedService.awaitDispatched();
+
+        // Act
+        // Одно событие висит в отправке, четыре помещаются в очередь, шестое ее переполняет
+        publish(ChangeAction.UPDATED, 1L, Set.of(1L));
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            publish(ChangeAction.UPDATED, 1L, Set.of(1L));
+        }
+        changeFeedService.awaitDispatched();
+        slow.release.countDown();
+
+        // Assert
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, slow.sent.size());
+    }
+
+    @Test
+    void testStuckSend_ClosesStreamOnHeartbeat() throws Exception {
+        // Arrange
+        TestEmitter stuck = new TestEmitter(new CountDownLatch(1));
+        changeFeedService.register(stuck, 1L, false, null);
+        changeFeedService.awaitDispatched();
+        publish(ChangeAction.UPDATED, 1L, Set.of(1L));
+        assertTrue(stuck.sending.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        // Act
+        changeFeedService.heartbeat();
+        stuck.release.countDown();
+
+        // Assert
+        assertTrue(stuck.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    // Emitter без HTTP-ответа: запоминает события, по желанию блокирует отправку до release
+    private static final class TestEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+        private final List<SseEventBuilder> sent = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private TestEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private boolean awaitSent(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return sent.size() >= count;
+        }
+
+    }
+
+    private void publish(ChangeAction action, Long taskId, Set<Long> recipients) {
+        changeFeedService.onChange(new ChangeFeedService.PendingChange(
+                new ChangeEventDto("task", action.name(), taskId, null), recipients));
+    }
+
+    private long lastEventId() throws Exception {
+        changeFeedService.awaitDispatched();
+        return changeFeedService.lastEventId();
+    }
+
+}
@@ -1,9 +1,11 @@
 package com.example.taskmanager.backend.service;
 
 import com.example.taskmanager.backend.dto.CommentDto;
+import com.example.taskmanager.backend.model.ChangeAction;
 import com.example.taskmanager.backend.model.Comment;
 import com.example.taskmanager.backend.model.Task;
 import com.example.taskmanager.backend.model.User;
+import com.example.taskmanager.backend.repository.ChangeSequence;
 import com.example.taskmanager.backend.repository.CommentRepository;
 import com.example.taskmanager.backend.repository.TaskRepository;
 import com.example.taskmanager.backend.repository.UserRepository;
@@ -30,6 +32,12 @@ class CommentServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private ChangeSequence changeSequence;
+
     @InjectMocks
     private CommentServiceImpl commentService;
 
@@ -62,6 +70,7 @@ class CommentServiceTest {
         assertNotNull(result);
         assertEquals(content, result.getContent());
         verify(commentRepository, times(1)).save(any(Comment.class));
+        verify(changeFeedService).commentChanged(eq(ChangeAction.CREATED), any(), eq(taskId));
     }
 
     @Test
@@ -245,13 +254,14 @@ class CommentServiceTest {
         // Arrange
         Long commentId = 1L;
 
-        when(commentRepository.existsById(commentId)).thenReturn(true);
+        when(commentRepository.findTaskIdById(commentId)).thenReturn(Optional.of(10L));
 
         // Act
         commentService.deleteComment(commentId);
 
         // Assert
-        verify(commentRepository, times(1)).deleteById(commentId);
+        verify(commentRepository, times(1)).deleteByIdWithoutLoading(commentId);
+        verify(commentRepository, never()).findById(commentId);
     }
 
     @Test
@@ -259,12 +269,12 @@ class CommentServiceTest {
         // Arrange
         Long commentId = 999L;
 
-        when(commentRepository.existsById(commentId)).thenReturn(false);
+        when(commentRepository.findTaskIdById(commentId)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> commentService.deleteComment(commentId));
         assertEquals("Comment not found", exception.getMessage());
-        verify(commentRepository, never()).deleteById(commentId);
+        verify(commentRepository, never()).deleteByIdWithoutLoading(commentId);
     }
 
 }
\ No newline at end of file
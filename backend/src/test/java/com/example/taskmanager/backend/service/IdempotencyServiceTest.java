@@ -0,0 +1,117 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.model.IdempotencyRecord;
+import com.example.taskmanager.backend.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        idempotencyService = new IdempotencyService(repository, 60, 100, 60_000, 10);
+    }
+
+    private void savesWithId(long id) {
+        AtomicReference<IdempotencyRecord> saved = new AtomicReference<>();
+        when(repository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            record.setId(id);
+            saved.set(record);
+            return record;
+        });
+        when(repository.findById(id)).thenAnswer(invocation -> Optional.ofNullable(saved.get()));
+    }
+
+    private static IdempotencyService.StoredResponse created() {
+        return new IdempotencyService.StoredResponse(201, "application/json",
+                "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testBegin_ReplaysCompletedResponse() {
+        savesWithId(1L);
+        IdempotencyService.Decision first = idempotencyService.begin("user", "key-1", "hash");
+        assertInstanceOf(IdempotencyService.Proceed.class, first);
+        idempotencyService.complete((IdempotencyService.Proceed) first, created());
+
+        IdempotencyService.Decision second = idempotencyService.begin("user", "key-1", "hash");
+
+        IdempotencyService.Replay replay = assertInstanceOf(IdempotencyService.Replay.class, second);
+        assertEquals(201, replay.response().status());
+        assertArrayEquals(created().body(), replay.response().body());
+        // Повтор отвечается из памяти, без второй вставки
+        verify(repository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void testBegin_SameKeyDifferentRequestIsMismatch() {
+        savesWithId(1L);
+        IdempotencyService.Proceed first = (IdempotencyService.Proceed) idempotencyService.begin("user", "key-1", "hash");
+        idempotencyService.complete(first, created());
+
+        assertInstanceOf(IdempotencyService.Mismatch.class, idempotencyService.begin("user", "key-1", "other"));
+        // Ключи разных пользователей независимы
+        assertInstanceOf(IdempotencyService.Proceed.class, idempotencyService.begin("admin", "key-1", "other"));
+    }
+
+    @Test
+    void testBegin_InProgressOnAnotherInstance() {
+        IdempotencyRecord existing = new IdempotencyRecord();
+        existing.setId(7L);
+        existing.setRequestHash("hash");
+        existing.setCreatedAt(LocalDateTime.now());
+        existing.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(repository.findByScopeAndIdempotencyKey("user", "key-1")).thenReturn(Optional.of(existing));
+
+        assertInstanceOf(IdempotencyService.InProgress.class, idempotencyService.begin("user", "key-1", "hash"));
+        verify(repository, never()).delete(any());
+    }
+
+    @Test
+    void testBegin_TakesOverAbandonedKey() {
+        IdempotencyRecord abandoned = new IdempotencyRecord();
+        abandoned.setId(7L);
+        abandoned.setRequestHash("hash");
+        abandoned.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        abandoned.setExpiresAt(LocalDateTime.now().plusHours(1));
+        when(repository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.findByScopeAndIdempotencyKey("user", "key-1")).thenReturn(Optional.of(abandoned));
+
+        assertInstanceOf(IdempotencyService.Proceed.class, idempotencyService.begin("user", "key-1", "hash"));
+        verify(repository).delete(abandoned);
+    }
+
+    @Test
+    void testAbandon_AllowsRetry() {
+        savesWithId(1L);
+        IdempotencyService.Proceed first = (IdempotencyService.Proceed) idempotencyService.begin("user", "key-1", "hash");
+
+        idempotencyService.abandon(first);
+
+        verify(repository).deleteInProgress(1L);
+        assertTrue(first.result().isCancelled());
+        assertInstanceOf(IdempotencyService.Proceed.class, idempotencyService.begin("user", "key-1", "hash"));
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.exception.BusinessException;
+import com.example.taskmanager.backend.jfr.JwtEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingServiceTest {
+
+    private final JfrRecordingService service = new JfrRecordingService(1, 16);
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void testStartStop_DumpsApplicationEvents() throws Exception {
+        assertEquals("RUNNING", service.start("default", 0).get("state"));
+
+        JwtEvent event = new JwtEvent("parse");
+        event.begin();
+        event.finish("valid", "header.payload.signature");
+
+        Path file = service.stop();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent jwt = events.stream()
+                    .filter(recorded -> recorded.getEventType().getName().equals("com.example.taskmanager.Jwt"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("parse", jwt.getString("operation"));
+            assertEquals("valid", jwt.getString("outcome"));
+            assertEquals(24, jwt.getInt("tokenLength"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertEquals("NONE", service.status().get("state"));
+    }
+
+    @Test
+    void testStart_RejectsSecondRecording() {
+        service.start("default", 60);
+
+        assertThrows(BusinessException.class, () -> service.start("profile", 0));
+    }
+
+    @Test
+    void testStart_UnknownSettings() {
+        assertThrows(IllegalArgumentException.class, () -> service.start("no-such-settings", 0));
+    }
+
+    @Test
+    void testStop_WithoutRecording() {
+        assertThrows(BusinessException.class, service::stop);
+    }
+
+    @Test
+    void testStartup_DeletesStaleRecordings(@TempDir Path directory) throws Exception {
+        Path stale = Files.createFile(directory.resolve("taskmanager-1-stale.jfr"));
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path downloading = Files.createFile(directory.resolve("taskmanager-2-fresh.jfr"));
+
+        new JfrRecordingService(1, 16, directory).destroy();
+
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(downloading));
+    }
+
+    @Test
+    void testStop_DumpsIntoRecordingDirectory(@TempDir Path directory) {
+        JfrRecordingService recordingService = new JfrRecordingService(1, 16, directory);
+        try {
+            recordingService.start("default", 0);
+            Path file = recordingService.stop();
+
+            assertEquals(directory, file.getParent());
+            recordingService.delete(file);
+            assertFalse(Files.exists(file));
+        } finally {
+            recordingService.destroy();
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingProfilerServiceTest {
+
+    private final SamplingProfilerService service = new SamplingProfilerService(60, 100, 128);
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void testSampling_FoldsRequestThreadStacks() throws Exception {
+        assertFalse(service.track());
+        assertEquals("RUNNING", service.start(1, 0).get("state"));
+
+        CountDownLatch done = new CountDownLatch(1);
+        Thread request = new Thread(() -> {
+            assertTrue(service.track());
+            try {
+                handleRequest(done);
+            } finally {
+                service.untrack();
+            }
+        });
+        request.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((long) service.status().get("samples") < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        done.countDown();
+        request.join();
+
+        assertEquals("FINISHED", service.stop().get("state"));
+        String folded = service.folded();
+        String hottest = folded.lines().findFirst().orElseThrow();
+        assertTrue(hottest.matches("java\\.lang\\.Thread\\.run.*;" + SamplingProfilerServiceTest.class.getName()
+                + "\\.handleRequest;.* \\d+"), hottest);
+    }
+
+    private static void handleRequest(CountDownLatch done) {
+        try {
+            done.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testFold_TruncatesFramesNearRoot() {
+        SamplingProfilerService shallow = new SamplingProfilerService(60, 100, 2);
+        StackTraceElement[] frames = {
+                new StackTraceElement("com.example.Repository", "find", null, 1),
+                new StackTraceElement("com.example.Service", "load", null, 1),
+                new StackTraceElement("com.example.Controller", "get", null, 1)
+        };
+
+        assertEquals("[truncated];com.example.Service.load;com.example.Repository.find", shallow.fold(frames));
+    }
+
+    @Test
+    void testStart_RejectsSecondSession() {
+        service.start(10, 60);
+
+        assertThrows(BusinessException.class, () -> service.start(10, 60));
+    }
+
+    @Test
+    void testStart_InvalidInterval() {
+        assertThrows(IllegalArgumentException.class, () -> service.start(0, 60));
+        assertEquals("NONE", service.status().get("state"));
+    }
+
+    @Test
+    void testFolded_WithoutSession() {
+        assertThrows(BusinessException.class, service::folded);
+    }
+
+}
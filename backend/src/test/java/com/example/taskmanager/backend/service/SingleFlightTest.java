@@ -0,0 +1,104 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.exception.TaskNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight("test.single.flight", meterRegistry);
+    }
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneComputation() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<List<String>> leader = executor.submit(() -> singleFlight.execute("op", "TO_DO", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return List.of("task");
+            }));
+            assertTrue(loading.await(2, TimeUnit.SECONDS));
+
+            Future<List<String>> follower1 = executor.submit(() -> singleFlight.execute("op", "TO_DO", () -> {
+                loads.incrementAndGet();
+                return List.of("other");
+            }));
+            Future<List<String>> follower2 = executor.submit(() -> singleFlight.execute("op", "TO_DO", () -> {
+                loads.incrementAndGet();
+                return List.of("other");
+            }));
+            // Ждем, пока оба присоединятся к вычислению лидера
+            while (meterRegistry.counter("test.single.flight", "operation", "op", "outcome", "coalesced").count() < 2) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            List<String> result = leader.get(2, TimeUnit.SECONDS);
+            assertSame(result, follower1.get(2, TimeUnit.SECONDS));
+            assertSame(result, follower2.get(2, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            assertEquals(1.0, meterRegistry.counter("test.single.flight", "operation", "op", "outcome", "executed").count());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecute_NoCachingAfterCompletion() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("op", "key", loads::incrementAndGet);
+        singleFlight.execute("op", "key", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testExecute_DifferentKeysDoNotCoalesce() {
+        assertEquals("a", singleFlight.execute("op", "TO_DO", () -> "a"));
+        assertEquals("b", singleFlight.execute("op", "DONE", () -> "b"));
+        assertEquals(0.0, meterRegistry.counter("test.single.flight", "operation", "op", "outcome", "coalesced").count());
+    }
+
+    @Test
+    void testExecute_ExceptionIsRethrownAndKeyReleased() {
+        assertThrows(TaskNotFoundException.class, () -> singleFlight.execute("op", "key", () -> {
+            throw new TaskNotFoundException("Task not found");
+        }));
+
+        assertEquals(0, singleFlight.inFlightCount());
+        assertEquals("ok", singleFlight.execute("op", "key", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
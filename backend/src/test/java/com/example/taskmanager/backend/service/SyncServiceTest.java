@@ -0,0 +1,171 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.SyncResponseDto;
+import com.example.taskmanager.backend.exception.FullResyncRequiredException;
+import com.example.taskmanager.backend.model.*;
+import com.example.taskmanager.backend.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SyncServiceTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private SharedTaskRepository sharedTaskRepository;
+
+    @Mock
+    private SyncTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private SyncRetentionRepository retentionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ChangeSequence changeSequence;
+
+    @InjectMocks
+    private SyncService syncService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        user = createUser(USER_ID);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void testChangesSince_ReturnsChangesUpToStableCeiling() {
+        // Arrange
+        when(changeSequence.stableCeiling()).thenReturn(120L);
+        when(taskRepository.findVisibleChangedBetween(USER_ID, 100L, 120L)).thenReturn(List.of(createTask(7L, user)));
+        SyncTombstone tombstone = new SyncTombstone();
+        tombstone.setEntityType("comment");
+        tombstone.setEntityId(3L);
+        when(tombstoneRepository.findByUserIdAndChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeq(USER_ID, 100L, 120L))
+                .thenReturn(List.of(tombstone));
+
+        // Act
+        SyncResponseDto response = syncService.changesSince(EMAIL, 100L);
+
+        // Assert
+        assertEquals(120L, response.getWatermark());
+        assertEquals(1, response.getTasks().size());
+        assertEquals(7L, response.getTasks().get(0).getId());
+        assertEquals("comment", response.getDeleted().get(0).getEntity());
+        assertEquals(3L, response.getDeleted().get(0).getId());
+    }
+
+    @Test
+    void testChangesSince_WatermarkNeverMovesBackwards() {
+        // Arrange
+        // Незавершенная транзакция держит границу ниже since клиента
+        when(changeSequence.stableCeiling()).thenReturn(90L);
+
+        // Act
+        SyncResponseDto response = syncService.changesSince(EMAIL, 100L);
+
+        // Assert
+        assertEquals(100L, response.getWatermark());
+        verify(taskRepository).findVisibleChangedBetween(USER_ID, 100L, 100L);
+    }
+
+    @Test
+    void testChangesSince_NewlySharedTaskIncludesTaskAndComments() {
+        // Arrange
+        User owner = createUser(2L);
+        Task sharedTask = createTask(9L, owner);
+        SharedTask share = new SharedTask();
+        share.setId(11L);
+        share.setTask(sharedTask);
+        share.setSharedWithUser(user);
+
+        Comment comment = new Comment();
+        comment.setId(21L);
+        comment.setTask(sharedTask);
+        comment.setUser(owner);
+        comment.setContent("Old comment");
+
+        when(changeSequence.stableCeiling()).thenReturn(200L);
+        when(sharedTaskRepository.findVisibleChangedBetween(USER_ID, 150L, 200L)).thenReturn(List.of(share));
+        when(commentRepository.findByTaskIdIn(Set.of(9L))).thenReturn(List.of(comment));
+
+        // Act
+        SyncResponseDto response = syncService.changesSince(EMAIL, 150L);
+
+        // Assert
+        assertEquals(9L, response.getTasks().get(0).getId());
+        assertEquals(21L, response.getComments().get(0).getId());
+        assertEquals(9L, response.getShares().get(0).getTaskId());
+        assertEquals(USER_ID, response.getShares().get(0).getSharedWithUserId());
+    }
+
+    @Test
+    void testChangesSince_SinceBelowPurgedTombstonesRequiresFullResync() {
+        // Arrange
+        when(retentionRepository.findPurgedUpTo()).thenReturn(Optional.of(500L));
+
+        // Act & Assert
+        assertThrows(FullResyncRequiredException.class, () -> syncService.changesSince(EMAIL, 499L));
+        verify(tombstoneRepository, never())
+                .findByUserIdAndChangeSeqGreaterThanAndChangeSeqLessThanEqualOrderByChangeSeq(any(), any(), any());
+
+        // На границе и выше удаления не терялись; since=0 — полная загрузка
+        when(changeSequence.stableCeiling()).thenReturn(600L);
+        assertEquals(600L, syncService.changesSince(EMAIL, 500L).getWatermark());
+        assertEquals(600L, syncService.changesSince(EMAIL, 0L).getWatermark());
+    }
+
+    @Test
+    void testChangesSince_UserNotFound() {
+        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> syncService.changesSince("missing@example.com", 0L));
+        verify(taskRepository, never()).findVisibleChangedBetween(any(), any(), any());
+    }
+
+    private User createUser(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setRole("USER");
+        return user;
+    }
+
+    private Task createTask(Long id, User owner) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setDescription("Description");
+        task.setStatus(TaskStatus.TO_DO);
+        task.setPriority(TaskPriority.HIGH);
+        task.setDeadline(LocalDate.now().plusDays(3));
+        task.setUser(owner);
+        return task;
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.dto.TaskDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskResultCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private TaskResultCache cache;
+
+    private static final Predicate<TaskDto> TO_DO = task -> "TO_DO".equals(task.getStatus());
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TaskResultCache(2, 1_000, 5_000, meterRegistry, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    private static TaskDto task(long id, String status) {
+        return new TaskDto(id, "Task " + id, "Description", status, "HIGH", LocalDate.now(), 1L);
+    }
+
+    private Supplier<List<TaskDto>> loader(TaskDto... tasks) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(tasks);
+        };
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("task.reads.cache", "result", result).count();
+    }
+
+    @Test
+    void testGet_HitWhileFresh() {
+        List<TaskDto> first = cache.get("TO_DO", TO_DO, loader(task(1, "TO_DO")));
+        List<TaskDto> second = cache.get("TO_DO", TO_DO, loader(task(2, "TO_DO")));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    void testInvalidate_ServesStaleAndRefreshesInBackground() throws Exception {
+        List<TaskDto> original = cache.get("TO_DO", TO_DO, loader(task(1, "TO_DO")));
+
+        // Задача 1 перешла в DONE: результат содержит ее id, поэтому устаревает
+        cache.invalidate(1L, task(1, "DONE"));
+
+        List<TaskDto> stale = cache.get("TO_DO", TO_DO, loader());
+        assertSame(original, stale);
+        assertEquals(1.0, count("stale"));
+
+        long deadline = System.currentTimeMillis() + 2_000;
+        List<TaskDto> refreshed = stale;
+        while (refreshed == stale && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+            refreshed = cache.get("TO_DO", TO_DO, loader());
+        }
+        assertTrue(refreshed.isEmpty());
+    }
+
+    @Test
+    void testInvalidate_OnlyAffectedEntries() {
+        cache.get("TO_DO", TO_DO, loader(task(1, "TO_DO")));
+        cache.get("DONE", task -> "DONE".equals(task.getStatus()), loader(task(2, "DONE")));
+
+        // Новая задача в TO_DO затрагивает только результат TO_DO
+        cache.invalidate(3L, task(3, "TO_DO"));
+
+        cache.get("DONE", task -> "DONE".equals(task.getStatus()), loader());
+        assertEquals(1.0, count("hit"));
+        assertEquals(1.0, meterRegistry.counter("task.reads.cache.invalidations").count());
+    }
+
+    @Test
+    void testGet_TooStaleLoadsSynchronously() {
+        cache.get("TO_DO", TO_DO, loader(task(1, "TO_DO")));
+        now.addAndGet(1_000 + 5_001);
+
+        List<TaskDto> result = cache.get("TO_DO", TO_DO, loader(task(2, "TO_DO")));
+
+        assertEquals(2L, result.get(0).getId());
+        assertEquals(2, count("miss"));
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsed() {
+        cache.get("a", TO_DO, loader());
+        cache.get("b", TO_DO, loader());
+        cache.get("a", TO_DO, loader());
+        cache.get("c", TO_DO, loader());
+
+        assertEquals(2, cache.size());
+        cache.get("a", TO_DO, loader());
+        assertEquals(2.0, count("hit"));
+    }
+
+}
@@ -4,6 +4,7 @@ import com.example.taskmanager.backend.dto.TaskDto;
 import com.example.taskmanager.backend.dto.TaskRequestDto;
 import com.example.taskmanager.backend.mapper.TaskMapper;
 import com.example.taskmanager.backend.model.*;
+import com.example.taskmanager.backend.repository.ChangeSequence;
 import com.example.taskmanager.backend.repository.SharedTaskRepository;
 import com.example.taskmanager.backend.repository.TaskRepository;
 import com.example.taskmanager.backend.repository.UserRepository;
@@ -16,6 +17,7 @@ import org.mockito.MockitoAnnotations;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +34,12 @@ class TaskServiceTest {
     @Mock
     private SharedTaskRepository sharedTaskRepository;
 
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private ChangeSequence changeSequence;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -309,6 +317,7 @@ class TaskServiceTest {
         assertNotNull(result);
         assertEquals("New Task", result.getTitle());
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(changeFeedService).taskChanged(ChangeAction.CREATED, task.getId());
     }
 
     @Test
@@ -415,6 +424,7 @@ class TaskServiceTest {
 
         // Assert
         verify(taskRepository, times(1)).deleteById(taskId);
+        verify(changeFeedService).taskChanged(ChangeAction.DELETED, taskId);
     }
 
     @Test
@@ -428,6 +438,31 @@ class TaskServiceTest {
         RuntimeException exception = assertThrows(RuntimeException.class, () -> taskService.deleteTask(taskId));
         assertEquals("Task not found", exception.getMessage());
         verify(taskRepository, never()).deleteById(taskId);
+        verifyNoInteractions(changeFeedService);
+    }
+
+    @Test
+    void testGetAllTasks_Fields() {
+        // Arrange
+        List<String> fields = List.of("id", "title");
+        List<Map<String, Object>> rows = List.of(Map.of("id", 1L, "title", "Task 1"));
+        when(taskRepository.findFields(fields, null)).thenReturn(rows);
+
+        // Act
+        List<Map<String, Object>> result = taskService.getAllTasks(fields);
+
+        // Assert
+        assertEquals(rows, result);
+        verify(taskRepository, never()).findAll();
+    }
+
+    @Test
+    void testFilterByStatus_Fields_InvalidStatus() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> taskService.filterByStatus("INVALID_STATUS", List.of("id")));
+        assertEquals("Invalid status: INVALID_STATUS", exception.getMessage());
+        verify(taskRepository, never()).findFields(anyList(), any());
     }
 
-}
\ No newline at end of file
+}
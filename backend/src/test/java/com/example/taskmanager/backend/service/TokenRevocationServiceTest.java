@@ -0,0 +1,80 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.model.RevokedToken;
+import com.example.taskmanager.backend.repository.RevokedTokenRepository;
+import com.example.taskmanager.backend.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private static final String SECRET = "Duq4qRF0UYUZfYh0qTFsubx5JuVeN+zIBHjOz0M5RHW2aEy+oIiD0SsTs28Hl2rrk2e4j+LJUmgHZwjJOAHBDA==";
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private JwtUtil jwtUtil;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jwtUtil = new JwtUtil(SECRET, 3600);
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, jwtUtil, 3600, 0.01);
+    }
+
+    @Test
+    void testIsRevoked_UnknownToken_DoesNotQueryStore() {
+        // Act
+        boolean revoked = tokenRevocationService.isRevoked("unknown-token-id");
+
+        // Assert
+        assertFalse(revoked);
+        verify(revokedTokenRepository, never()).existsByJti(anyString());
+    }
+
+    @Test
+    void testIsRevoked_NullId_NotRevoked() {
+        assertFalse(tokenRevocationService.isRevoked(null));
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void testRevoke_PersistsTokenIdAndMarksRevoked() {
+        // Arrange
+        String token = jwtUtil.generateToken("test@example.com", false);
+        String jti = jwtUtil.extractClaims(token).getId();
+        when(revokedTokenRepository.existsByJti(jti)).thenReturn(false, true);
+
+        // Act
+        tokenRevocationService.revoke(token);
+
+        // Assert
+        verify(revokedTokenRepository, times(1)).save(any(RevokedToken.class));
+        assertTrue(tokenRevocationService.isRevoked(jti));
+    }
+
+    @Test
+    void testRebuildFilter_LoadsActiveTokenIds() {
+        // Arrange
+        when(revokedTokenRepository.findActiveTokenIds(any(LocalDateTime.class))).thenReturn(List.of("revoked-id"));
+        when(revokedTokenRepository.existsByJti("revoked-id")).thenReturn(true);
+
+        // Act
+        tokenRevocationService.rebuildFilter();
+
+        // Assert
+        assertTrue(tokenRevocationService.isRevoked("revoked-id"));
+        verify(revokedTokenRepository, times(1)).deleteExpired(any(LocalDateTime.class));
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.example.taskmanager.backend.service;
+
+import com.example.taskmanager.backend.model.SyncRetention;
+import com.example.taskmanager.backend.repository.SyncRetentionRepository;
+import com.example.taskmanager.backend.repository.SyncTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TombstoneRetentionServiceTest {
+
+    @Mock
+    private SyncTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private SyncRetentionRepository retentionRepository;
+
+    private TombstoneRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        retentionService = new TombstoneRetentionService(tombstoneRepository, retentionRepository, 30);
+    }
+
+    @Test
+    void testPurgeExpired_DeletesUpToNewestExpiredAndRaisesBoundary() {
+        // Arrange
+        when(tombstoneRepository.findMaxChangeSeqDeletedBefore(any())).thenReturn(420L);
+        when(retentionRepository.raisePurgedUpTo(eq(420L), any())).thenReturn(1);
+
+        // Act
+        retentionService.purgeExpired();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(tombstoneRepository).findMaxChangeSeqDeletedBefore(cutoff.capture());
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(29)));
+        verify(tombstoneRepository).deleteUpTo(420L);
+        verify(retentionRepository, never()).save(any());
+    }
+
+    @Test
+    void testPurgeExpired_FirstPurgeCreatesBoundary() {
+        // Arrange
+        when(tombstoneRepository.findMaxChangeSeqDeletedBefore(any())).thenReturn(15L);
+        when(retentionRepository.raisePurgedUpTo(eq(15L), any())).thenReturn(0);
+        when(retentionRepository.existsById(SyncRetention.ID)).thenReturn(false);
+
+        // Act
+        retentionService.purgeExpired();
+
+        // Assert
+        ArgumentCaptor<SyncRetention> saved = ArgumentCaptor.forClass(SyncRetention.class);
+        verify(retentionRepository).save(saved.capture());
+        assertEquals(SyncRetention.ID, saved.getValue().getId());
+        assertEquals(15L, saved.getValue().getPurgedUpTo());
+        verify(tombstoneRepository).deleteUpTo(15L);
+    }
+
+    @Test
+    void testPurgeExpired_NothingExpired() {
+        when(tombstoneRepository.findMaxChangeSeqDeletedBefore(any())).thenReturn(null);
+
+        retentionService.purgeExpired();
+
+        verify(tombstoneRepository, never()).deleteUpTo(anyLong());
+        verifyNoInteractions(retentionRepository);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.example.taskmanager.backend.timing;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AllocationAccountingFilterTest {
+
+    private static final int ALLOCATION = 4 * 1024 * 1024;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    // Удерживает выделенный массив, чтобы JIT не убрал выделение
+    private static volatile byte[] sink;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRequestURI(uri);
+        return request;
+    }
+
+    private static FilterChain allocating(String pattern) {
+        return (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            sink = new byte[ALLOCATION];
+            res.getOutputStream().write(sink.length > 0 ? '[' : ']');
+        };
+    }
+
+    @Test
+    void testFilter_RecordsAllocationPerRoute() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new AllocationAccountingFilter(meterRegistry, false, List.of())
+                .doFilter(request("/api/comments/task/7"), response, allocating("/api/comments/task/{taskId}"));
+
+        DistributionSummary summary = meterRegistry.get("http.server.requests.allocation")
+                .tags("method", "GET", "uri", "/api/comments/task/{taskId}", "status", "200")
+                .summary();
+        assertEquals(1, summary.count());
+        assertTrue(summary.totalAmount() >= ALLOCATION);
+        assertNull(response.getHeader(AllocationAccountingFilter.ALLOCATED_BYTES));
+    }
+
+    @Test
+    void testFilter_WritesHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new AllocationAccountingFilter(meterRegistry, true, List.of())
+                .doFilter(request("/api/tasks"), response, allocating("/api/tasks"));
+
+        assertTrue(Long.parseLong(response.getHeader(AllocationAccountingFilter.ALLOCATED_BYTES)) >= ALLOCATION);
+        assertEquals("[", response.getContentAsString());
+    }
+
+    @Test
+    void testFilter_ExcludedPathNotMeasured() throws Exception {
+        new AllocationAccountingFilter(meterRegistry, true, List.of("/api/stream/**"))
+                .doFilter(request("/api/stream/changes"), new MockHttpServletResponse(), allocating("/api/stream/changes"));
+
+        assertNull(meterRegistry.find("http.server.requests.allocation").summary());
+    }
+
+}
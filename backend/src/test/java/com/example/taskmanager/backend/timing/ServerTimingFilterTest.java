@@ -0,0 +1,80 @@
+package com.example.taskmanager.backend.timing;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    private static final List<String> EXCLUDED = List.of("/api/stream/**");
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRequestURI(uri);
+        return request;
+    }
+
+    @Test
+    void testFilter_WritesServerTimingHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            try (RequestTimings.Span ignored = RequestTimings.start("jwt")) {
+                // Проверка токена
+            }
+            try (RequestTimings.Span service = RequestTimings.start("service")) {
+                // Вложенный вызов сервиса учитывается один раз
+                try (RequestTimings.Span nested = RequestTimings.start("service")) {
+                    RequestTimings.start("repository").close();
+                    RequestTimings.start("repository").close();
+                }
+            }
+            try (RequestTimings.Span ignored = RequestTimings.start("serialization")) {
+                res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        new ServerTimingFilter(true, false, 0, EXCLUDED).doFilter(request("/api/tasks"), response, chain);
+
+        String header = response.getHeader(ServerTimingFilter.SERVER_TIMING);
+        assertNotNull(header);
+        assertTrue(header.matches("jwt;dur=[0-9.]+, service;dur=[0-9.]+, repository;dur=[0-9.]+;desc=\"2 calls\", "
+                + "serialization;dur=[0-9.]+, total;dur=[0-9.]+"), header);
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    void testFilter_ExcludedPathNotTimed() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> res.getOutputStream().write('x');
+
+        new ServerTimingFilter(true, false, 0, EXCLUDED).doFilter(request("/api/stream/changes"), response, chain);
+
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING));
+        assertEquals("x", response.getContentAsString());
+    }
+
+    @Test
+    void testFilter_LogOnlyDoesNotBuffer() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> assertSame(response, res);
+
+        new ServerTimingFilter(false, true, 0, EXCLUDED).doFilter(request("/api/tasks"), response, chain);
+
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING));
+    }
+
+    @Test
+    void testStart_OutsideRequestIsNoop() {
+        RequestTimings.Span span = RequestTimings.start("repository");
+        assertSame(span, RequestTimings.start("service"));
+        span.close();
+        span.close();
+    }
+
+}